@@ -0,0 +1,61 @@
+package org.springframework.samples.petclinic.appointment;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the appointment ordering, used whenever the appointments of a pet are listed, and of the timeslots
+ * offered by the booking form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AppointmentBenchmarks {
+
+    private Appointment morning;
+
+    private Appointment afternoon;
+
+    private AppointmentController controller;
+
+    @Setup
+    public void setup() {
+        LocalDate date = LocalDate.now().plusDays(7);
+        this.morning = appointment(date, "09:30 AM");
+        this.afternoon = appointment(date, "02:00 PM");
+        this.controller = new AppointmentController(null, null, null, null);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return this.morning.compareTo(this.afternoon);
+    }
+
+    @Benchmark
+    public Collection<String> populateTimeslots() {
+        return this.controller.populateTimeslots();
+    }
+
+    private static Appointment appointment(LocalDate date, String timeslot) {
+        Appointment appointment = new Appointment();
+        appointment.setDate(date);
+        appointment.setTimeslot(timeslot);
+        return appointment;
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.springframework.samples.petclinic.owner;
+
+import java.lang.reflect.Proxy;
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.visit.Visit;
+
+/**
+ * Benchmarks of what the owner pages call for every owner and pet they render, on an owner with five pets having ten
+ * visits and five appointments each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OwnerBenchmarks {
+
+    private static final String[] PET_NAMES = { "Leo", "Basil", "Rosy", "Jewel", "Iggy" };
+
+    private static final String[] TYPE_NAMES = { "cat", "dog", "lizard", "snake", "bird", "hamster" };
+
+    private Owner owner;
+
+    private Pet pet;
+
+    private PetTypeFormatter formatter;
+
+    @Setup
+    public void setup() {
+        List<PetType> types = new ArrayList<>();
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            PetType type = new PetType();
+            type.setId(i + 1);
+            type.setName(TYPE_NAMES[i]);
+            types.add(type);
+        }
+        PetRepository pets = (PetRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { PetRepository.class }, (proxy, method, args) -> types);
+        this.formatter = new PetTypeFormatter(pets);
+
+        this.owner = new Owner();
+        this.owner.setId(1);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < PET_NAMES.length; i++) {
+            Pet pet = new Pet();
+            pet.setName(PET_NAMES[i]);
+            pet.setType(types.get(i));
+            this.owner.addPet(pet);
+            pet.setId(i + 1);
+            for (int j = 0; j < 10; j++) {
+                Visit visit = new Visit();
+                visit.setDate(today.minusDays(j * 37));
+                visit.setDescription("visit " + j);
+                pet.addVisit(visit);
+            }
+            for (int j = 0; j < 5; j++) {
+                Appointment appointment = new Appointment();
+                appointment.setDate(today.plusDays(j * 7));
+                appointment.setTimeslot(String.format("%02d:30 PM", j + 1));
+                pet.addAppointment(appointment);
+            }
+        }
+        this.pet = this.owner.getPets().get(0);
+    }
+
+    @Benchmark
+    public List<Pet> getPets() {
+        return this.owner.getPets();
+    }
+
+    @Benchmark
+    public Pet getPetByName() {
+        return this.owner.getPet("Iggy", true);
+    }
+
+    @Benchmark
+    public List<Visit> getVisits() {
+        return this.pet.getVisits();
+    }
+
+    @Benchmark
+    public List<Appointment> getAppointments() {
+        return this.pet.getAppointments();
+    }
+
+    @Benchmark
+    public PetType parsePetType() throws ParseException {
+        return this.formatter.parse("hamster", Locale.ENGLISH);
+    }
+
+}
@@ -0,0 +1,137 @@
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.IntegerSerializer;
+import org.ehcache.sizeof.SizeOf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.visit.Visit;
+
+/**
+ * Benchmark of the <code>owners</code> cache holding as many owners as fit in <code>megabytes</code> of heap, either
+ * all on the heap or in an off-heap tier behind a small heap tier. Each operation reads a random owner and, one time in
+ * ten, replaces it as an update would. The gc profiler reports the collections and their time: the owners on the heap
+ * are old objects that every full collection traces, those off the heap are out of its reach but are deserialized
+ * when read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx3g", "-XX:MaxDirectMemorySize=3g" })
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class OwnerCacheBenchmarks {
+
+    private static final int HEAP_ENTRIES_BEFORE_OFF_HEAP = 1000;
+
+    @Param({ "heap", "offheap" })
+    private String tier;
+
+    @Param("2048")
+    private long megabytes;
+
+    private CacheManager cacheManager;
+
+    private Cache<Integer, Owner> owners;
+
+    private int entries;
+
+    @Setup
+    public void setup() {
+        long ownerBytes = SizeOf.newInstance().deepSizeOf(owner(1));
+        this.entries = (int) (this.megabytes * 1024 * 1024 / ownerBytes);
+        ResourcePoolsBuilder pools = "heap".equals(this.tier)
+                ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(this.entries, EntryUnit.ENTRIES)
+                : ResourcePoolsBuilder.newResourcePoolsBuilder().heap(HEAP_ENTRIES_BEFORE_OFF_HEAP, EntryUnit.ENTRIES)
+                    .offheap(this.megabytes, MemoryUnit.MB);
+        this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+            .withCache("owners", CacheConfigurationBuilder.newCacheConfigurationBuilder(Integer.class, Owner.class,
+                pools).withKeySerializer(new IntegerSerializer()).withValueSerializer(new OwnerSerializer()))
+            .build(true);
+        this.owners = this.cacheManager.getCache("owners", Integer.class, Owner.class);
+        for (int id = 1; id <= this.entries; id++) {
+            this.owners.put(id, owner(id));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.cacheManager.close();
+    }
+
+    @Benchmark
+    public Owner getOrReplace() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int id = random.nextInt(this.entries) + 1;
+        if (random.nextInt(10) == 0) {
+            Owner owner = owner(id);
+            this.owners.put(id, owner);
+            return owner;
+        }
+        return this.owners.get(id);
+    }
+
+    /**
+     * Return an owner as the owner page loads it, with two pets having five visits and two appointments each.
+     */
+    private static Owner owner(int id) {
+        Owner owner = new Owner();
+        owner.setId(id);
+        owner.setFirstName("George");
+        owner.setLastName("Franklin" + id);
+        owner.setAddress("110 W. Liberty St.");
+        owner.setCity("Madison");
+        owner.setTelephone("6085551023");
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 2; i++) {
+            PetType type = new PetType();
+            type.setId(i + 1);
+            type.setName(i == 0 ? "cat" : "dog");
+            Pet pet = new Pet();
+            pet.setId(id * 2 + i);
+            pet.setName("Leo" + i);
+            pet.setBirthDate(today.minusYears(3));
+            pet.setType(type);
+            for (int j = 0; j < 5; j++) {
+                Visit visit = new Visit();
+                visit.setId(id * 10 + i * 5 + j);
+                visit.setDate(today.minusDays(j * 37));
+                visit.setDescription("rabies shot");
+                pet.addVisit(visit);
+            }
+            for (int j = 0; j < 2; j++) {
+                Appointment appointment = new Appointment();
+                appointment.setId(id * 4 + i * 2 + j);
+                appointment.setDate(today.plusDays(j * 7));
+                appointment.setTimeslot(String.format("%02d:30 PM", j + 1));
+                appointment.setVet("Linda Douglas");
+                pet.addAppointment(appointment);
+            }
+            owner.getPetsInternal().add(pet);
+            pet.setOwner(owner);
+        }
+        return owner;
+    }
+
+}
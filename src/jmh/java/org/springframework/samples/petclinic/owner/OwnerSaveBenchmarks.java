@@ -0,0 +1,138 @@
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.samples.petclinic.visit.VisitRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of saving owners together with their pets and visits, the way a clinic onboarding would: each operation
+ * saves 2000 owners with two pets having two visits each, flushes them and rolls back. The number of JDBC statements
+ * Hibernate prepared per operation, which drops with the number of inserts grouped in a batch, is logged after each
+ * iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class OwnerSaveBenchmarks {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerSaveBenchmarks.class);
+
+    private static final int OWNERS = 2000;
+
+    private ConfigurableApplicationContext context;
+
+    private OwnerRepository owners;
+
+    private VisitRepository visits;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactions;
+
+    private Statistics statistics;
+
+    private PetType type;
+
+    private long operations;
+
+    @Setup
+    public void setup() {
+        this.context = new SpringApplicationBuilder(PetClinicApplication.class).web(WebApplicationType.NONE)
+            .properties("spring.jmx.enabled=false", "spring.devtools.restart.enabled=false",
+                "petclinic.warmup.enabled=false", "spring.jpa.properties.hibernate.generate_statistics=true")
+            .run();
+        this.owners = this.context.getBean(OwnerRepository.class);
+        this.visits = this.context.getBean(VisitRepository.class);
+        this.entityManager = this.context.getBean(EntityManager.class);
+        this.transactions = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+        this.statistics = this.context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+            .getStatistics();
+        this.type = this.context.getBean(PetRepository.class).findPetTypes().get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        this.statistics.clear();
+        this.operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        logger.info("{} statements prepared per operation",
+            this.statistics.getPrepareStatementCount() / Math.max(this.operations, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.context.close();
+    }
+
+    /**
+     * Save the owners and flush them, then roll back so that every operation starts from the same data.
+     */
+    @Benchmark
+    public void saveOwnersWithPetsAndVisits() {
+        this.transactions.execute(status -> {
+            for (int i = 0; i < OWNERS; i++) {
+                Owner owner = new Owner();
+                owner.setFirstName("First" + i);
+                owner.setLastName("Benchmark");
+                owner.setAddress(i + " Main St");
+                owner.setCity("Madison");
+                owner.setTelephone("6085550000");
+                for (int p = 0; p < 2; p++) {
+                    Pet pet = new Pet();
+                    pet.setName("Pet" + i + "-" + p);
+                    pet.setBirthDate(LocalDate.of(2015, 1, 1));
+                    pet.setType(this.type);
+                    owner.addPet(pet);
+                }
+                this.owners.save(owner);
+                for (Pet pet : owner.getPets()) {
+                    for (int v = 0; v < 2; v++) {
+                        Visit visit = new Visit();
+                        visit.setDescription("checkup");
+                        pet.addVisit(visit);
+                        this.visits.save(visit);
+                    }
+                }
+            }
+            this.entityManager.flush();
+            this.entityManager.clear();
+            status.setRollbackOnly();
+            return null;
+        });
+        this.operations++;
+    }
+
+}
@@ -0,0 +1,45 @@
+package org.springframework.samples.petclinic.vet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the sorted specialties of a vet, listed for every vet of the vets page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class VetBenchmarks {
+
+    private Vet vet;
+
+    @Setup
+    public void setup() {
+        this.vet = new Vet();
+        for (String name : new String[] { "surgery", "radiology", "dentistry" }) {
+            Specialty specialty = new Specialty();
+            specialty.setName(name);
+            this.vet.addSpecialty(specialty);
+        }
+    }
+
+    @Benchmark
+    public List<Specialty> getSpecialties() {
+        return this.vet.getSpecialties();
+    }
+
+}
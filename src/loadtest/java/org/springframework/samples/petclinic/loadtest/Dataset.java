@@ -0,0 +1,52 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Ids and names of the data the application was started with, which the flows pick their parameters from.
+ */
+class Dataset {
+
+    private final List<Integer> owners;
+
+    private final List<String> lastNames;
+
+    private final List<int[]> pets;
+
+    private final List<String> vets;
+
+    Dataset(JdbcTemplate jdbc) {
+        this.owners = jdbc.queryForList("SELECT id FROM owners", Integer.class);
+        // one name per owner, so that common names are searched more often
+        this.lastNames = jdbc.queryForList("SELECT last_name FROM owners", String.class);
+        this.pets = jdbc.query("SELECT owner_id, id FROM pets", (rs, row) -> new int[] { rs.getInt(1), rs.getInt(2) });
+        this.vets = jdbc.queryForList("SELECT last_name FROM vets", String.class);
+    }
+
+    List<Integer> getOwners() {
+        return this.owners;
+    }
+
+    List<String> getLastNames() {
+        return this.lastNames;
+    }
+
+    /**
+     * Returns the owner id and the pet id of each pet.
+     */
+    List<int[]> getPets() {
+        return this.pets;
+    }
+
+    List<String> getVets() {
+        return this.vets;
+    }
+
+    @Override
+    public String toString() {
+        return this.owners.size() + " owners, " + this.pets.size() + " pets, " + this.vets.size() + " vets";
+    }
+
+}
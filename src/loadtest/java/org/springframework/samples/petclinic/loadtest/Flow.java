@@ -0,0 +1,140 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * User flows of the load test, each with its share of the requests.
+ */
+enum Flow {
+
+    FIND_OWNER(30) {
+        @Override
+        Request next(Dataset data, Random random) {
+            return Request.get("/owners?lastName=" + encode(any(data.getLastNames(), random)));
+        }
+    },
+
+    SHOW_OWNER(30) {
+        @Override
+        Request next(Dataset data, Random random) {
+            return Request.get("/owners/" + any(data.getOwners(), random));
+        }
+    },
+
+    ADD_VISIT(10) {
+        @Override
+        Request next(Dataset data, Random random) {
+            int[] pet = any(data.getPets(), random);
+            return Request.post("/owners/" + pet[0] + "/pets/" + pet[1] + "/visits/new",
+                    "date=" + LocalDate.now() + "&description=Check-up&petId=" + pet[1]);
+        }
+    },
+
+    BOOK_APPOINTMENT(10) {
+        @Override
+        Request next(Dataset data, Random random) {
+            int[] pet = any(data.getPets(), random);
+            LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(60));
+            while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                date = date.plusDays(1);
+            }
+            String timeslot = LocalTime.of(8, 0).plusMinutes(30 * random.nextInt(18)).format(TIMESLOT);
+            return Request.post("/owners/" + pet[0] + "/pets/" + pet[1] + "/appointments/new",
+                    "date=" + date + "&timeslot=" + encode(timeslot) + "&vet=" + encode(any(data.getVets(), random))
+                            + "&description=Vaccination&petId=" + pet[1]);
+        }
+    },
+
+    LIST_VETS(20) {
+        @Override
+        Request next(Dataset data, Random random) {
+            return Request.get("/vets.html");
+        }
+    };
+
+    private static final DateTimeFormatter TIMESLOT = DateTimeFormatter.ofPattern("hh:mm a");
+
+    private final int weight;
+
+    Flow(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the next request of this flow, with parameters picked from the data.
+     */
+    abstract Request next(Dataset data, Random random);
+
+    /**
+     * Picks a flow according to the weights of the flows.
+     */
+    static Flow pick(Random random) {
+        int total = 0;
+        for (Flow flow : values()) {
+            total += flow.weight;
+        }
+        int choice = random.nextInt(total);
+        for (Flow flow : values()) {
+            choice -= flow.weight;
+            if (choice < 0) {
+                return flow;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static <T> T any(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * A GET, or a form POST, relative to the root of the application.
+     */
+    static class Request {
+
+        private final String path;
+
+        private final String form;
+
+        private Request(String path, String form) {
+            this.path = path;
+            this.form = form;
+        }
+
+        static Request get(String path) {
+            return new Request(path, null);
+        }
+
+        static Request post(String path, String form) {
+            return new Request(path, form);
+        }
+
+        String getPath() {
+            return this.path;
+        }
+
+        /**
+         * Returns the url-encoded form of a POST, or {@code null} for a GET.
+         */
+        String getForm() {
+            return this.form;
+        }
+
+    }
+
+}
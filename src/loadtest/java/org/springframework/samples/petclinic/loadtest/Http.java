@@ -0,0 +1,47 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends the requests of the load test and of the replay.
+ */
+final class Http {
+
+    private Http() {
+    }
+
+    /**
+     * Sends a GET, or a form POST when the form is not {@code null}, and reads the whole response, so that the
+     * connection can be reused. Redirects are not followed.
+     */
+    static int exchange(String url, String form) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setInstanceFollowRedirects(false);
+        connection.setConnectTimeout(10000);
+        connection.setReadTimeout(30000);
+        if (form != null) {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(form.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            if (in != null) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) != -1) {
+                    // drain
+                }
+            }
+        }
+        return status;
+    }
+
+}
@@ -0,0 +1,120 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies, in microseconds, and errors of each flow. The report gives the throughput and the p50, p99 and p99.9
+ * latencies of each flow, the flows failing more often than the maximum error rate and the {@link ResourceUsage} of
+ * each handler, followed by the full percentile distributions of the latencies.
+ */
+class LoadReport {
+
+    private final Map<Flow, Recorder> latencies = new EnumMap<>(Flow.class);
+
+    private final Map<Flow, AtomicLong> requests = new EnumMap<>(Flow.class);
+
+    private final Map<Flow, AtomicLong> errors = new EnumMap<>(Flow.class);
+
+    LoadReport() {
+        for (Flow flow : Flow.values()) {
+            this.latencies.put(flow, new Recorder(3));
+            this.requests.put(flow, new AtomicLong());
+            this.errors.put(flow, new AtomicLong());
+        }
+    }
+
+    void record(Flow flow, long micros, boolean error) {
+        this.latencies.get(flow).recordValue(micros);
+        this.requests.get(flow).incrementAndGet();
+        if (error) {
+            this.errors.get(flow).incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the flows whose share of failed requests is above the given rate, e.g. <code>0.01</code> for 1%, with
+     * their error rates.
+     */
+    List<String> errorRates(double maxErrorRate) {
+        List<String> failing = new ArrayList<>();
+        for (Flow flow : Flow.values()) {
+            long requests = this.requests.get(flow).get();
+            double rate = requests == 0 ? 0 : (double) this.errors.get(flow).get() / requests;
+            if (rate > maxErrorRate) {
+                failing.add(String.format("%s failed %.1f%% of %d requests (max %.1f%%)", flow.name(), rate * 100,
+                        requests, maxErrorRate * 100));
+            }
+        }
+        return failing;
+    }
+
+    /**
+     * Writes the report of the recorded requests, sent over the given number of seconds, and of the resource usage of
+     * the application, to the given file, and returns its summary. The flows failing more often than the given rate
+     * are flagged, as their latencies are not those of the work they were meant to do.
+     */
+    String write(String file, String settings, double seconds, double maxErrorRate, ResourceUsage usage)
+            throws IOException {
+        Map<Flow, Histogram> histograms = new EnumMap<>(Flow.class);
+        Histogram total = new Histogram(3);
+        for (Flow flow : Flow.values()) {
+            Histogram histogram = this.latencies.get(flow).getIntervalHistogram();
+            histograms.put(flow, histogram);
+            total.add(histogram);
+        }
+        long totalErrors = this.errors.values().stream().mapToLong(AtomicLong::get).sum();
+
+        StringBuilder summary = new StringBuilder(settings).append(System.lineSeparator());
+        summary.append(String.format("%-18s %8s %8s %7s %9s %9s %9s %9s%n", "flow", "requests", "req/s", "errors",
+                "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Flow flow : Flow.values()) {
+            line(summary, flow.name(), histograms.get(flow), this.errors.get(flow).get(), seconds);
+        }
+        line(summary, "TOTAL", total, totalErrors, seconds);
+        for (String failing : errorRates(maxErrorRate)) {
+            summary.append("ERROR RATE: ").append(failing).append(System.lineSeparator());
+        }
+        summary.append(System.lineSeparator()).append(usage.format());
+
+        ByteArrayOutputStream distributions = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(distributions, true, "UTF-8")) {
+            for (Flow flow : Flow.values()) {
+                out.println();
+                out.println(flow.name() + " (ms)");
+                histograms.get(flow).outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        Path path = Paths.get(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, (summary + distributions.toString("UTF-8")).getBytes(StandardCharsets.UTF_8));
+        return summary.toString();
+    }
+
+    private static void line(StringBuilder summary, String name, Histogram histogram, long errors, double seconds) {
+        summary.append(String.format("%-18s %8d %8.1f %7d %9.2f %9.2f %9.2f %9.2f%n", name,
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+}
@@ -0,0 +1,151 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.util.StringUtils;
+
+/**
+ * Starts the application on a free local port, on the dataset generated by <code>petclinic.datagen.owners</code>,
+ * and sends it a weighted mix of the {@link Flow}s for <code>loadtest.warmup</code> plus
+ * <code>loadtest.duration</code>.
+ * <p>
+ * Requests arrive as a Poisson process of <code>loadtest.rate</code> per second, whether the previous ones have
+ * completed or not. Latencies are measured from the time each request was due to be sent, so the time spent waiting
+ * for a connection counts, and a slow server is not hidden by a slower request rate.
+ * <p>
+ * The load test fails when more than <code>loadtest.max-error-rate</code> of the requests of a flow failed, since
+ * the latencies of failed requests say little about the application. The report also gives the {@link ResourceUsage}
+ * of each handler, and the load test fails when one of them got heavier than in the <code>loadtest.baseline</code>
+ * report by more than <code>loadtest.tolerance</code>.
+ */
+public class LoadTest {
+
+    private static final Log logger = LogFactory.getLog(LoadTest.class);
+
+    private final String root;
+
+    private final Dataset data;
+
+    private final LoadTestProperties properties;
+
+    private final MeterRegistry registry;
+
+    private final LoadReport report = new LoadReport();
+
+    LoadTest(String root, Dataset data, LoadTestProperties properties, MeterRegistry registry) {
+        this.root = root;
+        this.data = data;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // the devtools restarter would run the application in another class loader, and slow it down
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(PetClinicApplication.class);
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("server.port", 0);
+        defaults.put("petclinic.datagen.owners", 10000);
+        application.setDefaultProperties(defaults);
+        ConfigurableApplicationContext context = application.run(args);
+        int exitCode;
+        boolean failed;
+        try {
+            LoadTestProperties properties = Binder.get(context.getEnvironment())
+                    .bind("loadtest", LoadTestProperties.class).orElseGet(LoadTestProperties::new);
+            String root = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Dataset data = new Dataset(context.getBean(JdbcTemplate.class));
+            logger.info("Load testing " + root + " with " + data);
+            failed = new LoadTest(root, data, properties, context.getBean(MeterRegistry.class)).run();
+        } finally {
+            exitCode = SpringApplication.exit(context);
+        }
+        System.exit(failed ? 1 : exitCode);
+    }
+
+    /**
+     * Runs the load test and writes its report, returning whether some flows failed too often or some handlers got
+     * heavier than in the baseline.
+     */
+    boolean run() throws Exception {
+        Random random = new Random(this.properties.getSeed());
+        ExecutorService connections = Executors.newFixedThreadPool(this.properties.getConnections());
+        double meanInterval = TimeUnit.SECONDS.toNanos(1) / this.properties.getRate();
+        long start = System.nanoTime();
+        long measured = start + this.properties.getWarmup().toNanos();
+        long end = measured + this.properties.getDuration().toNanos();
+        long due = start;
+        ResourceUsage before = null;
+        while (due < end) {
+            if (before == null && due >= measured) {
+                before = ResourceUsage.snapshot(this.registry);
+            }
+            long now = System.nanoTime();
+            while (now < due) {
+                LockSupport.parkNanos(due - now);
+                now = System.nanoTime();
+            }
+            Flow flow = Flow.pick(random);
+            Flow.Request request = flow.next(this.data, random);
+            boolean recorded = due >= measured;
+            long sent = due;
+            connections.execute(() -> send(flow, request, sent, recorded));
+            due += (long) (-Math.log(1 - random.nextDouble()) * meanInterval);
+        }
+        if (before == null) {
+            // no request was due in the measured period
+            before = ResourceUsage.snapshot(this.registry);
+        }
+        connections.shutdown();
+        connections.awaitTermination(1, TimeUnit.MINUTES);
+
+        String settings = String.format("%s at %.1f req/s for %ss after a %ss warm-up, %d connections, %s",
+                this.root, this.properties.getRate(), this.properties.getDuration().getSeconds(),
+                this.properties.getWarmup().getSeconds(), this.properties.getConnections(), this.data);
+        ResourceUsage usage = ResourceUsage.snapshot(this.registry).since(before);
+        String summary = this.report.write(this.properties.getReport(), settings,
+                this.properties.getDuration().toNanos() / 1e9, this.properties.getMaxErrorRate(), usage);
+        logger.info("Wrote " + this.properties.getReport() + System.lineSeparator() + summary);
+
+        List<String> errorRates = this.report.errorRates(this.properties.getMaxErrorRate());
+        errorRates.forEach(failing -> logger.error("Error rate: " + failing));
+        if (!StringUtils.hasText(this.properties.getBaseline())) {
+            return !errorRates.isEmpty();
+        }
+        List<String> regressions = usage.regressions(ResourceUsage.read(Paths.get(this.properties.getBaseline())),
+                this.properties.getTolerance());
+        regressions.forEach(regression -> logger.error("Regression: " + regression));
+        return !errorRates.isEmpty() || !regressions.isEmpty();
+    }
+
+    private void send(Flow flow, Flow.Request request, long due, boolean recorded) {
+        boolean error;
+        try {
+            error = Http.exchange(this.root + request.getPath(), request.getForm()) >= 400;
+        } catch (IOException ex) {
+            logger.debug("Failed to send " + request.getPath(), ex);
+            error = true;
+        }
+        if (recorded) {
+            this.report.record(flow, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due), error);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test settings, given as <code>--loadtest.*</code> arguments.
+ */
+public class LoadTestProperties {
+
+    /**
+     * Average number of requests started per second, whatever the response times.
+     */
+    private double rate = 100;
+
+    /**
+     * Time spent sending requests before the latencies are recorded.
+     */
+    private Duration warmup = Duration.ofSeconds(30);
+
+    /**
+     * Time during which the latencies are recorded.
+     */
+    private Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * Number of requests in flight at most. Later arrivals wait, and their wait counts in their latency.
+     */
+    private int connections = 64;
+
+    /**
+     * Seed of the random generator that picks the arrival times, the flows and their parameters.
+     */
+    private long seed = 42;
+
+    /**
+     * Share of failed requests (4xx, 5xx or I/O errors) of a flow above which the load test fails, e.g. 0.01 for 1%.
+     */
+    private double maxErrorRate = 0.01;
+
+    /**
+     * File the report is written to.
+     */
+    private String report = "target/loadtest.txt";
+
+    /**
+     * Report of a previous run, e.g. of the main branch, whose allocations and CPU time per request are compared.
+     */
+    private String baseline;
+
+    /**
+     * Growth of the allocations or CPU time per request of a handler, over the baseline, that fails the load test.
+     */
+    private double tolerance = 0.2;
+
+    public double getRate() {
+        return this.rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public Duration getWarmup() {
+        return this.warmup;
+    }
+
+    public void setWarmup(Duration warmup) {
+        this.warmup = warmup;
+    }
+
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public int getConnections() {
+        return this.connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double getMaxErrorRate() {
+        return this.maxErrorRate;
+    }
+
+    public void setMaxErrorRate(double maxErrorRate) {
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public String getReport() {
+        return this.report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+
+    public String getBaseline() {
+        return this.baseline;
+    }
+
+    public void setBaseline(String baseline) {
+        this.baseline = baseline;
+    }
+
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.samples.petclinic.capture.CapturedRequest;
+
+/**
+ * Sends the requests of a capture file to <code>replay.target</code>, at their captured pace divided by
+ * <code>replay.speed</code>, and compares the latencies of each endpoint with the captured ones.
+ * <p>
+ * Like the {@link LoadTest}, latencies are measured from the time each request was due, whether the previous ones
+ * have completed or not. The captured latencies were measured by the server, so they do not include the network. The
+ * ids in the paths must exist in the target, e.g. on data generated with the same seed on the same day.
+ */
+public class Replay {
+
+    private static final Log logger = LogFactory.getLog(Replay.class);
+
+    private final ReplayProperties properties;
+
+    private final ReplayReport report = new ReplayReport();
+
+    Replay(ReplayProperties properties) {
+        this.properties = properties;
+    }
+
+    public static void main(String[] args) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        ReplayProperties properties = Binder.get(environment).bind("replay", ReplayProperties.class)
+                .orElseGet(ReplayProperties::new);
+        new Replay(properties).run();
+    }
+
+    void run() throws Exception {
+        ExecutorService connections = Executors.newFixedThreadPool(this.properties.getConnections());
+        long requests = 0;
+        long skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(this.properties.getFile()),
+                StandardCharsets.UTF_8)) {
+            long start = System.nanoTime();
+            long first = -1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                CapturedRequest request = CapturedRequest.parse(line);
+                if (!"GET".equals(request.getMethod()) && !"POST".equals(request.getMethod())) {
+                    // the capture has no request bodies but forms
+                    skipped++;
+                    continue;
+                }
+                if (first < 0) {
+                    first = request.getTime();
+                }
+                long offset = TimeUnit.MILLISECONDS.toNanos(request.getTime() - first);
+                long due = start + (long) (offset / this.properties.getSpeed());
+                long now = System.nanoTime();
+                while (now < due) {
+                    LockSupport.parkNanos(due - now);
+                    now = System.nanoTime();
+                }
+                String endpoint = endpoint(request);
+                this.report.captured(endpoint, request.getMicros());
+                connections.execute(() -> send(endpoint, request, due));
+                requests++;
+            }
+        }
+        connections.shutdown();
+        connections.awaitTermination(1, TimeUnit.MINUTES);
+
+        String settings = String.format("%d requests of %s replayed to %s at %.1fx, %d connections, %d skipped",
+                requests, this.properties.getFile(), this.properties.getTarget(), this.properties.getSpeed(),
+                this.properties.getConnections(), skipped);
+        String summary = this.report.write(this.properties.getReport(), settings);
+        logger.info("Wrote " + this.properties.getReport() + System.lineSeparator() + summary);
+    }
+
+    private void send(String endpoint, CapturedRequest request, long due) {
+        String url = this.properties.getTarget() + request.getPath();
+        String form = null;
+        if ("POST".equals(request.getMethod())) {
+            form = request.getParameters();
+        } else if (!request.getParameters().isEmpty()) {
+            url += "?" + request.getParameters();
+        }
+        boolean error;
+        try {
+            error = Http.exchange(url, form) >= 400;
+        } catch (IOException ex) {
+            logger.debug("Failed to send " + url, ex);
+            error = true;
+        }
+        this.report.replayed(endpoint, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due), error);
+    }
+
+    /**
+     * Returns the method and the path of the request, with its ids replaced by <code>*</code>.
+     */
+    static String endpoint(CapturedRequest request) {
+        return request.getMethod() + " " + request.getPath().replaceAll("/\\d+(?=/|$)", "/*");
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.springframework.samples.petclinic.loadtest;
+
+/**
+ * Replay settings, given as <code>--replay.*</code> arguments.
+ */
+public class ReplayProperties {
+
+    /**
+     * Capture file written by the application with <code>petclinic.capture.enabled</code>.
+     */
+    private String file = "petclinic-capture.log";
+
+    /**
+     * Root URL of the application the requests are sent to.
+     */
+    private String target = "http://localhost:8080";
+
+    /**
+     * How many times faster than captured the requests are sent.
+     */
+    private double speed = 1;
+
+    /**
+     * Number of requests in flight at most. Later requests wait, and their wait counts in their latency.
+     */
+    private int connections = 64;
+
+    /**
+     * File the report is written to.
+     */
+    private String report = "target/replay.txt";
+
+    public String getFile() {
+        return this.file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getTarget() {
+        return this.target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public double getSpeed() {
+        return this.speed;
+    }
+
+    public void setSpeed(double speed) {
+        this.speed = speed;
+    }
+
+    public int getConnections() {
+        return this.connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public String getReport() {
+        return this.report;
+    }
+
+    public void setReport(String report) {
+        this.report = report;
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Captured and replayed latencies, in microseconds, of each endpoint. The report compares the p50, p99 and p99.9
+ * latencies of each endpoint, from the most requested, followed by their full percentile distributions.
+ */
+class ReplayReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of a request when it was captured. Called by a single thread.
+     */
+    void captured(String endpoint, long micros) {
+        this.endpoints.computeIfAbsent(endpoint, Endpoint::new).captured.recordValue(micros);
+    }
+
+    void replayed(String endpoint, long micros, boolean error) {
+        Endpoint recorded = this.endpoints.computeIfAbsent(endpoint, Endpoint::new);
+        recorded.replayed.recordValue(micros);
+        if (error) {
+            recorded.errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes the report to the given file, and returns its summary.
+     */
+    String write(String file, String settings) throws IOException {
+        List<Endpoint> endpoints = new ArrayList<>(this.endpoints.values());
+        endpoints.sort(Comparator.comparingLong((Endpoint endpoint) -> endpoint.captured.getTotalCount()).reversed());
+        StringBuilder summary = new StringBuilder(settings).append(System.lineSeparator());
+        summary.append(String.format("%-45s %8s %7s  %27s  %27s %8s%n", "endpoint", "requests", "errors",
+                "captured p50/p99/p99.9 ms", "replayed p50/p99/p99.9 ms", "p99"));
+        ByteArrayOutputStream distributions = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(distributions, true, "UTF-8")) {
+            for (Endpoint endpoint : endpoints) {
+                Histogram replayed = endpoint.replayed.getIntervalHistogram();
+                summary.append(String.format("%-45s %8d %7d  %s  %s %+7.0f%%%n", endpoint.name,
+                        endpoint.captured.getTotalCount(), endpoint.errors.get(), percentiles(endpoint.captured),
+                        percentiles(replayed), change(endpoint.captured, replayed)));
+                out.println();
+                out.println(endpoint.name + " captured (ms)");
+                endpoint.captured.outputPercentileDistribution(out, 1000.0);
+                out.println();
+                out.println(endpoint.name + " replayed (ms)");
+                replayed.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        Path path = Paths.get(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, (summary + distributions.toString("UTF-8")).getBytes(StandardCharsets.UTF_8));
+        return summary.toString();
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format("%8.2f %8.2f %9.2f", histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0);
+    }
+
+    private static double change(Histogram captured, Histogram replayed) {
+        double before = captured.getValueAtPercentile(99);
+        return before == 0 ? 0 : (replayed.getValueAtPercentile(99) - before) * 100 / before;
+    }
+
+    private static class Endpoint {
+
+        private final String name;
+
+        private final Histogram captured = new Histogram(3);
+
+        private final Recorder replayed = new Recorder(3);
+
+        private final AtomicLong errors = new AtomicLong();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.springframework.samples.petclinic.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bytes allocated and CPU time used by each handler of the application, from its
+ * <code>petclinic.request.allocated</code> and <code>petclinic.request.cpu</code> metrics. The difference of two
+ * snapshots gives the usage per request of the measured period, which the report compares with the one of a previous
+ * report to flag the handlers that got heavier.
+ */
+class ResourceUsage {
+
+    private static final String HEADER = String.format("%-50s %8s %13s %11s", "handler", "requests", "alloc KB/req",
+            "cpu ms/req");
+
+    private final Map<String, Usage> handlers = new TreeMap<>();
+
+    /**
+     * Takes the totals of the metrics recorded so far.
+     */
+    static ResourceUsage snapshot(MeterRegistry registry) {
+        ResourceUsage snapshot = new ResourceUsage();
+        for (DistributionSummary allocated : registry.find("petclinic.request.allocated").summaries()) {
+            Timer cpu = registry.find("petclinic.request.cpu").tags(allocated.getId().getTags()).timer();
+            snapshot.handlers.put(allocated.getId().getTag("handler"), new Usage(allocated.count(),
+                    allocated.totalAmount(), cpu != null ? cpu.totalTime(TimeUnit.NANOSECONDS) : 0));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the usage between the given earlier snapshot and this one.
+     */
+    ResourceUsage since(ResourceUsage start) {
+        ResourceUsage usage = new ResourceUsage();
+        this.handlers.forEach((handler, end) -> {
+            Usage before = start.handlers.getOrDefault(handler, new Usage(0, 0, 0));
+            if (end.requests > before.requests) {
+                usage.handlers.put(handler, new Usage(end.requests - before.requests,
+                        end.allocated - before.allocated, end.cpu - before.cpu));
+            }
+        });
+        return usage;
+    }
+
+    /**
+     * Reads the usage written to a previous report by {@link #format()}.
+     */
+    static ResourceUsage read(Path report) throws IOException {
+        ResourceUsage usage = new ResourceUsage();
+        Iterator<String> lines = Files.readAllLines(report, StandardCharsets.UTF_8).iterator();
+        while (lines.hasNext() && !lines.next().equals(HEADER)) {
+            // skip to the usage
+        }
+        while (lines.hasNext()) {
+            String[] columns = lines.next().trim().split("\\s+");
+            if (columns.length != 4) {
+                break;
+            }
+            long requests = Long.parseLong(columns[1]);
+            usage.handlers.put(columns[0], new Usage(requests, Double.parseDouble(columns[2]) * 1024 * requests,
+                    Double.parseDouble(columns[3]) * 1e6 * requests));
+        }
+        return usage;
+    }
+
+    /**
+     * Returns the handlers which allocate or use the CPU more per request than in the baseline, by more than the
+     * tolerance (e.g. 0.2 for 20%).
+     */
+    List<String> regressions(ResourceUsage baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        this.handlers.forEach((handler, usage) -> {
+            Usage base = baseline.handlers.get(handler);
+            if (base == null) {
+                return;
+            }
+            if (usage.kilobytesPerRequest() > base.kilobytesPerRequest() * (1 + tolerance)) {
+                regressions.add(String.format("%s allocates %.1f KB per request, %.1f KB in the baseline", handler,
+                        usage.kilobytesPerRequest(), base.kilobytesPerRequest()));
+            }
+            if (usage.millisPerRequest() > base.millisPerRequest() * (1 + tolerance)) {
+                regressions.add(String.format("%s uses %.3f ms of CPU per request, %.3f ms in the baseline", handler,
+                        usage.millisPerRequest(), base.millisPerRequest()));
+            }
+        });
+        return regressions;
+    }
+
+    String format() {
+        StringBuilder table = new StringBuilder(HEADER).append(System.lineSeparator());
+        this.handlers.forEach((handler, usage) -> table.append(String.format("%-50s %8d %13.1f %11.3f%n", handler,
+                usage.requests, usage.kilobytesPerRequest(), usage.millisPerRequest())));
+        return table.toString();
+    }
+
+    private static class Usage {
+
+        private final long requests;
+
+        private final double allocated;
+
+        private final double cpu;
+
+        Usage(long requests, double allocated, double cpu) {
+            this.requests = requests;
+            this.allocated = allocated;
+            this.cpu = cpu;
+        }
+
+        double kilobytesPerRequest() {
+            return this.allocated / 1024 / this.requests;
+        }
+
+        double millisPerRequest() {
+            return this.cpu / 1e6 / this.requests;
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types served by the JSON API. Clients may ask for the versioned vendor type to pin the representation.
+ */
+final class ApiVersion {
+
+    static final String V1_JSON = "application/vnd.petclinic.v1+json";
+
+    static final String JSON = MediaType.APPLICATION_JSON_UTF8_VALUE;
+
+    private ApiVersion() {
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.time.LocalDate;
+
+import org.springframework.samples.petclinic.appointment.Appointment;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * JSON representation of an {@link Appointment}.
+ */
+@JsonFilter(AppointmentResource.FILTER)
+class AppointmentResource {
+
+    static final String FILTER = "appointment";
+
+    static final FieldSet FIELDS = FieldSet.of(FILTER,
+            new String[] { "id", "date", "timeslot", "vet", "description", "petId" });
+
+    private final Appointment appointment;
+
+    private AppointmentResource(Appointment appointment) {
+        this.appointment = appointment;
+    }
+
+    static AppointmentResource of(Appointment appointment) {
+        return new AppointmentResource(appointment);
+    }
+
+    public Integer getId() {
+        return this.appointment.getId();
+    }
+
+    public LocalDate getDate() {
+        return this.appointment.getDate();
+    }
+
+    public String getTimeslot() {
+        return this.appointment.getTimeslot();
+    }
+
+    public String getVet() {
+        return this.appointment.getVet();
+    }
+
+    public String getDescription() {
+        return this.appointment.getDescription();
+    }
+
+    public Integer getPetId() {
+        return this.appointment.getPetId();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The resources found by a multi-get, in request order, together with the ids that were not found.
+ *
+ * @param <T> the resource type
+ */
+class BatchResult<T> {
+
+    private final List<T> data;
+
+    private final List<Integer> missing;
+
+    private BatchResult(List<T> data, List<Integer> missing) {
+        this.data = data;
+        this.missing = missing;
+    }
+
+    public List<T> getData() {
+        return this.data;
+    }
+
+    public List<Integer> getMissing() {
+        return this.missing;
+    }
+
+    static <E, T> BatchResult<T> of(Set<Integer> ids, List<E> rows, Function<E, Integer> id, Function<E, T> mapper) {
+        Map<Integer, E> byId = rows.stream().collect(Collectors.toMap(id, Function.identity(), (first, duplicate) -> first));
+        List<T> data = new ArrayList<>(byId.size());
+        List<Integer> missing = new ArrayList<>();
+        for (Integer requested : ids) {
+            E row = byId.get(requested);
+            if (row != null) {
+                data.add(mapper.apply(row));
+            } else {
+                missing.add(requested);
+            }
+        }
+        return new BatchResult<>(Collections.unmodifiableList(data), Collections.unmodifiableList(missing));
+    }
+
+}
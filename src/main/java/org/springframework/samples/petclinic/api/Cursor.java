@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque keyset cursor handed out by the JSON API. It encodes the id of the last row of a page, so the next page is
+ * a plain <code>id &gt; :after</code> range scan instead of an ever growing offset.
+ */
+final class Cursor {
+
+    private static final String PREFIX = "v1:";
+
+    private Cursor() {
+    }
+
+    static String encode(int lastId) {
+        byte[] bytes = (PREFIX + lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Return the id encoded in the given cursor, or 0 (before the first row) if there is no cursor.
+     */
+    static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (value.startsWith(PREFIX)) {
+                return Integer.parseInt(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException ex) {
+            // fall through, NumberFormatException is an IllegalArgumentException
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor: " + cursor);
+    }
+
+}
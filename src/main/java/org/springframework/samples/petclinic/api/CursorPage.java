@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A page of API resources together with the cursor of the next page, if any.
+ *
+ * @param <T> the resource type
+ */
+class CursorPage<T> {
+
+    static final int DEFAULT_SIZE = 20;
+
+    static final int MAX_SIZE = 100;
+
+    private final List<T> data;
+
+    private final String next;
+
+    private CursorPage(List<T> data, String next) {
+        this.data = data;
+        this.next = next;
+    }
+
+    public List<T> getData() {
+        return this.data;
+    }
+
+    public String getNext() {
+        return this.next;
+    }
+
+    /**
+     * Clamp the requested page size to the supported range.
+     */
+    static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Return the {@link Pageable} to query a page of the given size. One extra row is fetched to find out whether
+     * there is a next page without a count query.
+     */
+    static Pageable request(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, Integer> id, Function<E, T> mapper) {
+        List<T> data = new ArrayList<>(Math.min(rows.size(), limit));
+        for (int i = 0; i < rows.size() && i < limit; i++) {
+            data.add(mapper.apply(rows.get(i)));
+        }
+        String next = null;
+        if (rows.size() > limit) {
+            next = Cursor.encode(id.apply(rows.get(limit - 1)));
+        }
+        return new CursorPage<>(Collections.unmodifiableList(data), next);
+    }
+
+}
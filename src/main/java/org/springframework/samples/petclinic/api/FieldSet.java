@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * The sparse fieldset of a resource type: the fields it supports, the ones rendered by default and the ones selected
+ * by the <code>fields</code> request parameter. Expensive fields (the ones that need another query) are never part of
+ * the defaults, they have to be asked for.
+ */
+final class FieldSet {
+
+    private final String filterId;
+
+    private final Set<String> supported;
+
+    private final Set<String> selected;
+
+    private FieldSet(String filterId, Set<String> supported, Set<String> selected) {
+        this.filterId = filterId;
+        this.supported = supported;
+        this.selected = selected;
+    }
+
+    /**
+     * Declare the fields of a resource type rendered through the Jackson filter with the given id.
+     */
+    static FieldSet of(String filterId, String[] defaults, String... expensive) {
+        Set<String> supported = new LinkedHashSet<>(Arrays.asList(defaults));
+        supported.addAll(Arrays.asList(expensive));
+        return new FieldSet(filterId, Collections.unmodifiableSet(supported),
+                Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(defaults))));
+    }
+
+    /**
+     * Return the field set selected by the given <code>fields</code> parameter (comma separated). The id is always
+     * rendered. Without a parameter the defaults are selected.
+     */
+    FieldSet select(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return this;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        for (String field : StringUtils.commaDelimitedListToStringArray(fields)) {
+            String name = field.trim();
+            if (!this.supported.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new FieldSet(this.filterId, this.supported, Collections.unmodifiableSet(selected));
+    }
+
+    boolean contains(String field) {
+        return this.selected.contains(field);
+    }
+
+    /**
+     * Wrap the given response body so that resources of this type only render the selected fields. Nested resources
+     * of other types are rendered in full.
+     */
+    MappingJacksonValue render(Object body) {
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+                .addFilter(this.filterId, SimpleBeanPropertyFilter.filterOutAllExcept(this.selected));
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+
+}
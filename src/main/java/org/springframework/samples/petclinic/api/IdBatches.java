@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Helpers to look up many rows by id with <code>IN</code> list queries. Large id sets are split in chunks so that a
+ * single statement never exceeds what the database handles well (very long <code>IN</code> lists defeat the statement
+ * cache and some drivers cap the number of bind parameters).
+ */
+final class IdBatches {
+
+    static final int CHUNK_SIZE = 500;
+
+    static final int MAX_IDS = 10000;
+
+    private IdBatches() {
+    }
+
+    /**
+     * Return the given ids without duplicates, in request order.
+     */
+    static Set<Integer> distinct(List<Integer> ids) {
+        Set<Integer> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "too many ids: " + distinct.size() + " (max " + MAX_IDS + ")");
+        }
+        return distinct;
+    }
+
+    /**
+     * Run the given <code>IN</code> list query once per chunk of ids and return all the rows.
+     */
+    static <T> List<T> load(Collection<Integer> ids, Function<Collection<Integer>, List<T>> query) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (ids.size() <= CHUNK_SIZE) {
+            return query.apply(ids);
+        }
+        List<T> rows = new ArrayList<>(ids.size());
+        List<Integer> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (Integer id : ids) {
+            chunk.add(id);
+            if (chunk.size() == CHUNK_SIZE) {
+                rows.addAll(query.apply(chunk));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            rows.addAll(query.apply(chunk));
+        }
+        return rows;
+    }
+
+}
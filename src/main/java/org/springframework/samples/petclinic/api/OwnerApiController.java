@@ -0,0 +1,97 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetSummary;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JSON API for owners.
+ */
+@RestController
+@RequestMapping(path = "/api", produces = { ApiVersion.JSON, ApiVersion.V1_JSON })
+class OwnerApiController {
+
+    private final OwnerRepository owners;
+    private final PetRepository pets;
+
+    public OwnerApiController(OwnerRepository owners, PetRepository pets) {
+        this.owners = owners;
+        this.pets = pets;
+    }
+
+    /**
+     * List the owners whose last name starts with the given name, one page at a time.
+     */
+    @GetMapping("/owners")
+    public MappingJacksonValue listOwners(@RequestParam(defaultValue = "") String lastName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = OwnerResource.FIELDS.select(fields);
+        int limit = CursorPage.limit(size);
+        List<Owner> results = this.owners.findPageByLastName(lastName, Cursor.decode(cursor),
+                CursorPage.request(limit));
+        CursorPage<OwnerResource> page = CursorPage.of(results, limit, Owner::getId, OwnerResource::of);
+        if (fieldSet.contains("pets")) {
+            addPets(page.getData());
+        }
+        return fieldSet.render(page);
+    }
+
+    /**
+     * Multi-get: return the owners with the given ids and report the ids that do not exist.
+     */
+    @GetMapping(path = "/owners", params = "ids")
+    public MappingJacksonValue getOwners(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = OwnerResource.FIELDS.select(fields);
+        Set<Integer> distinctIds = IdBatches.distinct(ids);
+        List<Owner> results = IdBatches.load(distinctIds, this.owners::findByIdIn);
+        BatchResult<OwnerResource> batch = BatchResult.of(distinctIds, results, Owner::getId, OwnerResource::of);
+        if (fieldSet.contains("pets")) {
+            addPets(batch.getData());
+        }
+        return fieldSet.render(batch);
+    }
+
+    private void addPets(List<OwnerResource> resources) {
+        if (resources.isEmpty()) {
+            return;
+        }
+        List<Integer> ownerIds = resources.stream().map(OwnerResource::getId).collect(Collectors.toList());
+        Map<Integer, List<PetResource>> petsByOwner = IdBatches.load(ownerIds, this.pets::findSummariesByOwnerIdIn)
+                .stream().collect(Collectors.groupingBy(PetSummary::getOwnerId,
+                        Collectors.mapping(PetResource::of, Collectors.toList())));
+        for (OwnerResource resource : resources) {
+            resource.setPets(petsByOwner.getOrDefault(resource.getId(), new ArrayList<>()));
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.List;
+
+import org.springframework.samples.petclinic.owner.Owner;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * JSON representation of an {@link Owner}. The pets are only rendered when asked for.
+ */
+@JsonFilter(OwnerResource.FILTER)
+class OwnerResource {
+
+    static final String FILTER = "owner";
+
+    static final FieldSet FIELDS = FieldSet.of(FILTER,
+            new String[] { "id", "firstName", "lastName", "address", "city", "telephone" }, "pets");
+
+    private final Owner owner;
+
+    private List<PetResource> pets;
+
+    private OwnerResource(Owner owner) {
+        this.owner = owner;
+    }
+
+    static OwnerResource of(Owner owner) {
+        return new OwnerResource(owner);
+    }
+
+    public Integer getId() {
+        return this.owner.getId();
+    }
+
+    public String getFirstName() {
+        return this.owner.getFirstName();
+    }
+
+    public String getLastName() {
+        return this.owner.getLastName();
+    }
+
+    public String getAddress() {
+        return this.owner.getAddress();
+    }
+
+    public String getCity() {
+        return this.owner.getCity();
+    }
+
+    public String getTelephone() {
+        return this.owner.getTelephone();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<PetResource> getPets() {
+        return this.pets;
+    }
+
+    void setPets(List<PetResource> pets) {
+        this.pets = pets;
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.appointment.AppointmentRepository;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetSummary;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.samples.petclinic.visit.VisitRepository;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JSON API for pets and their visits and appointments.
+ */
+@RestController
+@RequestMapping(path = "/api", produces = { ApiVersion.JSON, ApiVersion.V1_JSON })
+class PetApiController {
+
+    private final OwnerRepository owners;
+    private final PetRepository pets;
+    private final VisitRepository visits;
+    private final AppointmentRepository appointments;
+
+    public PetApiController(OwnerRepository owners, PetRepository pets, VisitRepository visits,
+            AppointmentRepository appointments) {
+        this.owners = owners;
+        this.pets = pets;
+        this.visits = visits;
+        this.appointments = appointments;
+    }
+
+    @GetMapping("/owners/{ownerId}/pets")
+    public MappingJacksonValue listPets(@PathVariable("ownerId") int ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = PetResource.FIELDS.select(fields);
+        if (!this.owners.existsById(ownerId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "owner not found: " + ownerId);
+        }
+        int limit = CursorPage.limit(size);
+        List<PetSummary> results = this.pets.findSummariesByOwnerId(ownerId, Cursor.decode(cursor),
+                CursorPage.request(limit));
+        CursorPage<PetResource> page = CursorPage.of(results, limit, PetSummary::getId, PetResource::of);
+        addHistory(page.getData(), fieldSet);
+        return fieldSet.render(page);
+    }
+
+    /**
+     * Multi-get: return the pets with the given ids and report the ids that do not exist.
+     */
+    @GetMapping(path = "/pets", params = "ids")
+    public MappingJacksonValue getPets(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = PetResource.FIELDS.select(fields);
+        Set<Integer> distinctIds = IdBatches.distinct(ids);
+        List<PetSummary> results = IdBatches.load(distinctIds, this.pets::findSummariesByIdIn);
+        BatchResult<PetResource> batch = BatchResult.of(distinctIds, results, PetSummary::getId, PetResource::of);
+        addHistory(batch.getData(), fieldSet);
+        return fieldSet.render(batch);
+    }
+
+    @GetMapping("/pets/{petId}/visits")
+    public MappingJacksonValue listVisits(@PathVariable("petId") int petId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = VisitResource.FIELDS.select(fields);
+        checkPetExists(petId);
+        int limit = CursorPage.limit(size);
+        List<Visit> results = this.visits.findPageByPetId(petId, Cursor.decode(cursor), CursorPage.request(limit));
+        return fieldSet.render(CursorPage.of(results, limit, Visit::getId, VisitResource::of));
+    }
+
+    @GetMapping("/pets/{petId}/appointments")
+    public MappingJacksonValue listAppointments(@PathVariable("petId") int petId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        FieldSet fieldSet = AppointmentResource.FIELDS.select(fields);
+        checkPetExists(petId);
+        int limit = CursorPage.limit(size);
+        List<Appointment> results = this.appointments.findPageByPetId(petId, Cursor.decode(cursor),
+                CursorPage.request(limit));
+        return fieldSet.render(CursorPage.of(results, limit, Appointment::getId, AppointmentResource::of));
+    }
+
+    private void checkPetExists(int petId) {
+        if (!this.pets.existsById(petId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "pet not found: " + petId);
+        }
+    }
+
+    /**
+     * Attach the visits and appointments to the given pets if they were asked for, with one query each for all the
+     * pets.
+     */
+    private void addHistory(List<PetResource> resources, FieldSet fieldSet) {
+        if (resources.isEmpty()) {
+            return;
+        }
+        List<Integer> petIds = resources.stream().map(PetResource::getId).collect(Collectors.toList());
+        if (fieldSet.contains("visits")) {
+            Map<Integer, List<VisitResource>> visitsByPet = IdBatches.load(petIds, this.visits::findByPetIdIn)
+                    .stream().collect(Collectors.groupingBy(Visit::getPetId,
+                            Collectors.mapping(VisitResource::of, Collectors.toList())));
+            for (PetResource resource : resources) {
+                resource.setVisits(visitsByPet.getOrDefault(resource.getId(), new ArrayList<>()));
+            }
+        }
+        if (fieldSet.contains("appointments")) {
+            Map<Integer, List<AppointmentResource>> appointmentsByPet = IdBatches
+                    .load(petIds, this.appointments::findByPetIdIn)
+                    .stream().collect(Collectors.groupingBy(Appointment::getPetId,
+                            Collectors.mapping(AppointmentResource::of, Collectors.toList())));
+            for (PetResource resource : resources) {
+                resource.setAppointments(appointmentsByPet.getOrDefault(resource.getId(), new ArrayList<>()));
+            }
+        }
+    }
+
+}
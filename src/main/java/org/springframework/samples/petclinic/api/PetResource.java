@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.samples.petclinic.owner.PetSummary;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * JSON representation of a pet. It is mapped from a {@link PetSummary} rather than from the entity, so that the
+ * visits and appointments are only loaded when they are asked for.
+ */
+@JsonFilter(PetResource.FILTER)
+class PetResource {
+
+    static final String FILTER = "pet";
+
+    static final FieldSet FIELDS = FieldSet.of(FILTER,
+            new String[] { "id", "name", "birthDate", "type", "ownerId" }, "visits", "appointments");
+
+    private final PetSummary pet;
+
+    private List<VisitResource> visits;
+
+    private List<AppointmentResource> appointments;
+
+    private PetResource(PetSummary pet) {
+        this.pet = pet;
+    }
+
+    static PetResource of(PetSummary pet) {
+        return new PetResource(pet);
+    }
+
+    public Integer getId() {
+        return this.pet.getId();
+    }
+
+    public String getName() {
+        return this.pet.getName();
+    }
+
+    public LocalDate getBirthDate() {
+        return this.pet.getBirthDate();
+    }
+
+    public String getType() {
+        return this.pet.getType();
+    }
+
+    public Integer getOwnerId() {
+        return this.pet.getOwnerId();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<VisitResource> getVisits() {
+        return this.visits;
+    }
+
+    void setVisits(List<VisitResource> visits) {
+        this.visits = visits;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<AppointmentResource> getAppointments() {
+        return this.appointments;
+    }
+
+    void setAppointments(List<AppointmentResource> appointments) {
+        this.appointments = appointments;
+    }
+
+}
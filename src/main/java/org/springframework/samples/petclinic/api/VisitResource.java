@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import java.time.LocalDate;
+
+import org.springframework.samples.petclinic.visit.Visit;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * JSON representation of a {@link Visit}.
+ */
+@JsonFilter(VisitResource.FILTER)
+class VisitResource {
+
+    static final String FILTER = "visit";
+
+    static final FieldSet FIELDS = FieldSet.of(FILTER, new String[] { "id", "date", "description", "petId" });
+
+    private final Visit visit;
+
+    private VisitResource(Visit visit) {
+        this.visit = visit;
+    }
+
+    static VisitResource of(Visit visit) {
+        return new VisitResource(visit);
+    }
+
+    public Integer getId() {
+        return this.visit.getId();
+    }
+
+    public LocalDate getDate() {
+        return this.visit.getDate();
+    }
+
+    public String getDescription() {
+        return this.visit.getDescription();
+    }
+
+    public Integer getPetId() {
+        return this.visit.getPetId();
+    }
+
+}
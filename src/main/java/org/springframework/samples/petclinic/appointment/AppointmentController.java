@@ -26,11 +26,13 @@ import java.util.Map;
 
 import javax.validation.Valid;
 
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
-import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetLoader;
 import org.springframework.samples.petclinic.vet.Vet;
-import org.springframework.samples.petclinic.vet.VetRepository;
+import org.springframework.samples.petclinic.vet.VetReads;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.WebDataBinder;
@@ -52,12 +54,15 @@ class AppointmentController {
 
     private static final int MAX_HOUR = 17;
     private final AppointmentRepository appointments;
-    private final PetRepository pets;
-    private final VetRepository vets;
+    private final PetLoader pets;
+    private final VetReads vets;
+    private final OwnerSummaries summaries;
 
-    public AppointmentController(AppointmentRepository visits, PetRepository pets, VetRepository vets) {
+    public AppointmentController(AppointmentRepository visits, PetLoader pets, VetReads vets,
+                                 OwnerSummaries summaries) {
         this.appointments = visits;
         this.pets = pets;
+        this.summaries = summaries;
         this.vets = vets;
     }
 
@@ -94,10 +99,12 @@ class AppointmentController {
      */
     @ModelAttribute("appointment")
     public Appointment loadPetWithVisit(@PathVariable("petId") int petId, Map<String, Object> model) {
-        Pet pet = this.pets.findById(petId);
+        Pet pet = this.pets.load(petId);
         model.put("pet", pet);
+        // not added to the pet, which would flush it before the queries of the validation and save it with the pet
+        // when the form is rejected
         Appointment appointment = new Appointment();
-        pet.addAppointment(appointment);
+        appointment.setPetId(pet.getId());
         return appointment;
     }
 
@@ -109,11 +116,13 @@ class AppointmentController {
 
     // Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is called
     @PostMapping("/owners/{ownerId}/pets/{petId}/appointments/new")
+    @Transactional
     public String processNewAppointmentForm(@Valid Appointment appt, BindingResult result) {
         if (!result.hasErrors()) {
             validate(result, appt);
             if (!result.hasErrors()) {
                 this.appointments.save(appt);
+                this.summaries.refreshByPet(appt.getPetId());
                 return "redirect:/owners/{ownerId}";
             }
         }
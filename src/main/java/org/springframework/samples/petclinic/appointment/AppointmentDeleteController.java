@@ -27,12 +27,14 @@ import java.util.Optional;
 
 import javax.validation.Valid;
 
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.PetRepository;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.samples.petclinic.visit.Visit;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.WebDataBinder;
@@ -53,20 +55,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 class AppointmentDeleteController {
 
     private final AppointmentRepository appointments;
+    private final OwnerSummaries summaries;
 
-    public AppointmentDeleteController(AppointmentRepository visits) {
+    public AppointmentDeleteController(AppointmentRepository visits, OwnerSummaries summaries) {
         this.appointments = visits;
+        this.summaries = summaries;
     }
 
    
 
     // Spring MVC calls method loadPetWithVisit(...) before initNewVisitForm is called
     @GetMapping("/owners/{ownerId}/appointments/{appointmentId}/delete")
+    @Transactional
     public String deleteAppointment(@PathVariable("appointmentId") int appointmentId, Map<String, Object> model) {
         Optional<Appointment> optional = appointments.findById(appointmentId);
         if (optional.isPresent()) {
             Appointment appointment = optional.get();
             appointments.delete(appointment);
+            this.summaries.refreshByPet(appointment.getPetId());
         }
         return "redirect:/owners/{ownerId}";
     }
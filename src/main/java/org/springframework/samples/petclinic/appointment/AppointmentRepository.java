@@ -16,11 +16,14 @@
 package org.springframework.samples.petclinic.appointment;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.samples.petclinic.model.BaseEntity;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -36,6 +39,19 @@ import org.springframework.transaction.annotation.Transactional;
 public interface AppointmentRepository extends CrudRepository<Appointment, Integer> {
 
     List<Appointment> findByPetId(Integer petId);
+
+    List<Appointment> findByPetIdIn(Collection<Integer> petIds);
+
+    /**
+     * Retrieve a page of <code>Appointment</code>s for the given pet, ordered by id and starting after the given id.
+     *
+     * @param petId the id of the pet
+     * @param after the id of the last appointment of the previous page (0 for the first page)
+     * @param pageable the page size
+     */
+    @Query("SELECT appt FROM Appointment appt WHERE appt.petId = :petId AND appt.id > :after ORDER BY appt.id")
+    @Transactional(readOnly = true)
+    List<Appointment> findPageByPetId(@Param("petId") int petId, @Param("after") int after, Pageable pageable);
     
     List<Appointment> findByVet(String name);
     
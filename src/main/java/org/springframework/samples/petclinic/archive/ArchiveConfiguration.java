@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.archive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Runs the {@link Archiver} every <code>petclinic.archive.interval</code> when
+ * <code>petclinic.archive.enabled</code> is set.
+ */
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+class ArchiveConfiguration {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty("petclinic.archive.enabled")
+    static class ArchiveScheduling {
+
+        private final Archiver archiver;
+
+        ArchiveScheduling(Archiver archiver) {
+            this.archiver = archiver;
+        }
+
+        @Scheduled(initialDelayString = "${petclinic.archive.interval:PT1H}",
+            fixedDelayString = "${petclinic.archive.interval:PT1H}")
+        public void archive() {
+            this.archiver.archive();
+        }
+
+    }
+
+}
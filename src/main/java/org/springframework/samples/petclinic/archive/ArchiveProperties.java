@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Archiving settings, configured under <code>petclinic.archive</code>.
+ */
+@ConfigurationProperties("petclinic.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether to move old visits and past appointments to the archive tables in the background.
+     */
+    private boolean enabled;
+
+    /**
+     * Age after which a visit is archived. Appointments are archived as soon as their day has passed.
+     */
+    private Duration visitAge = Duration.ofDays(730);
+
+    /**
+     * Time between two archiving runs, as an ISO-8601 duration.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Number of rows moved in each transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Time to wait between two batches, leaving the database to the requests.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getVisitAge() {
+        return this.visitAge;
+    }
+
+    public void setVisitAge(Duration visitAge) {
+        this.visitAge = visitAge;
+    }
+
+    public Duration getInterval() {
+        return this.interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getPause() {
+        return this.pause;
+    }
+
+    public void setPause(Duration pause) {
+        this.pause = pause;
+    }
+
+}
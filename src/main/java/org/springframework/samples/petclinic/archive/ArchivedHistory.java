@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.archive;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the archived visits and appointments of pets, for the pages showing their full history. The rows are
+ * returned as detached entities, keyed by pet id and most recent first.
+ */
+@Component
+public class ArchivedHistory {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ArchivedHistory(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Map<Integer, List<Visit>> findVisits(Collection<Integer> petIds) {
+        Map<Integer, List<Visit>> visits = new LinkedHashMap<>();
+        if (petIds.isEmpty()) {
+            return visits;
+        }
+        this.jdbc.query("SELECT id, pet_id, visit_date, description FROM visits_archive WHERE pet_id IN (:ids) "
+            + "ORDER BY visit_date DESC, id DESC", Collections.singletonMap("ids", petIds), resultSet -> {
+                Visit visit = new Visit();
+                visit.setId(resultSet.getInt("id"));
+                visit.setPetId(resultSet.getInt("pet_id"));
+                visit.setDate(toLocalDate(resultSet.getDate("visit_date")));
+                visit.setDescription(resultSet.getString("description"));
+                visits.computeIfAbsent(visit.getPetId(), id -> new ArrayList<>()).add(visit);
+            });
+        return visits;
+    }
+
+    public Map<Integer, List<Appointment>> findAppointments(Collection<Integer> petIds) {
+        Map<Integer, List<Appointment>> appointments = new LinkedHashMap<>();
+        if (petIds.isEmpty()) {
+            return appointments;
+        }
+        this.jdbc.query("SELECT id, pet_id, vet, appointment_date, timeslot, description FROM appointments_archive "
+            + "WHERE pet_id IN (:ids) ORDER BY appointment_date DESC, timeslot DESC",
+            Collections.singletonMap("ids", petIds), resultSet -> {
+                Appointment appointment = new Appointment();
+                appointment.setId(resultSet.getInt("id"));
+                appointment.setPetId(resultSet.getInt("pet_id"));
+                appointment.setVet(resultSet.getString("vet"));
+                appointment.setDate(toLocalDate(resultSet.getDate("appointment_date")));
+                appointment.setTimeslot(resultSet.getString("timeslot"));
+                appointment.setDescription(resultSet.getString("description"));
+                appointments.computeIfAbsent(appointment.getPetId(), id -> new ArrayList<>()).add(appointment);
+            });
+        return appointments;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.archive;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves old visits and past appointments from the tables the application works on to the archive tables, so that
+ * those tables and their indexes stay small. Rows are moved a batch at a time, each batch in its own short
+ * transaction followed by a pause, so that archiving a large backlog never holds locks for long. The owners of the
+ * pets whose rows were moved, which show their visits and appointments, are evicted from the cache as each batch
+ * commits; the other cached owners are kept.
+ */
+@Component
+public class Archiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(Archiver.class);
+
+    private static final String VISIT_COLUMNS = "id, pet_id, visit_date, description";
+
+    private static final String APPOINTMENT_COLUMNS = "id, pet_id, vet, appointment_date, timeslot, description";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final TransactionTemplate transactions;
+
+    private final ArchiveProperties properties;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public Archiver(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                    ArchiveProperties properties, ObjectProvider<CacheManager> cacheManager) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Archive the visits older than <code>petclinic.archive.visit-age</code> and the appointments before today.
+     *
+     * @return the number of rows moved
+     */
+    public int archive() {
+        long started = System.nanoTime();
+        int visits = archiveVisits(LocalDate.now().minusDays(this.properties.getVisitAge().toDays()));
+        int appointments = archiveAppointments(LocalDate.now());
+        if (visits + appointments > 0) {
+            logger.info("Archived {} visits and {} appointments in {} ms", visits, appointments,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return visits + appointments;
+    }
+
+    /**
+     * Archive the visits before the given date.
+     *
+     * @return the number of visits moved
+     */
+    public int archiveVisits(LocalDate before) {
+        return move("visits", VISIT_COLUMNS, "visit_date", before);
+    }
+
+    /**
+     * Archive the appointments before the given date.
+     *
+     * @return the number of appointments moved
+     */
+    public int archiveAppointments(LocalDate before) {
+        return move("appointments", APPOINTMENT_COLUMNS, "appointment_date", before);
+    }
+
+    private int move(String table, String columns, String dateColumn, LocalDate before) {
+        int batchSize = this.properties.getBatchSize();
+        String select = "SELECT id FROM " + table + " WHERE " + dateColumn + " < :before ORDER BY id LIMIT "
+            + batchSize;
+        String insert = "INSERT INTO " + table + "_archive (" + columns + ") SELECT " + columns + " FROM " + table
+            + " WHERE id IN (:ids)";
+        String delete = "DELETE FROM " + table + " WHERE id IN (:ids)";
+        String owners = "SELECT DISTINCT p.owner_id FROM " + table + " t JOIN pets p ON p.id = t.pet_id "
+            + "WHERE t.id IN (:ids)";
+        int moved = 0;
+        while (true) {
+            int batch = this.transactions.execute(status -> {
+                List<Integer> ids = this.jdbc.queryForList(select,
+                    Collections.singletonMap("before", before), Integer.class);
+                if (!ids.isEmpty()) {
+                    MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+                    List<Integer> ownerIds = this.jdbc.queryForList(owners, params, Integer.class);
+                    this.jdbc.update(insert, params);
+                    this.jdbc.update(delete, params);
+                    evictOwners(ownerIds);
+                }
+                return ids.size();
+            });
+            moved += batch;
+            if (batch < batchSize || !pause()) {
+                return moved;
+            }
+        }
+    }
+
+    private void evictOwners(List<Integer> ownerIds) {
+        CacheManager cacheManager = this.cacheManager.getIfAvailable();
+        Cache owners = cacheManager != null ? cacheManager.getCache("owners") : null;
+        if (owners != null) {
+            ownerIds.forEach(owners::evict);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(this.properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+}
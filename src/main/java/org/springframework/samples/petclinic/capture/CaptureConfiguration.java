@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.capture;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Captures the requests to <code>petclinic.capture.file</code> when <code>petclinic.capture.enabled</code> is set.
+ */
+@Configuration
+@ConditionalOnProperty("petclinic.capture.enabled")
+@EnableConfigurationProperties(CaptureProperties.class)
+class CaptureConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<CaptureFilter> captureFilter(CaptureProperties properties) throws IOException {
+        FilterRegistrationBean<CaptureFilter> registration = new FilterRegistrationBean<>(new CaptureFilter(
+            Paths.get(properties.getFile()), properties.getRedactedParameters(), properties.getExcludedPaths()));
+        // first, so that the timing covers the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.capture;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.samples.petclinic.system.Masking;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Appends each request, with its timing, status and parameters, to the capture file as a {@link CapturedRequest}.
+ * <p>
+ * The values of the redacted parameters are masked by {@link Masking} before they are written, so that the replayed
+ * requests still pass the validation of the original ones.
+ */
+public class CaptureFilter extends OncePerRequestFilter {
+
+    private final Writer writer;
+
+    private final Set<String> redactedParameters;
+
+    private final List<String> excludedPaths;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper pathHelper = new UrlPathHelper();
+
+    public CaptureFilter(Path file, Collection<String> redactedParameters, List<String> excludedPaths)
+            throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND);
+        this.redactedParameters = new HashSet<>(redactedParameters);
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = this.pathHelper.getPathWithinApplication(request);
+        for (String pattern : this.excludedPaths) {
+            if (this.pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long time = System.currentTimeMillis();
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            // the parameters are read last, so that the filter does not consume the body before the application
+            append(new CapturedRequest(time, micros, status, request.getMethod(), request.getRequestURI(),
+                parameters(request.getParameterMap())));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (this.writer) {
+            try {
+                this.writer.close();
+            } catch (IOException ex) {
+                logger.warn("Failed to close the capture file", ex);
+            }
+        }
+    }
+
+    private void append(CapturedRequest request) {
+        String line = request.format();
+        synchronized (this.writer) {
+            try {
+                this.writer.write(line);
+                this.writer.write('\n');
+                this.writer.flush();
+            } catch (IOException ex) {
+                logger.warn("Failed to capture " + line, ex);
+            }
+        }
+    }
+
+    private String parameters(Map<String, String[]> parameters) throws UnsupportedEncodingException {
+        StringBuilder encoded = new StringBuilder();
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            boolean redacted = this.redactedParameters.contains(parameter.getKey());
+            for (String value : parameter.getValue()) {
+                if (encoded.length() > 0) {
+                    encoded.append('&');
+                }
+                encoded.append(URLEncoder.encode(parameter.getKey(), "UTF-8")).append('=')
+                    .append(URLEncoder.encode(redacted ? Masking.mask(value) : value, "UTF-8"));
+            }
+        }
+        return encoded.toString();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.capture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Workload capture settings, configured under <code>petclinic.capture</code>.
+ */
+@ConfigurationProperties("petclinic.capture")
+public class CaptureProperties {
+
+    /**
+     * Whether to append every request to the capture file.
+     */
+    private boolean enabled;
+
+    /**
+     * File the requests are appended to.
+     */
+    private String file = "petclinic-capture.log";
+
+    /**
+     * Parameters whose values are masked before they are written.
+     */
+    private List<String> redactedParameters = new ArrayList<>(Arrays.asList("telephone"));
+
+    /**
+     * Paths, as Ant patterns, of the requests that are not captured.
+     */
+    private List<String> excludedPaths = new ArrayList<>(
+        Arrays.asList("/resources/**", "/webjars/**", "/manage/**", "/favicon.ico"));
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getFile() {
+        return this.file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public List<String> getRedactedParameters() {
+        return this.redactedParameters;
+    }
+
+    public void setRedactedParameters(List<String> redactedParameters) {
+        this.redactedParameters = redactedParameters;
+    }
+
+    public List<String> getExcludedPaths() {
+        return this.excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+}
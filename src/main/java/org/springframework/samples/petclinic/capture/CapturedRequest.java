@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.capture;
+
+/**
+ * A request of the capture file, one per line: the time it started, in epoch milliseconds, how long it took, in
+ * microseconds, its status, method, path and url-encoded parameters (or <code>-</code>), separated by spaces.
+ */
+public class CapturedRequest {
+
+    private final long time;
+
+    private final long micros;
+
+    private final int status;
+
+    private final String method;
+
+    private final String path;
+
+    private final String parameters;
+
+    public CapturedRequest(long time, long micros, int status, String method, String path, String parameters) {
+        this.time = time;
+        this.micros = micros;
+        this.status = status;
+        this.method = method;
+        this.path = path;
+        this.parameters = parameters;
+    }
+
+    public static CapturedRequest parse(String line) {
+        String[] fields = line.split(" ");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Not a captured request: " + line);
+        }
+        return new CapturedRequest(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Integer.parseInt(fields[2]),
+            fields[3], fields[4], "-".equals(fields[5]) ? "" : fields[5]);
+    }
+
+    public String format() {
+        return this.time + " " + this.micros + " " + this.status + " " + this.method + " " + this.path + " "
+                + (this.parameters.isEmpty() ? "-" : this.parameters);
+    }
+
+    public long getTime() {
+        return this.time;
+    }
+
+    public long getMicros() {
+        return this.micros;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public String getMethod() {
+        return this.method;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Returns the url-encoded query or form parameters, or an empty string.
+     */
+    public String getParameters() {
+        return this.parameters;
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.datagen;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
+
+/**
+ * Generates <code>petclinic.datagen.owners</code> owners at startup when it is set, then rebuilds the owner summaries
+ * of the generated owners.
+ */
+@Configuration
+@EnableConfigurationProperties(DataGenProperties.class)
+class DataGenConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("petclinic.datagen.owners")
+    public ApplicationRunner dataGenRunner(DataGenerator generator, OwnerSummaries summaries,
+                                           DataGenProperties properties) {
+        return args -> {
+            generator.generate(properties.getOwners());
+            summaries.rebuild();
+        };
+    }
+
+}
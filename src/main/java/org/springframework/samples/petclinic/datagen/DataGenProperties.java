@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Data generator settings, configured under <code>petclinic.datagen</code>.
+ */
+@ConfigurationProperties("petclinic.datagen")
+public class DataGenProperties {
+
+    /**
+     * Number of owners to generate at startup, with their pets, visits and appointments.
+     */
+    private int owners;
+
+    /**
+     * Seed of the random generator. The same seed generates the same data on the same day.
+     */
+    private long seed = 42;
+
+    /**
+     * Number of years of visit history before today.
+     */
+    private int years = 3;
+
+    /**
+     * Average number of visits of a pet per year.
+     */
+    private double visitsPerYear = 1.0;
+
+    /**
+     * Share of the pets with an appointment in the next three months.
+     */
+    private double appointmentRate = 0.3;
+
+    /**
+     * Number of owners generated, and committed, at a time.
+     */
+    private int batchSize = 1000;
+
+    public int getOwners() {
+        return this.owners;
+    }
+
+    public void setOwners(int owners) {
+        this.owners = owners;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getYears() {
+        return this.years;
+    }
+
+    public void setYears(int years) {
+        this.years = years;
+    }
+
+    public double getVisitsPerYear() {
+        return this.visitsPerYear;
+    }
+
+    public void setVisitsPerYear(double visitsPerYear) {
+        this.visitsPerYear = visitsPerYear;
+    }
+
+    public double getAppointmentRate() {
+        return this.appointmentRate;
+    }
+
+    public void setAppointmentRate(double appointmentRate) {
+        this.appointmentRate = appointmentRate;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+}
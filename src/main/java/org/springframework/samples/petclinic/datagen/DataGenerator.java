@@ -0,0 +1,336 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.datagen;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.system.IdSequences;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Generates a large, realistic dataset: owners with common and rare surnames, one to a few pets each, years of visits
+ * and appointments in the coming months across the vets. A vet is never booked twice for the same slot: once the
+ * calendars are full, no more appointments are generated. The data only depends on the seed and the current day, so
+ * performance measurements can be repeated on the same data.
+ * <p>
+ * Rows are written with JDBC batches, {@link DataGenProperties#getBatchSize()} owners per transaction. Their ids are
+ * taken above those handed out by the id sequences, which are only moved past them at the end, so the application
+ * should not create owners, pets, visits or appointments while data is being generated.
+ */
+@Component
+public class DataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final int LOG_INTERVAL = 100_000;
+
+    /**
+     * Relative frequency of owners with 0, 1, 2... pets.
+     */
+    private static final int[] PET_COUNT_WEIGHTS = { 5, 50, 28, 11, 4, 2 };
+
+    private static final Map<String, Integer> PET_TYPE_WEIGHTS = new HashMap<>();
+
+    static {
+        PET_TYPE_WEIGHTS.put("dog", 45);
+        PET_TYPE_WEIGHTS.put("cat", 40);
+        PET_TYPE_WEIGHTS.put("bird", 5);
+        PET_TYPE_WEIGHTS.put("hamster", 5);
+        PET_TYPE_WEIGHTS.put("lizard", 3);
+        PET_TYPE_WEIGHTS.put("snake", 2);
+    }
+
+    private static final int MAX_PET_AGE_DAYS = 15 * 365;
+
+    private static final int APPOINTMENT_DAYS = 90;
+
+    /**
+     * Number of slots tried for an appointment before giving up, once the calendars of the vets fill up.
+     */
+    private static final int APPOINTMENT_ATTEMPTS = 20;
+
+    private static final String[] VISIT_REASONS = { "rabies shot", "annual checkup", "vaccination", "neutered",
+        "spayed", "dental cleaning", "skin allergy", "ear infection", "limping", "vomiting", "nail trim",
+        "microchip" };
+
+    private static final String[] APPOINTMENT_REASONS = { "annual checkup", "vaccination booster", "follow-up",
+        "dental cleaning", "blood test", "x-ray" };
+
+    private static final String OWNER_INSERT = "INSERT INTO owners (id, first_name, last_name, address, city, "
+        + "telephone) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String PET_INSERT = "INSERT INTO pets (id, name, birth_date, type_id, owner_id) "
+        + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String VISIT_INSERT = "INSERT INTO visits (id, pet_id, visit_date, description) "
+        + "VALUES (?, ?, ?, ?)";
+
+    private static final String APPOINTMENT_INSERT = "INSERT INTO appointments (id, pet_id, vet, appointment_date, "
+        + "timeslot, description) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    private final TransactionTemplate transactions;
+
+    private final IdSequences sequences;
+
+    private final DataGenProperties properties;
+
+    private final Names names = new Names();
+
+    public DataGenerator(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, IdSequences sequences,
+                         DataGenProperties properties) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.sequences = sequences;
+        this.properties = properties;
+    }
+
+    /**
+     * Generate the given number of owners with their pets, visits and appointments.
+     *
+     * @return the number of rows written
+     */
+    public long generate(int owners) {
+        long started = System.nanoTime();
+        Generation generation = new Generation();
+        int batchSize = this.properties.getBatchSize();
+        for (int done = 0; done < owners; ) {
+            int batch = Math.min(batchSize, owners - done);
+            for (int i = 0; i < batch; i++) {
+                generation.owner();
+            }
+            generation.write();
+            done += batch;
+            if (done % LOG_INTERVAL < batch || done == owners) {
+                logger.info("Generated {} of {} owners", done, owners);
+            }
+        }
+        generation.finish();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        logger.info("Generated {} owners, {} pets, {} visits and {} appointments in {} ms", owners, generation.pets,
+            generation.visits, generation.appointments, elapsed);
+        return owners + generation.pets + generation.visits + generation.appointments;
+    }
+
+    private int firstId(String table, String sequence) {
+        Integer max = this.jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        return Math.toIntExact(Math.max(max == null ? 1 : max + 1, this.sequences.next(sequence)));
+    }
+
+    /**
+     * The state of one run: the random generator, the next ids and the rows of the current batch.
+     */
+    private class Generation {
+
+        private final Random random = new Random(DataGenerator.this.properties.getSeed());
+
+        /**
+         * Picks the slots of the appointments, apart from the rest so that the slots already booked in the database
+         * do not change the owners, pets and visits generated.
+         */
+        private final Random slotRandom = new Random(DataGenerator.this.properties.getSeed() + 1);
+
+        private final LocalDate today = LocalDate.now();
+
+        private final List<String> vets = DataGenerator.this.jdbc.queryForList(
+            "SELECT last_name FROM vets ORDER BY id", String.class);
+
+        private final List<Integer> petTypes = new ArrayList<>();
+
+        private final List<String> timeslots = new ArrayList<>();
+
+        /**
+         * The vet, date and timeslot of the appointments booked from tomorrow on, including those already in the
+         * database. Each generated pet gets at most one appointment, so pets cannot be booked twice for a slot.
+         */
+        private final Set<String> bookedSlots = new HashSet<>();
+
+        private int nextOwnerId = firstId("owners", "owner_seq");
+
+        private int nextPetId = firstId("pets", "pet_seq");
+
+        private int nextVisitId = firstId("visits", "visit_seq");
+
+        private int nextAppointmentId = firstId("appointments", "appointment_seq");
+
+        private final List<Object[]> ownerRows = new ArrayList<>();
+
+        private final List<Object[]> petRows = new ArrayList<>();
+
+        private final List<Object[]> visitRows = new ArrayList<>();
+
+        private final List<Object[]> appointmentRows = new ArrayList<>();
+
+        private long pets;
+
+        private long visits;
+
+        private long appointments;
+
+        Generation() {
+            DataGenerator.this.jdbc.query("SELECT id, name FROM types ORDER BY id", resultSet -> {
+                int weight = PET_TYPE_WEIGHTS.getOrDefault(resultSet.getString("name"), 1);
+                for (int i = 0; i < weight; i++) {
+                    this.petTypes.add(resultSet.getInt("id"));
+                }
+            });
+            // Same slots as offered when booking an appointment
+            DateTimeFormatter format = DateTimeFormatter.ofPattern("hh:mm a");
+            for (LocalTime time = LocalTime.of(8, 0); time.getHour() < 17; time = time.plusMinutes(30)) {
+                this.timeslots.add(format.format(time));
+            }
+            DataGenerator.this.jdbc.query("SELECT vet, appointment_date, timeslot FROM appointments "
+                + "WHERE appointment_date > ?", resultSet -> {
+                    this.bookedSlots.add(slot(resultSet.getString("vet"),
+                        resultSet.getDate("appointment_date").toLocalDate(), resultSet.getString("timeslot")));
+                }, Date.valueOf(this.today));
+        }
+
+        void owner() {
+            int ownerId = this.nextOwnerId++;
+            String telephone = Long.toString(2_000_000_000L + (long) (this.random.nextDouble() * 7_999_999_999L));
+            this.ownerRows.add(new Object[] { ownerId, Names.firstName(this.random),
+                DataGenerator.this.names.surname(this.random), Names.address(this.random), Names.city(this.random),
+                telephone });
+            Set<String> petNames = new HashSet<>();
+            for (int count = weighted(PET_COUNT_WEIGHTS); petNames.size() < count; ) {
+                String name = Names.petName(this.random);
+                if (petNames.add(name)) {
+                    pet(ownerId, name);
+                }
+            }
+        }
+
+        private void pet(int ownerId, String name) {
+            int petId = this.nextPetId++;
+            LocalDate birthDate = this.today.minusDays(this.random.nextInt(MAX_PET_AGE_DAYS));
+            this.petRows.add(new Object[] { petId, name, Date.valueOf(birthDate),
+                this.petTypes.get(this.random.nextInt(this.petTypes.size())), ownerId });
+            this.pets++;
+
+            LocalDate from = birthDate.isAfter(this.today.minusYears(DataGenerator.this.properties.getYears()))
+                ? birthDate : this.today.minusYears(DataGenerator.this.properties.getYears());
+            int days = (int) (this.today.toEpochDay() - from.toEpochDay());
+            int count = days > 0 ? poisson(DataGenerator.this.properties.getVisitsPerYear() * days / 365) : 0;
+            List<LocalDate> dates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                dates.add(from.plusDays(this.random.nextInt(days)));
+            }
+            dates.sort(null);
+            for (LocalDate date : dates) {
+                this.visitRows.add(new Object[] { this.nextVisitId++, petId, Date.valueOf(date),
+                    Names.pick(this.random, VISIT_REASONS) });
+                this.visits++;
+            }
+
+            if (this.random.nextDouble() < DataGenerator.this.properties.getAppointmentRate() && !this.vets.isEmpty()) {
+                appointment(petId, Names.pick(this.random, APPOINTMENT_REASONS));
+            }
+        }
+
+        private void appointment(int petId, String reason) {
+            for (int attempt = 0; attempt < APPOINTMENT_ATTEMPTS; attempt++) {
+                LocalDate date = this.today.plusDays(1 + this.slotRandom.nextInt(APPOINTMENT_DAYS));
+                while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    date = date.plusDays(1);
+                }
+                String vet = this.vets.get(this.slotRandom.nextInt(this.vets.size()));
+                String timeslot = this.timeslots.get(this.slotRandom.nextInt(this.timeslots.size()));
+                if (this.bookedSlots.add(slot(vet, date, timeslot))) {
+                    this.appointmentRows.add(new Object[] { this.nextAppointmentId++, petId, vet, Date.valueOf(date),
+                        timeslot, reason });
+                    this.appointments++;
+                    return;
+                }
+            }
+        }
+
+        private String slot(String vet, LocalDate date, String timeslot) {
+            return vet + '|' + date + '|' + timeslot;
+        }
+
+        void write() {
+            DataGenerator.this.transactions.execute(status -> {
+                insert(OWNER_INSERT, this.ownerRows);
+                insert(PET_INSERT, this.petRows);
+                insert(VISIT_INSERT, this.visitRows);
+                insert(APPOINTMENT_INSERT, this.appointmentRows);
+                return null;
+            });
+        }
+
+        void finish() {
+            DataGenerator.this.sequences.advance("owner_seq", this.nextOwnerId - 1);
+            DataGenerator.this.sequences.advance("pet_seq", this.nextPetId - 1);
+            DataGenerator.this.sequences.advance("visit_seq", this.nextVisitId - 1);
+            DataGenerator.this.sequences.advance("appointment_seq", this.nextAppointmentId - 1);
+        }
+
+        private void insert(String sql, List<Object[]> rows) {
+            int batchSize = DataGenerator.this.properties.getBatchSize();
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                DataGenerator.this.jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+            rows.clear();
+        }
+
+        private int weighted(int[] weights) {
+            int total = 0;
+            for (int weight : weights) {
+                total += weight;
+            }
+            int value = this.random.nextInt(total);
+            for (int i = 0; i < weights.length; i++) {
+                value -= weights[i];
+                if (value < 0) {
+                    return i;
+                }
+            }
+            return weights.length - 1;
+        }
+
+        private int poisson(double mean) {
+            double limit = Math.exp(-mean);
+            double product = this.random.nextDouble();
+            int count = 0;
+            while (product > limit) {
+                product *= this.random.nextDouble();
+                count++;
+            }
+            return count;
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Pools of names for the generated data. Surnames follow a Zipf distribution over
+ * {@value #SURNAME_RANKS} ranks, like real ones do: the most frequent ranks are the most common US surnames in census
+ * order, and the long tail is made of syllables so that it keeps the same shape.
+ */
+final class Names {
+
+    static final int SURNAME_RANKS = 150_000;
+
+    private static final double SURNAME_EXPONENT = 0.75;
+
+    private static final String[] SURNAMES = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+        "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+        "Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez",
+        "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill",
+        "Flores", "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+        "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards", "Collins", "Reyes", "Stewart",
+        "Morris", "Morales", "Murphy", "Cook", "Rogers", "Gutierrez", "Ortiz", "Morgan", "Cooper", "Peterson",
+        "Bailey", "Reed", "Kelly", "Howard", "Ramos", "Kim", "Cox", "Ward", "Richardson", "Watson", "Brooks",
+        "Chavez", "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz", "Hughes", "Price", "Alvarez", "Castillo",
+        "Sanders", "Patel", "Myers", "Long", "Ross", "Foster", "Jimenez" };
+
+    private static final String[] SYLLABLES = { "ab", "al", "an", "ar", "bel", "ber", "bro", "car", "dal", "den", "el",
+        "en", "er", "fal", "gar", "han", "hol", "in", "ker", "lan", "ler", "man", "mar", "mer", "mon", "nor", "ol",
+        "on", "par", "ran", "ril", "ros", "sen", "son", "ster", "tan", "ton", "ver", "wal", "win" };
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+        "Michael", "Linda", "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+        "Thomas", "Sarah", "Charles", "Karen", "Christopher", "Nancy", "Daniel", "Lisa", "Matthew", "Betty",
+        "Anthony", "Margaret", "Mark", "Sandra", "Donald", "Ashley", "Steven", "Kimberly", "Paul", "Emily", "Andrew",
+        "Donna", "Joshua", "Michelle", "Maria", "Jose", "Wei", "Priya", "Ahmed", "Fatima", "Hiroshi", "Olga" };
+
+    private static final String[] PET_NAMES = { "Bella", "Max", "Luna", "Charlie", "Lucy", "Cooper", "Daisy",
+        "Milo", "Bailey", "Buddy", "Lily", "Rocky", "Sadie", "Bear", "Molly", "Duke", "Lola", "Tucker", "Stella",
+        "Oliver", "Chloe", "Leo", "Sophie", "Jack", "Zoe", "Simba", "Nala", "Loki", "Coco", "Oscar", "Ruby", "Toby",
+        "Rosie", "Teddy", "Penny", "Bentley", "Maggie", "Zeus", "Gracie", "Jasper", "Pepper", "Ginger", "Shadow",
+        "Smokey", "Tiger", "Kiwi", "Sunny", "Peanut", "Biscuit", "Mango" };
+
+    private static final String[] STREETS = { "Main St.", "Oak St.", "Pine St.", "Maple Ave.", "Cedar St.",
+        "Elm St.", "Washington St.", "Lake St.", "Hill St.", "Park Ave.", "Lincoln Rd.", "Church St.", "River Rd.",
+        "Sunset Blvd.", "Highland Ave.", "Meadow Ln.", "Forest Dr.", "Jefferson St.", "Mill Rd.", "Spring St." };
+
+    private static final String[] CITIES = { "Madison", "Sun Prairie", "McFarland", "Windsor", "Monona",
+        "Waunakee", "Middleton", "Verona", "Fitchburg", "Stoughton", "Oregon", "Cottage Grove", "DeForest",
+        "Mount Horeb", "Janesville", "Milwaukee", "Green Bay", "Kenosha", "Racine", "Appleton", "Waukesha",
+        "Eau Claire", "Oshkosh", "La Crosse", "Sheboygan" };
+
+    private final double[] cumulative = new double[SURNAME_RANKS];
+
+    Names() {
+        double sum = 0;
+        for (int rank = 0; rank < SURNAME_RANKS; rank++) {
+            sum += 1 / Math.pow(rank + 1, SURNAME_EXPONENT);
+            this.cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < SURNAME_RANKS; rank++) {
+            this.cumulative[rank] /= sum;
+        }
+    }
+
+    String surname(Random random) {
+        int rank = Arrays.binarySearch(this.cumulative, random.nextDouble());
+        return surname(rank < 0 ? Math.min(-rank - 1, SURNAME_RANKS - 1) : rank);
+    }
+
+    static String surname(int rank) {
+        if (rank < SURNAMES.length) {
+            return SURNAMES[rank];
+        }
+        StringBuilder name = new StringBuilder();
+        for (int n = rank; n > 0; n /= SYLLABLES.length) {
+            name.append(SYLLABLES[n % SYLLABLES.length]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    static String firstName(Random random) {
+        return pick(random, FIRST_NAMES);
+    }
+
+    static String petName(Random random) {
+        return pick(random, PET_NAMES);
+    }
+
+    static String address(Random random) {
+        return (1 + random.nextInt(9999)) + " " + pick(random, STREETS);
+    }
+
+    static String city(Random random) {
+        return pick(random, CITIES);
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header line. Values containing a comma, a quote or a line break are quoted.
+ */
+class CsvRowWriter implements RowWriter {
+
+    private final Writer out;
+
+    CsvRowWriter(OutputStream out, String[] fields) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        write(fields);
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.out.write(',');
+            }
+            if (values[i] != null) {
+                writeValue(values[i].toString());
+            }
+        }
+        this.out.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        this.out.flush();
+    }
+
+    private void writeValue(String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            this.out.write(value);
+            return;
+        }
+        this.out.write('"');
+        this.out.write(value.replace("\"", "\"\""));
+        this.out.write('"');
+    }
+
+}
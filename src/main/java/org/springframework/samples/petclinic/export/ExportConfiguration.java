@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.nio.file.Paths;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exports every dataset to <code>petclinic.export.directory</code> at startup when it is set.
+ */
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+class ExportConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("petclinic.export.directory")
+    public ApplicationRunner exportRunner(Exporter exporter, ExportProperties properties) {
+        return args -> {
+            for (ExportDataset dataset : ExportDataset.values()) {
+                exporter.export(dataset, properties.getFormat(), Paths.get(properties.getDirectory()));
+            }
+        };
+    }
+
+}
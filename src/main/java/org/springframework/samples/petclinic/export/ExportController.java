@@ -0,0 +1,60 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Downloads of whole tables, e.g. <code>GET /export/owners?format=csv</code>, streamed to the response as they are
+ * read.
+ */
+@Controller
+class ExportController {
+
+    private final Exporter exporter;
+
+    public ExportController(Exporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @GetMapping("/export/{dataset}")
+    public void export(@PathVariable("dataset") String name, @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ExportDataset dataset = ExportDataset.forName(name);
+        if (dataset == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown dataset " + name);
+        }
+        ExportFormat exportFormat = ExportFormat.forName(format);
+        if (exportFormat == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown format " + format);
+        }
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + dataset.getName() + exportFormat.getExtension() + ".gz\"");
+        this.exporter.export(dataset, exportFormat, response.getOutputStream());
+    }
+
+}
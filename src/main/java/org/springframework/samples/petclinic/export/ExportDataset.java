@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+/**
+ * The tables that can be exported, with the names of their fields. The field names are the ones the bulk import
+ * expects, so that an export can be imported into another clinic. The visits and appointments include the rows moved
+ * to the archive tables, which keep their ids.
+ */
+public enum ExportDataset {
+
+    OWNERS("SELECT id, first_name, last_name, address, city, telephone FROM owners ORDER BY id",
+        "id", "firstName", "lastName", "address", "city", "telephone"),
+
+    PETS("SELECT pets.id, pets.owner_id, pets.name, pets.birth_date, types.name FROM pets "
+            + "JOIN types ON types.id = pets.type_id ORDER BY pets.id",
+        "id", "ownerId", "name", "birthDate", "type"),
+
+    VISITS("SELECT id, pet_id, visit_date, description FROM visits UNION ALL "
+            + "SELECT id, pet_id, visit_date, description FROM visits_archive ORDER BY id",
+        "id", "petId", "date", "description"),
+
+    APPOINTMENTS("SELECT id, pet_id, vet, appointment_date, timeslot, description FROM appointments UNION ALL "
+            + "SELECT id, pet_id, vet, appointment_date, timeslot, description FROM appointments_archive ORDER BY id",
+        "id", "petId", "vet", "date", "timeslot", "description");
+
+    private final String query;
+
+    private final String[] fields;
+
+    ExportDataset(String query, String... fields) {
+        this.query = query;
+        this.fields = fields;
+    }
+
+    String getQuery() {
+        return this.query;
+    }
+
+    String[] getFields() {
+        return this.fields.clone();
+    }
+
+    /**
+     * The name of the dataset in URLs and file names.
+     */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Return the dataset with the given name, or null if there is none.
+     */
+    public static ExportDataset forName(String name) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.getName().equals(name)) {
+                return dataset;
+            }
+        }
+        return null;
+    }
+
+}
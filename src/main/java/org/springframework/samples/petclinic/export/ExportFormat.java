@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The file formats of an export.
+ */
+public enum ExportFormat {
+
+    NDJSON,
+
+    CSV;
+
+    /**
+     * The extension of the files in this format, without the <code>.gz</code> suffix.
+     */
+    public String getExtension() {
+        return "." + name().toLowerCase();
+    }
+
+    RowWriter writer(OutputStream out, String[] fields) throws IOException {
+        return this == CSV ? new CsvRowWriter(out, fields) : new NdjsonRowWriter(out, fields);
+    }
+
+    /**
+     * Return the format with the given name, or null if there is none.
+     */
+    public static ExportFormat forName(String name) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Export settings, configured under <code>petclinic.export</code>.
+ */
+@ConfigurationProperties("petclinic.export")
+public class ExportProperties {
+
+    /**
+     * Directory to export every dataset to at startup.
+     */
+    private String directory;
+
+    /**
+     * Format of the files exported at startup.
+     */
+    private ExportFormat format = ExportFormat.NDJSON;
+
+    /**
+     * Number of rows fetched from the database at a time. MySQL always streams the rows one by one.
+     */
+    private int fetchSize = 1000;
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public ExportFormat getFormat() {
+        return this.format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+}
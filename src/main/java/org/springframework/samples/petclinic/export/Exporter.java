@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes whole tables as gzipped NDJSON or CSV. Rows are read through a forward-only cursor and written as soon as
+ * they are read, so memory use does not depend on the size of the table.
+ */
+@Component
+public class Exporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(Exporter.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbc;
+
+    private final TransactionTemplate transactions;
+
+    private final ExportProperties properties;
+
+    public Exporter(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, ExportProperties properties) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /**
+     * Write the given dataset, gzipped, to the given stream. The stream is left open.
+     *
+     * @return the number of rows written
+     */
+    public long export(ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        RowWriter writer = format.writer(gzip, dataset.getFields());
+        long rows;
+        try {
+            ResultSetExtractor<Long> extractor = resultSet -> write(resultSet, writer);
+            rows = this.transactions.execute(status -> this.jdbc.query(
+                connection -> prepare(connection, dataset), extractor));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.finish();
+        gzip.finish();
+        logger.info("Exported {} {} rows in {} ms", rows, dataset.getName(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return rows;
+    }
+
+    /**
+     * Write the given dataset to <code>&lt;dataset&gt;.&lt;format&gt;.gz</code> in the given directory. The file is
+     * written under a temporary name and only then renamed, so that it never appears half written.
+     *
+     * @return the exported file
+     */
+    public Path export(ExportDataset dataset, ExportFormat format, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(dataset.getName() + format.getExtension() + ".gz");
+        Path partial = directory.resolve(file.getFileName() + ".part");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            export(dataset, format, out);
+        }
+        return Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private PreparedStatement prepare(Connection connection, ExportDataset dataset) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(dataset.getQuery(), ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+        // MySQL Connector/J only streams rows, instead of reading the whole result, with this fetch size
+        boolean mysql = connection.getMetaData().getDatabaseProductName().startsWith("MySQL");
+        statement.setFetchSize(mysql ? Integer.MIN_VALUE : this.properties.getFetchSize());
+        return statement;
+    }
+
+    private long write(ResultSet resultSet, RowWriter writer) throws SQLException {
+        Object[] values = new Object[resultSet.getMetaData().getColumnCount()];
+        long rows = 0;
+        try {
+            while (resultSet.next()) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = resultSet.getObject(i + 1);
+                }
+                writer.write(values);
+                rows++;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Newline-delimited JSON: one flat object per row. Null values are left out.
+ */
+class NdjsonRowWriter implements RowWriter {
+
+    private static final JsonFactory factory = new JsonFactory();
+
+    private final JsonGenerator json;
+
+    private final String[] fields;
+
+    NdjsonRowWriter(OutputStream out, String[] fields) throws IOException {
+        this.json = factory.createGenerator(out, JsonEncoding.UTF8)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+            .setRootValueSeparator(null);
+        this.fields = fields;
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        this.json.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof Number) {
+                this.json.writeFieldName(this.fields[i]);
+                this.json.writeNumber(value.toString());
+            } else if (value != null) {
+                this.json.writeStringField(this.fields[i], value.toString());
+            }
+        }
+        this.json.writeEndObject();
+        this.json.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        this.json.flush();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Keeps the {@link MetricsHistory} of the last <code>petclinic.history.minutes</code>, unless
+ * <code>petclinic.history.enabled</code> is turned off.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "petclinic.history.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(HistoryProperties.class)
+class HistoryConfiguration {
+
+    @Bean
+    public MetricsHistory metricsHistory(HistoryProperties properties) {
+        return new MetricsHistory(properties.getMinutes());
+    }
+
+    @Bean
+    public RequestHistoryFilter requestHistoryFilter(HistoryProperties properties) {
+        return new RequestHistoryFilter(properties.getExcludedPaths());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestHistoryFilter> requestHistoryFilterRegistration(RequestHistoryFilter filter) {
+        FilterRegistrationBean<RequestHistoryFilter> registration = new FilterRegistrationBean<>(filter);
+        // right after the capture filter, so that the latencies cover the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public HistorySampler historySampler(MeterRegistry registry, RequestHistoryFilter filter, MetricsHistory history) {
+        return new HistorySampler(registry, filter, history);
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public HistoryEndpoint historyEndpoint(MetricsHistory history) {
+        return new HistoryEndpoint(history);
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * The <code>history</code> actuator endpoint, under <code>/manage/history</code>: the {@link MetricsHistory} of the
+ * last minutes, drawn by the page at <code>/manage/dashboard</code>.
+ */
+@Endpoint(id = "history")
+class HistoryEndpoint {
+
+    private final MetricsHistory history;
+
+    HistoryEndpoint(MetricsHistory history) {
+        this.history = history;
+    }
+
+    @ReadOperation
+    public Map<String, Object> history() {
+        return this.history.toMap();
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Metrics history settings, configured under <code>petclinic.history</code>.
+ */
+@ConfigurationProperties("petclinic.history")
+public class HistoryProperties {
+
+    /**
+     * Whether to keep the per-minute history of the metrics, served by the <code>history</code> endpoint.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of minutes kept, the oldest being dropped first.
+     */
+    private int minutes = 24 * 60;
+
+    /**
+     * Ant-style paths of the requests left out of the throughput and latencies.
+     */
+    private List<String> excludedPaths = new ArrayList<>(
+        Arrays.asList("/resources/**", "/webjars/**", "/manage/**", "/favicon.ico"));
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinutes() {
+        return this.minutes;
+    }
+
+    public void setMinutes(int minutes) {
+        this.minutes = minutes;
+    }
+
+    public List<String> getExcludedPaths() {
+        return this.excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Adds a minute to the {@link MetricsHistory} every minute: the requests of the {@link RequestHistoryFilter}, and the
+ * connection pool, cache, GC and heap metrics of the registry. The cumulative ones, such as the cache gets and the GC
+ * pauses, are turned into the difference with the previous minute.
+ */
+class HistorySampler {
+
+    private final MeterRegistry registry;
+
+    private final RequestHistoryFilter requests;
+
+    private final MetricsHistory history;
+
+    private double cacheHits;
+
+    private double cacheMisses;
+
+    private double gcPauses;
+
+    private double gcPauseTime;
+
+    HistorySampler(MeterRegistry registry, RequestHistoryFilter requests, MetricsHistory history) {
+        this.registry = registry;
+        this.requests = requests;
+        this.history = history;
+        // the differences of the first minute start from now
+        takeSample();
+    }
+
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    public void sample() {
+        this.history.add(System.currentTimeMillis(), takeSample());
+    }
+
+    double[] takeSample() {
+        LatencyHistogram latencies = this.requests.rotate();
+        double cacheHits = total(this.registry.find("cache.gets").tag("result", "hit").meters());
+        double cacheMisses = total(this.registry.find("cache.gets").tag("result", "miss").meters());
+        double gcPauses = 0;
+        double gcPauseTime = 0;
+        for (Timer timer : this.registry.find("jvm.gc.pause").timers()) {
+            gcPauses += timer.count();
+            gcPauseTime += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        double gets = cacheHits - this.cacheHits + cacheMisses - this.cacheMisses;
+        double[] sample = new double[] { latencies.getCount(), latencies.getErrors(),
+            millis(latencies.getPercentile(0.5)), millis(latencies.getPercentile(0.95)),
+            millis(latencies.getPercentile(0.99)), millis(latencies.getMax()),
+            sum(this.registry.find("hikaricp.connections.active").meters(), Statistic.VALUE),
+            sum(this.registry.find("hikaricp.connections.pending").meters(), Statistic.VALUE),
+            gets > 0 ? (cacheHits - this.cacheHits) / gets : Double.NaN, gcPauses - this.gcPauses,
+            gcPauseTime - this.gcPauseTime,
+            sum(this.registry.find("jvm.memory.used").tag("area", "heap").meters(), Statistic.VALUE) / 1024 / 1024 };
+        this.cacheHits = cacheHits;
+        this.cacheMisses = cacheMisses;
+        this.gcPauses = gcPauses;
+        this.gcPauseTime = gcPauseTime;
+        return sample;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double total(Collection<Meter> meters) {
+        double total = sum(meters, Statistic.COUNT);
+        return Double.isNaN(total) ? 0 : total;
+    }
+
+    /**
+     * Return the sum of the given statistic of the meters, or NaN when there is none, e.g. without a connection pool.
+     */
+    private static double sum(Collection<Meter> meters, Statistic statistic) {
+        double sum = Double.NaN;
+        for (Meter meter : meters) {
+            for (Measurement measurement : meter.measure()) {
+                if (measurement.getStatistic() == statistic) {
+                    sum = Double.isNaN(sum) ? measurement.getValue() : sum + measurement.getValue();
+                }
+            }
+        }
+        return sum;
+    }
+
+}
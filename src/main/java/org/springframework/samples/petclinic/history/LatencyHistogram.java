@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Latencies of the requests of one minute, in microseconds, counted in buckets of at most an eighth of their lower
+ * bound, so that the percentiles of the minute are known within 12.5% without keeping every request.
+ */
+class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 8;
+
+    /**
+     * Up to 2^37 microseconds, i.e. more than a day; slower requests count in the last bucket.
+     */
+    private static final int BUCKETS = SUB_BUCKETS + 35 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long micros, boolean error) {
+        this.counts.incrementAndGet(index(micros));
+        this.max.accumulate(micros);
+        if (error) {
+            this.errors.incrementAndGet();
+        }
+    }
+
+    long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    long getErrors() {
+        return this.errors.get();
+    }
+
+    long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Return the upper bound of the bucket of the given percentile (e.g. 0.99), or 0 when nothing was recorded.
+     */
+    long getPercentile(double percentile) {
+        long target = (long) Math.ceil(percentile * getCount());
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= target && seen > 0) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return Math.min(SUB_BUCKETS + (exponent - 3) * SUB_BUCKETS + sub, BUCKETS - 1);
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + 3;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+
+}
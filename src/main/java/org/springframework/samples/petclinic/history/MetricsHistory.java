@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The per-minute values of the {@link #SERIES}, in a ring buffer of a fixed number of minutes, the oldest being
+ * overwritten first, so that its memory stays the same however long the application runs.
+ */
+public class MetricsHistory {
+
+    /**
+     * The series of each minute: requests and server errors, request latency percentiles and maximum in milliseconds,
+     * active and pending database connections, cache hit ratio, GC pauses and their time in milliseconds, and heap
+     * used in megabytes.
+     */
+    public static final List<String> SERIES = Collections.unmodifiableList(Arrays.asList("requests", "errors",
+        "latency.p50", "latency.p95", "latency.p99", "latency.max", "db.active", "db.pending", "cache.hit-ratio",
+        "gc.pauses", "gc.pause-time", "heap.used"));
+
+    private final long[] times;
+
+    private final double[][] values;
+
+    private int next;
+
+    private int size;
+
+    public MetricsHistory(int minutes) {
+        this.times = new long[minutes];
+        this.values = new double[minutes][];
+    }
+
+    /**
+     * Add the values of the {@link #SERIES} at the given time, NaN for the ones unknown.
+     */
+    synchronized void add(long time, double[] values) {
+        this.times[this.next] = time;
+        this.values[this.next] = values;
+        this.next = (this.next + 1) % this.times.length;
+        this.size = Math.min(this.size + 1, this.times.length);
+    }
+
+    /**
+     * Return the history, the oldest minute first: the epoch milliseconds of the minutes as <code>times</code>, and
+     * the values of each series, {@code null} when unknown, under <code>series</code>.
+     */
+    public synchronized Map<String, Object> toMap() {
+        List<Long> times = new ArrayList<>(this.size);
+        Map<String, List<Double>> series = new LinkedHashMap<>();
+        SERIES.forEach(name -> series.put(name, new ArrayList<>(this.size)));
+        int oldest = (this.next - this.size + this.times.length) % this.times.length;
+        for (int i = 0; i < this.size; i++) {
+            int slot = (oldest + i) % this.times.length;
+            times.add(this.times[slot]);
+            for (int j = 0; j < SERIES.size(); j++) {
+                double value = this.values[slot][j];
+                series.get(SERIES.get(j)).add(Double.isNaN(value) ? null : value);
+            }
+        }
+        Map<String, Object> history = new LinkedHashMap<>();
+        history.put("times", times);
+        history.put("series", series);
+        return history;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.history;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the latency and the status of the requests in the {@link LatencyHistogram} of the current minute.
+ */
+class RequestHistoryFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    private final List<String> excludedPaths;
+
+    private final AtomicReference<LatencyHistogram> current = new AtomicReference<>(new LatencyHistogram());
+
+    RequestHistoryFilter(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return this.excludedPaths.stream().anyMatch(pattern -> this.matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            chain.doFilter(request, response);
+            error = response.getStatus() >= 500;
+        } finally {
+            this.current.get().record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), error);
+        }
+    }
+
+    /**
+     * Start a new minute, returning the histogram of the one that ended.
+     */
+    LatencyHistogram rotate() {
+        return this.current.getAndSet(new LatencyHistogram());
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * RFC 4180 CSV records: the first line names the fields, fields may be quoted with <code>"</code> (doubled inside a
+ * quoted field) and may then contain commas and line breaks. Blank lines are ignored.
+ */
+class CsvRecordReader extends RecordReader {
+
+    private final Reader in;
+
+    private final List<String> header;
+
+    private List<String> next;
+
+    CsvRecordReader(Reader in) throws IOException {
+        this.in = in;
+        List<String> header = read();
+        this.header = new ArrayList<>();
+        if (header != null) {
+            for (String name : header) {
+                this.header.add(name.trim());
+            }
+        }
+        this.next = read();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.next != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (this.next == null) {
+            throw new NoSuchElementException();
+        }
+        Map<String, String> record = new HashMap<>(this.header.size() * 2);
+        for (int i = 0; i < this.header.size(); i++) {
+            record.put(this.header.get(i), i < this.next.size() ? this.next.get(i) : "");
+        }
+        try {
+            this.next = read();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+    private List<String> read() throws IOException {
+        int c = this.in.read();
+        while (c == '\r' || c == '\n') {
+            c = this.in.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field after " + fields);
+                }
+                if (c == '"') {
+                    c = this.in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = this.in.read();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.system.IdSequences;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the imports, one row per job and dataset in the <code>import_checkpoints</code> table. A checkpoint is
+ * advanced in the transaction that writes the rows it covers, so that a restarted import resumes exactly after the
+ * last committed row.
+ */
+@Component
+class ImportCheckpoints {
+
+    private final JdbcTemplate jdbc;
+
+    private final IdSequences sequences;
+
+    ImportCheckpoints(JdbcTemplate jdbc, IdSequences sequences) {
+        this.jdbc = jdbc;
+        this.sequences = sequences;
+    }
+
+    /**
+     * Return the checkpoint of the given dataset, or null if its import never started.
+     */
+    Checkpoint find(String job, String dataset) {
+        List<Checkpoint> checkpoints = this.jdbc.query(
+            "SELECT records_done, id_offset, completed FROM import_checkpoints WHERE job = ? AND dataset = ?",
+            (rs, row) -> new Checkpoint(job, dataset, rs.getLong(1), rs.getInt(2), rs.getBoolean(3)), job, dataset);
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
+    }
+
+    /**
+     * Return the checkpoint of the given dataset, starting its import if needed. The ids of the imported rows are
+     * their source id plus an offset above the highest id already in the table and the ids already handed out by
+     * its sequence.
+     */
+    Checkpoint start(String job, String dataset, String table, String sequence) {
+        Checkpoint checkpoint = find(job, dataset);
+        if (checkpoint == null) {
+            Integer max = this.jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+            long offset = Math.max(max == null ? 0 : max, this.sequences.next(sequence));
+            checkpoint = new Checkpoint(job, dataset, 0, Math.toIntExact(offset), false);
+            this.jdbc.update(
+                "INSERT INTO import_checkpoints (job, dataset, records_done, id_offset, completed) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                job, dataset, 0, checkpoint.getIdOffset(), false);
+        }
+        return checkpoint;
+    }
+
+    void advance(Checkpoint checkpoint, long position, boolean completed) {
+        this.jdbc.update("UPDATE import_checkpoints SET records_done = ?, completed = ? WHERE job = ? AND dataset = ?",
+            position, completed, checkpoint.getJob(), checkpoint.getDataset());
+        checkpoint.position = position;
+        checkpoint.completed = completed;
+    }
+
+    static class Checkpoint {
+
+        private final String job;
+
+        private final String dataset;
+
+        private long position;
+
+        private final int idOffset;
+
+        private boolean completed;
+
+        Checkpoint(String job, String dataset, long position, int idOffset, boolean completed) {
+            this.job = job;
+            this.dataset = dataset;
+            this.position = position;
+            this.idOffset = idOffset;
+            this.completed = completed;
+        }
+
+        String getJob() {
+            return this.job;
+        }
+
+        String getDataset() {
+            return this.dataset;
+        }
+
+        /**
+         * The number of records of the file already processed.
+         */
+        long getPosition() {
+            return this.position;
+        }
+
+        int getIdOffset() {
+            return this.idOffset;
+        }
+
+        boolean isCompleted() {
+            return this.completed;
+        }
+
+    }
+
+}
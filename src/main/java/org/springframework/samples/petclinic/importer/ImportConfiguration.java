@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
+
+/**
+ * Runs the import of <code>petclinic.import.directory</code> at startup when it is set, then rebuilds the owner
+ * summaries the import bypassed.
+ */
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+class ImportConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("petclinic.import.directory")
+    public ApplicationRunner importRunner(Importer importer, OwnerSummaries summaries, ImportProperties properties) {
+        return args -> {
+            Path directory = Paths.get(properties.getDirectory());
+            String job = properties.getJob() != null ? properties.getJob() : directory.getFileName().toString();
+            importer.run(directory, job);
+            summaries.rebuild();
+        };
+    }
+
+}
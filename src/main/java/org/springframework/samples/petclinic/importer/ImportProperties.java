@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk import settings, configured under <code>petclinic.import</code>.
+ */
+@ConfigurationProperties("petclinic.import")
+public class ImportProperties {
+
+    /**
+     * Directory holding the owners, pets and visits files to import at startup.
+     */
+    private String directory;
+
+    /**
+     * Name of the import, under which its progress is checkpointed. Defaults to the name of the directory.
+     */
+    private String job;
+
+    /**
+     * Number of rows sent to the database in one JDBC batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Number of rows written per transaction, after which the checkpoint is advanced.
+     */
+    private int commitInterval = 20000;
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getJob() {
+        return this.job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getCommitInterval() {
+        return this.commitInterval;
+    }
+
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = commitInterval;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of an import, per dataset.
+ */
+public class ImportReport {
+
+    private final String job;
+
+    private final List<Dataset> datasets = new ArrayList<>();
+
+    ImportReport(String job) {
+        this.job = job;
+    }
+
+    public String getJob() {
+        return this.job;
+    }
+
+    public List<Dataset> getDatasets() {
+        return this.datasets;
+    }
+
+    /**
+     * Return the report of the given dataset, or null if it was not part of the import.
+     */
+    public Dataset getDataset(String name) {
+        return this.datasets.stream().filter(dataset -> dataset.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    Dataset start(String name) {
+        Dataset dataset = new Dataset(name);
+        this.datasets.add(dataset);
+        return dataset;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Import ").append(this.job).append(':');
+        for (Dataset dataset : this.datasets) {
+            report.append("\n  ").append(dataset);
+        }
+        return report.toString();
+    }
+
+    public static class Dataset {
+
+        private final String name;
+
+        private final long started = System.nanoTime();
+
+        private long elapsed;
+
+        private long read;
+
+        private long imported;
+
+        private long rejected;
+
+        private long skipped;
+
+        Dataset(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * Records read in this run, not counting the ones skipped because an earlier run imported them.
+         */
+        public long getRead() {
+            return this.read;
+        }
+
+        public long getImported() {
+            return this.imported;
+        }
+
+        public long getRejected() {
+            return this.rejected;
+        }
+
+        /**
+         * Records skipped because an earlier run of the same job already processed them.
+         */
+        public long getSkipped() {
+            return this.skipped;
+        }
+
+        public long getRowsPerSecond() {
+            long nanos = this.elapsed > 0 ? this.elapsed : System.nanoTime() - this.started;
+            return nanos == 0 ? 0 : this.read * TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        void read() {
+            this.read++;
+        }
+
+        void imported(int rows) {
+            this.imported += rows;
+        }
+
+        void rejected() {
+            this.rejected++;
+        }
+
+        void skipped(long records) {
+            this.skipped = records;
+        }
+
+        void finished() {
+            this.elapsed = System.nanoTime() - this.started;
+        }
+
+        @Override
+        public String toString() {
+            return this.name + ": " + this.imported + " imported, " + this.rejected + " rejected, " + this.skipped
+                    + " skipped, " + getRowsPerSecond() + " rows/s";
+        }
+
+    }
+
+}
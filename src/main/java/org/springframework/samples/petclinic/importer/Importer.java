@@ -0,0 +1,362 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.importer.ImportCheckpoints.Checkpoint;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.PetValidator;
+import org.springframework.samples.petclinic.system.IdSequences;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+/**
+ * Bulk import of whole clinics: the owners, pets and visits files of a directory are streamed record by record,
+ * validated with the same rules as the forms and written with JDBC batches.
+ * <p>
+ * Each file is named after its table (<code>owners.csv</code>, <code>pets.ndjson.gz</code>...) and references the
+ * others through source ids: owners and pets carry an <code>id</code>, pets an <code>ownerId</code> and visits a
+ * <code>petId</code>. Imported rows keep their source id, shifted above the ids already in the table, so references
+ * are resolved without holding the rows in memory. Invalid records, and records referencing a rejected one, are
+ * logged and skipped.
+ * <p>
+ * Rows are committed every {@link ImportProperties#getCommitInterval()} records together with the checkpoint of the
+ * job, and running the same job again resumes after the last commit. The imported ids are not taken from the id
+ * sequences, which are only moved past them at the end of each file, so the application should not create owners,
+ * pets or visits while an import is running.
+ */
+@Component
+public class Importer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Importer.class);
+
+    private static final int LOGGED_REJECTS = 20;
+
+    private static final String[] EXTENSIONS = { ".csv", ".ndjson", ".jsonl" };
+
+    private static final String INSERT_OWNER =
+        "INSERT INTO owners (id, first_name, last_name, address, city, telephone) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PET =
+        "INSERT INTO pets (id, name, birth_date, type_id, owner_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_VISIT =
+        "INSERT INTO visits (id, pet_id, visit_date, description) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+
+    private final TransactionTemplate transactions;
+
+    private final Validator validator;
+
+    private final PetValidator petValidator = new PetValidator();
+
+    private final PetRepository pets;
+
+    private final ImportCheckpoints checkpoints;
+
+    private final IdSequences sequences;
+
+    private final ImportProperties properties;
+
+    public Importer(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, Validator validator,
+            PetRepository pets, ImportCheckpoints checkpoints, IdSequences sequences, ImportProperties properties) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.pets = pets;
+        this.checkpoints = checkpoints;
+        this.sequences = sequences;
+        this.properties = properties;
+    }
+
+    /**
+     * Import the owners, pets and visits files found in the given directory, resuming the given job if it already
+     * ran.
+     */
+    public ImportReport run(Path directory, String job) throws IOException {
+        ImportReport report = new ImportReport(job);
+        Map<String, PetType> types = new HashMap<>();
+        for (PetType type : this.pets.findPetTypes()) {
+            types.put(type.getName().toLowerCase(Locale.ENGLISH), type);
+        }
+
+        ImportedIds owners = load(directory, job, "owners", "owner_seq", INSERT_OWNER, report, this::owner);
+        ImportedIds pets = load(directory, job, "pets", "pet_seq", INSERT_PET, report,
+            (record, position, ids, problems) -> pet(record, ids, owners, types, problems));
+        load(directory, job, "visits", "visit_seq", INSERT_VISIT, report,
+            (record, position, ids, problems) -> visit(record, position, ids, pets, problems));
+
+        logger.info("{}", report);
+        return report;
+    }
+
+    private Object[] owner(Map<String, String> record, long position, ImportedIds ids, List<String> problems) {
+        int id = sourceId(record, "id", ids, problems);
+        Owner owner = new Owner();
+        owner.setFirstName(field(record, "firstName"));
+        owner.setLastName(field(record, "lastName"));
+        owner.setAddress(field(record, "address"));
+        owner.setCity(field(record, "city"));
+        owner.setTelephone(field(record, "telephone"));
+        validate(owner, problems);
+        return problems.isEmpty() ? new Object[] { ids.databaseId(id), owner.getFirstName(), owner.getLastName(),
+                owner.getAddress(), owner.getCity(), owner.getTelephone() } : null;
+    }
+
+    private Object[] pet(Map<String, String> record, ImportedIds ids, ImportedIds owners, Map<String, PetType> types,
+            List<String> problems) {
+        int id = sourceId(record, "id", ids, problems);
+        int ownerId = reference(record, "ownerId", owners, problems);
+        Pet pet = new Pet();
+        pet.setName(field(record, "name"));
+        String birthDate = field(record, "birthDate");
+        pet.setBirthDate(birthDate == null ? null : LocalDate.parse(birthDate));
+        String type = field(record, "type");
+        if (type != null) {
+            pet.setType(types.get(type.toLowerCase(Locale.ENGLISH)));
+            if (pet.getType() == null) {
+                problems.add("type: unknown pet type " + type);
+            }
+        }
+        Errors errors = new BeanPropertyBindingResult(pet, "pet");
+        this.petValidator.validate(pet, errors);
+        for (FieldError error : errors.getFieldErrors()) {
+            problems.add(error.getField() + ": " + error.getDefaultMessage());
+        }
+        return problems.isEmpty() ? new Object[] { ids.databaseId(id), pet.getName(), pet.getBirthDate(),
+                pet.getType().getId(), owners.databaseId(ownerId) } : null;
+    }
+
+    private Object[] visit(Map<String, String> record, long position, ImportedIds ids, ImportedIds pets,
+            List<String> problems) {
+        int petId = reference(record, "petId", pets, problems);
+        Visit visit = new Visit();
+        String date = field(record, "date");
+        if (date != null) {
+            visit.setDate(LocalDate.parse(date));
+        }
+        visit.setDescription(field(record, "description"));
+        validate(visit, problems);
+        return problems.isEmpty() ? new Object[] { ids.databaseId((int) position), pets.databaseId(petId),
+                visit.getDate(), visit.getDescription() } : null;
+    }
+
+    private ImportedIds load(Path directory, String job, String table, String sequence, String insert,
+            ImportReport report, Converter converter) throws IOException {
+        Path file = find(directory, table);
+        if (file == null) {
+            return imported(table, this.checkpoints.find(job, table));
+        }
+        ImportReport.Dataset progress = report.start(table);
+        Checkpoint checkpoint = this.checkpoints.start(job, table, table, sequence);
+        ImportedIds ids = imported(table, checkpoint);
+        progress.skipped(checkpoint.getPosition());
+        if (checkpoint.isCompleted()) {
+            progress.finished();
+            return ids;
+        }
+
+        try (RecordReader reader = RecordReader.open(file)) {
+            reader.skip(checkpoint.getPosition());
+            long position = checkpoint.getPosition();
+            List<Object[]> rows = new ArrayList<>(this.properties.getCommitInterval());
+            List<String> problems = new ArrayList<>();
+            while (reader.hasNext()) {
+                Map<String, String> record = reader.next();
+                position++;
+                progress.read();
+                problems.clear();
+                Object[] row = convert(converter, record, position, ids, problems);
+                if (row != null) {
+                    rows.add(row);
+                    ids.add((Integer) row[0]);
+                } else {
+                    progress.rejected();
+                    if (progress.getRejected() <= LOGGED_REJECTS) {
+                        logger.warn("Rejected {} record {} of {}: {}", table, position, file, problems);
+                    }
+                }
+                if (position - checkpoint.getPosition() >= this.properties.getCommitInterval()) {
+                    commit(insert, rows, checkpoint, position, false, progress);
+                }
+            }
+            commit(insert, rows, checkpoint, position, true, progress);
+        }
+        Integer max = this.jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        this.sequences.advance(sequence, max == null ? 0 : max);
+        progress.finished();
+        return ids;
+    }
+
+    private Object[] convert(Converter converter, Map<String, String> record, long position, ImportedIds ids,
+            List<String> problems) {
+        try {
+            return converter.convert(record, position, ids, problems);
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            problems.add(ex.getMessage());
+            return null;
+        }
+    }
+
+    private void commit(String insert, List<Object[]> rows, Checkpoint checkpoint, long position, boolean completed,
+            ImportReport.Dataset progress) {
+        int batchSize = this.properties.getBatchSize();
+        this.transactions.execute(status -> {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                this.jdbc.batchUpdate(insert, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+            }
+            this.checkpoints.advance(checkpoint, position, completed);
+            return null;
+        });
+        progress.imported(rows.size());
+        rows.clear();
+        logger.info("{} {}: {} records, {} rows/s", checkpoint.getJob(), progress.getName(), position,
+            progress.getRowsPerSecond());
+    }
+
+    /**
+     * The ids of the rows imported by an earlier run of the job, which later records and datasets may reference.
+     */
+    private ImportedIds imported(String table, Checkpoint checkpoint) {
+        if (checkpoint == null) {
+            return new ImportedIds(0);
+        }
+        ImportedIds ids = new ImportedIds(checkpoint.getIdOffset());
+        if (checkpoint.getPosition() > 0) {
+            this.jdbc.query("SELECT id FROM " + table + " WHERE id > ?", rs -> {
+                ids.add(rs.getInt(1));
+            }, checkpoint.getIdOffset());
+        }
+        return ids;
+    }
+
+    private void validate(Object entity, List<String> problems) {
+        for (ConstraintViolation<Object> violation : this.validator.validate(entity)) {
+            problems.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+    }
+
+    private static Path find(Path directory, String table) {
+        for (String extension : EXTENSIONS) {
+            for (String name : new String[] { table + extension, table + extension + ".gz" }) {
+                Path file = directory.resolve(name);
+                if (Files.isRegularFile(file)) {
+                    return file;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String field(Map<String, String> record, String name) {
+        String value = record.get(name);
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    private static int sourceId(Map<String, String> record, String name, ImportedIds ids, List<String> problems) {
+        String value = field(record, name);
+        if (value == null) {
+            problems.add(name + ": required");
+            return 0;
+        }
+        int id = Integer.parseInt(value);
+        if (id <= 0) {
+            problems.add(name + ": must be positive");
+        } else if (ids.contains(id)) {
+            problems.add(name + ": duplicate " + id);
+        }
+        return id;
+    }
+
+    private static int reference(Map<String, String> record, String name, ImportedIds ids, List<String> problems) {
+        String value = field(record, name);
+        if (value == null) {
+            problems.add(name + ": required");
+            return 0;
+        }
+        int id = Integer.parseInt(value);
+        if (id <= 0 || !ids.contains(id)) {
+            problems.add(name + ": unknown " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Turns a record into the values of the row to insert, its id first, or returns null after adding the reasons
+     * to reject it to the problems.
+     */
+    @FunctionalInterface
+    private interface Converter {
+
+        Object[] convert(Map<String, String> record, long position, ImportedIds ids, List<String> problems);
+
+    }
+
+    /**
+     * The source ids imported into a table, whose database ids are shifted by a fixed offset.
+     */
+    private static class ImportedIds {
+
+        private final int offset;
+
+        private final BitSet ids = new BitSet();
+
+        ImportedIds(int offset) {
+            this.offset = offset;
+        }
+
+        int databaseId(int sourceId) {
+            return this.offset + sourceId;
+        }
+
+        boolean contains(int sourceId) {
+            return sourceId > 0 && this.ids.get(sourceId);
+        }
+
+        void add(int databaseId) {
+            this.ids.set(databaseId - this.offset);
+        }
+
+    }
+
+}
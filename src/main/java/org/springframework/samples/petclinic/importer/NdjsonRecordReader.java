@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Newline-delimited JSON records: one flat JSON object per line.
+ */
+class NdjsonRecordReader extends RecordReader {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final MappingIterator<Map<String, Object>> values;
+
+    NdjsonRecordReader(Reader in) throws IOException {
+        this.values = mapper.readerFor(Map.class).readValues(in);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.values.hasNext();
+    }
+
+    @Override
+    public Map<String, String> next() {
+        Map<String, Object> value = this.values.next();
+        Map<String, String> record = new HashMap<>(value.size() * 2);
+        value.forEach((name, field) -> record.put(name, field == null ? "" : field.toString()));
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.values.close();
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the records of an import file one at a time, as maps from field name to (possibly empty) value.
+ * <p>
+ * The format is chosen from the file extension: <code>.csv</code> (with a header line) or <code>.ndjson</code> /
+ * <code>.jsonl</code> (one JSON object per line), optionally followed by <code>.gz</code>.
+ */
+abstract class RecordReader implements Iterator<Map<String, String>>, Closeable {
+
+    static RecordReader open(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        InputStream in = Files.newInputStream(file);
+        if (name.endsWith(".gz")) {
+            in = new GZIPInputStream(in, 64 * 1024);
+            name = name.substring(0, name.length() - 3);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        if (name.endsWith(".csv")) {
+            return new CsvRecordReader(reader);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new NdjsonRecordReader(reader);
+        }
+        reader.close();
+        throw new IllegalArgumentException("Unsupported import file " + file);
+    }
+
+    /**
+     * Skip the given number of records, typically the ones already imported before a restart.
+     */
+    void skip(long records) {
+        for (long i = 0; i < records && hasNext(); i++) {
+            next();
+        }
+    }
+
+}
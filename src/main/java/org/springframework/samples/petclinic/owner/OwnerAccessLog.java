@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The owners whose page was shown most recently, at most a given number of them, saved to a file with one owner id per
+ * line, the most recent first, so that the next start of the application can warm them up.
+ */
+public class OwnerAccessLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerAccessLog.class);
+
+    private final int size;
+
+    private final Path file;
+
+    /**
+     * The owner ids, the least recent first.
+     */
+    private final LinkedHashSet<Integer> ownerIds = new LinkedHashSet<>();
+
+    /**
+     * Create a log of the given number of owners, loading the given file if there is one. A {@code null} file keeps
+     * the log in memory only.
+     */
+    public OwnerAccessLog(int size, Path file) {
+        this.size = size;
+        this.file = file;
+        if (file != null && Files.isRegularFile(file)) {
+            load(file);
+        }
+    }
+
+    /**
+     * Record that the page of the given owner was shown.
+     */
+    public synchronized void record(int ownerId) {
+        this.ownerIds.remove(ownerId);
+        this.ownerIds.add(ownerId);
+        if (this.ownerIds.size() > this.size) {
+            this.ownerIds.remove(this.ownerIds.iterator().next());
+        }
+    }
+
+    /**
+     * Return the ids of the owners shown most recently, the most recent first.
+     */
+    public synchronized List<Integer> getRecent() {
+        List<Integer> recent = new ArrayList<>(this.ownerIds);
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    /**
+     * Save the log to its file, if any, replacing the previous one at once.
+     */
+    public void save() throws IOException {
+        if (this.file == null) {
+            return;
+        }
+        List<String> lines = getRecent().stream().map(String::valueOf).collect(Collectors.toList());
+        Path directory = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+        Files.write(temporary, lines, StandardCharsets.UTF_8);
+        Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load(Path file) {
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            Collections.reverse(lines);
+            for (String line : lines) {
+                if (!line.trim().isEmpty()) {
+                    record(Integer.parseInt(line.trim()));
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            logger.warn("Ignoring the owner access log {}: {}", file, ex.getMessage());
+        }
+    }
+
+}
@@ -15,7 +15,10 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.samples.petclinic.archive.ArchivedHistory;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
@@ -23,11 +26,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.validation.Valid;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @author Juergen Hoeller
@@ -40,10 +46,19 @@ class OwnerController {
 
     private static final String VIEWS_OWNER_CREATE_OR_UPDATE_FORM = "owners/createOrUpdateOwnerForm";
     private final OwnerRepository owners;
+    private final OwnerReads ownerReads;
+    private final OwnerSummaries summaries;
+    private final ArchivedHistory history;
+    private final ObjectProvider<OwnerAccessLog> accessLog;
 
 
-    public OwnerController(OwnerRepository clinicService) {
+    public OwnerController(OwnerRepository clinicService, OwnerReads ownerReads, OwnerSummaries summaries,
+                           ArchivedHistory history, ObjectProvider<OwnerAccessLog> accessLog) {
         this.owners = clinicService;
+        this.ownerReads = ownerReads;
+        this.summaries = summaries;
+        this.history = history;
+        this.accessLog = accessLog;
     }
 
     @InitBinder
@@ -59,11 +74,13 @@ class OwnerController {
     }
 
     @PostMapping("/owners/new")
+    @Transactional
     public String processCreationForm(@Valid Owner owner, BindingResult result) {
         if (result.hasErrors()) {
             return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
         } else {
             this.owners.save(owner);
+            this.summaries.refresh(owner.getId());
             return "redirect:/owners/" + owner.getId();
         }
     }
@@ -83,15 +100,14 @@ class OwnerController {
         }
 
         // find owners by last name
-        Collection<Owner> results = this.owners.findByLastName(owner.getLastName());
+        Collection<OwnerSummary> results = this.summaries.findByLastName(owner.getLastName());
         if (results.isEmpty()) {
             // no owners found
             result.rejectValue("lastName", "notFound", "not found");
             return "owners/findOwners";
         } else if (results.size() == 1) {
             // 1 owner found
-            owner = results.iterator().next();
-            return "redirect:/owners/" + owner.getId();
+            return "redirect:/owners/" + results.iterator().next().getId();
         } else {
             // multiple owners found
             model.put("selections", results);
@@ -107,12 +123,14 @@ class OwnerController {
     }
 
     @PostMapping("/owners/{ownerId}/edit")
+    @Transactional
     public String processUpdateOwnerForm(@Valid Owner owner, BindingResult result, @PathVariable("ownerId") int ownerId) {
         if (result.hasErrors()) {
             return VIEWS_OWNER_CREATE_OR_UPDATE_FORM;
         } else {
             owner.setId(ownerId);
             this.owners.save(owner);
+            this.summaries.refresh(ownerId);
             return "redirect:/owners/{ownerId}";
         }
     }
@@ -121,12 +139,21 @@ class OwnerController {
      * Custom handler for displaying an owner.
      *
      * @param ownerId the ID of the owner to display
+     * @param history <code>full</code> to also show the archived visits and appointments of the pets
      * @return a ModelMap with the model attributes for the view
      */
     @GetMapping("/owners/{ownerId}")
-    public ModelAndView showOwner(@PathVariable("ownerId") int ownerId) {
+    public ModelAndView showOwner(@PathVariable("ownerId") int ownerId,
+                                  @RequestParam(name = "history", required = false) String history) {
         ModelAndView mav = new ModelAndView("owners/ownerDetails");
-        mav.addObject(this.owners.findById(ownerId));
+        Owner owner = this.ownerReads.findById(ownerId);
+        mav.addObject(owner);
+        this.accessLog.ifAvailable(log -> log.record(ownerId));
+        if ("full".equals(history)) {
+            List<Integer> petIds = owner.getPets().stream().map(Pet::getId).collect(Collectors.toList());
+            mav.addObject("archivedVisits", this.history.findVisits(petIds));
+            mav.addObject("archivedAppointments", this.history.findAppointments(petIds));
+        }
         return mav;
     }
 
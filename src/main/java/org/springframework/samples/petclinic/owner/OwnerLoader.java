@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.samples.petclinic.system.LoaderStats;
+import org.springframework.samples.petclinic.system.RequestLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped lookup of {@link Owner}s with their pets. Each owner is queried at most once per request, and since
+ * the pets come along with their owner, later lookups of those pets through the {@link PetLoader} need no query.
+ */
+@Component
+@RequestScope
+public class OwnerLoader {
+
+    private final RequestLoader<Integer, Owner> owners;
+
+    private final PetLoader pets;
+
+    public OwnerLoader(OwnerRepository owners, PetLoader pets) {
+        this.owners = new RequestLoader<>(owners::findById, LoaderStats.current());
+        this.pets = pets;
+    }
+
+    public Owner load(int ownerId) {
+        return primePets(this.owners.load(ownerId));
+    }
+
+    private Owner primePets(Owner owner) {
+        if (owner != null) {
+            owner.getPetsInternal().forEach(this.pets::prime);
+        }
+        return owner;
+    }
+
+}
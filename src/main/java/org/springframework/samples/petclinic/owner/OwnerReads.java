@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.samples.petclinic.system.SingleFlight;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only owner lookups for pages that only display the owner. Concurrent requests for the same owner share a
+ * single database load, so the returned owner must not be modified. The owners are cached until
+ * {@link OwnerSummaries} refreshes them.
+ */
+@Component
+public class OwnerReads implements MeterBinder {
+
+    private final OwnerRepository owners;
+
+    private final SingleFlight<Integer, Owner> flight = new SingleFlight<>("owners");
+
+    public OwnerReads(OwnerRepository owners) {
+        this.owners = owners;
+    }
+
+    @Cacheable(cacheNames = "owners", unless = "#result == null")
+    public Owner findById(int id) {
+        return this.flight.load(id, () -> this.owners.findById(id));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.flight.bindTo(registry);
+    }
+
+}
@@ -16,7 +16,9 @@
 package org.springframework.samples.petclinic.owner;
 
 import java.util.Collection;
+import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.query.Param;
@@ -53,6 +55,35 @@ public interface OwnerRepository extends Repository<Owner, Integer> {
     @Transactional(readOnly = true)
     Owner findById(@Param("id") Integer id);
 
+    /**
+     * Retrieve a page of {@link Owner}s whose last name <i>starts</i> with the given name, ordered by id and
+     * starting after the given id. The pets are not fetched.
+     * @param lastName Value to search for
+     * @param after the id of the last owner of the previous page (0 for the first page)
+     * @param pageable the page size
+     * @return a List of matching {@link Owner}s (or an empty List if none found)
+     */
+    @Query("SELECT owner FROM Owner owner WHERE owner.lastName LIKE :lastName% AND owner.id > :after ORDER BY owner.id")
+    @Transactional(readOnly = true)
+    List<Owner> findPageByLastName(@Param("lastName") String lastName, @Param("after") int after, Pageable pageable);
+
+    /**
+     * Retrieve the {@link Owner}s with the given ids, with a single query. The pets are not fetched.
+     * @param ids the ids to search for
+     * @return the {@link Owner}s found, in no particular order
+     */
+    @Query("SELECT owner FROM Owner owner WHERE owner.id IN :ids")
+    @Transactional(readOnly = true)
+    List<Owner> findByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Check whether an {@link Owner} with the given id exists, without loading it.
+     * @param id the id to search for
+     * @return true if the {@link Owner} exists
+     */
+    @Transactional(readOnly = true)
+    boolean existsById(Integer id);
+
     /**
      * Save an {@link Owner} to the data store, either inserting or updating it.
      * @param owner the {@link Owner} to save
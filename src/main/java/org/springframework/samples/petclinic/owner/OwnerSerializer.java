@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.system.CacheSerializer;
+import org.springframework.samples.petclinic.visit.Visit;
+
+/**
+ * Serializes an {@link Owner} of the <code>owners</code> cache with what the owner page shows: its pets with their
+ * types, visits and appointments.
+ */
+public class OwnerSerializer extends CacheSerializer<Owner> {
+
+    public OwnerSerializer() {
+        super(1);
+    }
+
+    @Override
+    protected void write(Owner owner, DataOutput out) throws IOException {
+        writeInteger(out, owner.getId());
+        writeString(out, owner.getFirstName());
+        writeString(out, owner.getLastName());
+        writeString(out, owner.getAddress());
+        writeString(out, owner.getCity());
+        writeString(out, owner.getTelephone());
+        List<Pet> pets = owner.getPets();
+        out.writeInt(pets.size());
+        for (Pet pet : pets) {
+            writeInteger(out, pet.getId());
+            writeString(out, pet.getName());
+            writeDate(out, pet.getBirthDate());
+            out.writeBoolean(pet.getType() != null);
+            if (pet.getType() != null) {
+                writeInteger(out, pet.getType().getId());
+                writeString(out, pet.getType().getName());
+            }
+            List<Visit> visits = pet.getVisits();
+            out.writeInt(visits.size());
+            for (Visit visit : visits) {
+                writeInteger(out, visit.getId());
+                writeDate(out, visit.getDate());
+                writeString(out, visit.getDescription());
+            }
+            List<Appointment> appointments = pet.getAppointments();
+            out.writeInt(appointments.size());
+            for (Appointment appointment : appointments) {
+                writeInteger(out, appointment.getId());
+                writeDate(out, appointment.getDate());
+                writeString(out, appointment.getTimeslot());
+                writeString(out, appointment.getVet());
+                writeString(out, appointment.getDescription());
+            }
+        }
+    }
+
+    @Override
+    protected Owner read(DataInput in) throws IOException {
+        Owner owner = new Owner();
+        owner.setId(readInteger(in));
+        owner.setFirstName(readString(in));
+        owner.setLastName(readString(in));
+        owner.setAddress(readString(in));
+        owner.setCity(readString(in));
+        owner.setTelephone(readString(in));
+        Map<Integer, PetType> types = new HashMap<>();
+        for (int pets = in.readInt(); pets > 0; pets--) {
+            Pet pet = new Pet();
+            pet.setId(readInteger(in));
+            pet.setName(readString(in));
+            pet.setBirthDate(readDate(in));
+            if (in.readBoolean()) {
+                Integer id = readInteger(in);
+                String name = readString(in);
+                pet.setType(types.computeIfAbsent(id, key -> {
+                    PetType type = new PetType();
+                    type.setId(id);
+                    type.setName(name);
+                    return type;
+                }));
+            }
+            for (int visits = in.readInt(); visits > 0; visits--) {
+                Visit visit = new Visit();
+                visit.setId(readInteger(in));
+                visit.setDate(readDate(in));
+                visit.setDescription(readString(in));
+                pet.addVisit(visit);
+            }
+            for (int appointments = in.readInt(); appointments > 0; appointments--) {
+                Appointment appointment = new Appointment();
+                appointment.setId(readInteger(in));
+                appointment.setDate(readDate(in));
+                appointment.setTimeslot(readString(in));
+                appointment.setVet(readString(in));
+                appointment.setDescription(readString(in));
+                pet.addAppointment(appointment);
+            }
+            // the pets of the owner page are not new, which addPet would ignore
+            owner.getPetsInternal().add(pet);
+            pet.setOwner(owner);
+        }
+        return owner;
+    }
+
+}
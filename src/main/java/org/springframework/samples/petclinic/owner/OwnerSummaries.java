@@ -0,0 +1,273 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the <code>owner_summary</code> table, the read model behind the owner list. Every code path changing an
+ * owner, or the pets, visits or appointments of an owner, refreshes the summary of that owner in the same transaction;
+ * {@link #rebuild()} recomputes all of them, to repair any drift such as rows written by the bulk import. Refreshing
+ * the summary of an owner also evicts the owner from the <code>owners</code> cache, once the transaction commits; the
+ * rebuild only evicts the owners whose summary changed, so that it neither empties the cache nor floods the cache
+ * events of the other nodes.
+ */
+@Component
+public class OwnerSummaries {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerSummaries.class);
+
+    private static final int PET_NAMES_LENGTH = 1000;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactions;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public OwnerSummaries(NamedParameterJdbcTemplate jdbc, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager, ObjectProvider<CacheManager> cacheManager) {
+        this.jdbc = jdbc;
+        this.entityManager = entityManager;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Retrieve the summaries of the owners whose last name <i>starts</i> with the given name.
+     */
+    public List<OwnerSummary> findByLastName(String lastName) {
+        return this.jdbc.query("SELECT owner_id, first_name, last_name, address, city, telephone, pet_count, "
+            + "pet_names, last_visit, next_appointment FROM owner_summary WHERE last_name LIKE :lastName "
+            + "ORDER BY owner_id", Collections.singletonMap("lastName", lastName + "%"),
+            (resultSet, row) -> new OwnerSummary(resultSet.getInt("owner_id"), resultSet.getString("first_name"),
+                resultSet.getString("last_name"), resultSet.getString("address"), resultSet.getString("city"),
+                resultSet.getString("telephone"), resultSet.getInt("pet_count"), resultSet.getString("pet_names"),
+                toLocalDate(resultSet.getDate("last_visit")), toLocalDate(resultSet.getDate("next_appointment"))));
+    }
+
+    /**
+     * Recompute the summary of the given owner, joining the current transaction if there is one.
+     */
+    public void refresh(int ownerId) {
+        refresh(Collections.singletonList(ownerId));
+    }
+
+    /**
+     * Recompute the summary of the owner of the given pet, joining the current transaction if there is one.
+     */
+    public void refreshByPet(int petId) {
+        this.transactions.execute(status -> {
+            this.entityManager.flush();
+            List<Integer> ownerIds = this.jdbc.queryForList("SELECT owner_id FROM pets WHERE id = :id",
+                Collections.singletonMap("id", petId), Integer.class);
+            refresh(ownerIds);
+            return null;
+        });
+    }
+
+    /**
+     * Recompute the summaries of the given owners, joining the current transaction if there is one. Pending changes
+     * of the JPA entities are flushed first, so that they are taken into account.
+     */
+    public void refresh(Collection<Integer> ownerIds) {
+        refresh(ownerIds, false);
+    }
+
+    /**
+     * Recompute the summaries of the given owners, evicting all of them from the cache or only those whose summary
+     * changed.
+     */
+    private void refresh(Collection<Integer> ownerIds, boolean changedOnly) {
+        if (ownerIds.isEmpty()) {
+            return;
+        }
+        this.transactions.execute(status -> {
+            this.entityManager.flush();
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ownerIds);
+            Map<Integer, List<String>> petNames = new HashMap<>();
+            Map<Integer, Integer> petOwners = new HashMap<>();
+            this.jdbc.query("SELECT id, owner_id, name FROM pets WHERE owner_id IN (:ids) ORDER BY name", params,
+                resultSet -> {
+                    int ownerId = resultSet.getInt("owner_id");
+                    petOwners.put(resultSet.getInt("id"), ownerId);
+                    petNames.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(resultSet.getString("name"));
+                });
+            // The visits and appointments are looked up by pet, through their pet_id index, and grouped by owner here:
+            // filtering the appointments on their date as well would let HSQLDB scan them by date instead
+            Map<Integer, LocalDate> lastVisits = new HashMap<>();
+            Map<Integer, LocalDate> nextAppointments = new HashMap<>();
+            if (!petOwners.isEmpty()) {
+                params.addValue("petIds", petOwners.keySet());
+                dates("SELECT pet_id, MAX(visit_date) FROM visits WHERE pet_id IN (:petIds) GROUP BY pet_id", params,
+                    petOwners, lastVisits, LocalDate.MIN, true);
+                dates("SELECT pet_id, MAX(visit_date) FROM visits_archive WHERE pet_id IN (:petIds) GROUP BY pet_id",
+                    params, petOwners, lastVisits, LocalDate.MIN, true);
+                dates("SELECT pet_id, appointment_date FROM appointments WHERE pet_id IN (:petIds)", params,
+                    petOwners, nextAppointments, LocalDate.now(), false);
+            }
+
+            List<MapSqlParameterSource> rows = this.jdbc.query("SELECT id, first_name, last_name, address, city, "
+                + "telephone FROM owners WHERE id IN (:ids)", params, (resultSet, row) -> {
+                    int ownerId = resultSet.getInt("id");
+                    List<String> names = petNames.getOrDefault(ownerId, Collections.emptyList());
+                    return new MapSqlParameterSource("ownerId", ownerId)
+                        .addValue("firstName", resultSet.getString("first_name"))
+                        .addValue("lastName", resultSet.getString("last_name"))
+                        .addValue("address", resultSet.getString("address"))
+                        .addValue("city", resultSet.getString("city"))
+                        .addValue("telephone", resultSet.getString("telephone"))
+                        .addValue("petCount", names.size())
+                        .addValue("petNames", truncate(String.join(", ", names)))
+                        .addValue("lastVisit", toDate(lastVisits.get(ownerId)))
+                        .addValue("nextAppointment", toDate(nextAppointments.get(ownerId)));
+                });
+            Collection<Integer> evicted = changedOnly ? changed(params, rows) : ownerIds;
+            this.jdbc.update("DELETE FROM owner_summary WHERE owner_id IN (:ids)", params);
+            this.jdbc.batchUpdate("INSERT INTO owner_summary (owner_id, first_name, last_name, address, city, "
+                + "telephone, pet_count, pet_names, last_visit, next_appointment) VALUES (:ownerId, :firstName, "
+                + ":lastName, :address, :city, :telephone, :petCount, :petNames, :lastVisit, :nextAppointment)",
+                rows.toArray(new MapSqlParameterSource[0]));
+            evict(evicted);
+            return null;
+        });
+    }
+
+    /**
+     * Recompute the summaries of all owners, a batch of owners per transaction, and drop those of owners that no
+     * longer exist.
+     *
+     * @return the number of owners summarized
+     */
+    public int rebuild() {
+        long started = System.nanoTime();
+        int owners = 0;
+        int after = 0;
+        while (true) {
+            List<Integer> ids = this.jdbc.queryForList("SELECT id FROM owners WHERE id > :after ORDER BY id LIMIT "
+                + REBUILD_BATCH_SIZE, Collections.singletonMap("after", after), Integer.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            refresh(ids, true);
+            owners += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        this.jdbc.update("DELETE FROM owner_summary WHERE owner_id NOT IN (SELECT id FROM owners)",
+            Collections.emptyMap());
+        logger.info("Rebuilt the summaries of {} owners in {} ms", owners,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return owners;
+    }
+
+    /**
+     * Whether no summary has been computed yet, as in a freshly created database.
+     */
+    public boolean isEmpty() {
+        return this.jdbc.queryForList("SELECT owner_id FROM owner_summary LIMIT 1", Collections.emptyMap(),
+            Integer.class).isEmpty();
+    }
+
+    /**
+     * Return the owners whose recomputed summary differs from the stored one, or has none.
+     */
+    private List<Integer> changed(MapSqlParameterSource params, List<MapSqlParameterSource> rows) {
+        Map<Integer, Map<String, Object>> stored = new HashMap<>();
+        this.jdbc.query("SELECT owner_id, first_name, last_name, address, city, telephone, pet_count, pet_names, "
+            + "last_visit, next_appointment FROM owner_summary WHERE owner_id IN (:ids)", params, resultSet -> {
+                int ownerId = resultSet.getInt("owner_id");
+                stored.put(ownerId, new MapSqlParameterSource("ownerId", ownerId)
+                    .addValue("firstName", resultSet.getString("first_name"))
+                    .addValue("lastName", resultSet.getString("last_name"))
+                    .addValue("address", resultSet.getString("address"))
+                    .addValue("city", resultSet.getString("city"))
+                    .addValue("telephone", resultSet.getString("telephone"))
+                    .addValue("petCount", resultSet.getInt("pet_count"))
+                    .addValue("petNames", resultSet.getString("pet_names"))
+                    .addValue("lastVisit", resultSet.getDate("last_visit"))
+                    .addValue("nextAppointment", resultSet.getDate("next_appointment")).getValues());
+            });
+        List<Integer> changed = new ArrayList<>();
+        for (MapSqlParameterSource row : rows) {
+            Integer ownerId = (Integer) row.getValue("ownerId");
+            if (!row.getValues().equals(stored.get(ownerId))) {
+                changed.add(ownerId);
+            }
+        }
+        return changed;
+    }
+
+    private void evict(Collection<Integer> ownerIds) {
+        CacheManager cacheManager = this.cacheManager.getIfAvailable();
+        Cache owners = cacheManager != null ? cacheManager.getCache("owners") : null;
+        if (owners != null) {
+            ownerIds.forEach(owners::evict);
+        }
+    }
+
+    /**
+     * Fold the dates per pet returned by the given query, from the given day on, into the latest or earliest date
+     * per owner.
+     */
+    private void dates(String sql, MapSqlParameterSource params, Map<Integer, Integer> petOwners,
+                       Map<Integer, LocalDate> dates, LocalDate from, boolean latest) {
+        this.jdbc.query(sql, params, resultSet -> {
+            Date date = resultSet.getDate(2);
+            if (date != null && !date.toLocalDate().isBefore(from)) {
+                dates.merge(petOwners.get(resultSet.getInt(1)), date.toLocalDate(),
+                    (a, b) -> a.isAfter(b) == latest ? a : b);
+            }
+        });
+    }
+
+    private static String truncate(String petNames) {
+        return petNames.length() > PET_NAMES_LENGTH ? petNames.substring(0, PET_NAMES_LENGTH) : petNames;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+
+}
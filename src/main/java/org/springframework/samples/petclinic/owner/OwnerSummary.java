@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * Denormalized, read-only view of an {@link Owner} as shown in the owner list, maintained by {@link OwnerSummaries}
+ * so that listing owners does not touch their pets, visits and appointments.
+ */
+public class OwnerSummary {
+
+    private final Integer id;
+
+    private final String firstName;
+
+    private final String lastName;
+
+    private final String address;
+
+    private final String city;
+
+    private final String telephone;
+
+    private final int petCount;
+
+    private final String petNames;
+
+    private final LocalDate lastVisit;
+
+    private final LocalDate nextAppointment;
+
+    public OwnerSummary(Integer id, String firstName, String lastName, String address, String city, String telephone,
+                        int petCount, String petNames, LocalDate lastVisit, LocalDate nextAppointment) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.address = address;
+        this.city = city;
+        this.telephone = telephone;
+        this.petCount = petCount;
+        this.petNames = petNames;
+        this.lastVisit = lastVisit;
+        this.nextAppointment = nextAppointment;
+    }
+
+    public Integer getId() {
+        return this.id;
+    }
+
+    public String getFirstName() {
+        return this.firstName;
+    }
+
+    public String getLastName() {
+        return this.lastName;
+    }
+
+    public String getAddress() {
+        return this.address;
+    }
+
+    public String getCity() {
+        return this.city;
+    }
+
+    public String getTelephone() {
+        return this.telephone;
+    }
+
+    public int getPetCount() {
+        return this.petCount;
+    }
+
+    /**
+     * Names of the pets, in alphabetical order and separated by commas.
+     */
+    public String getPetNames() {
+        return this.petNames;
+    }
+
+    /**
+     * Date of the most recent visit of any of the pets, archived visits included.
+     */
+    public LocalDate getLastVisit() {
+        return this.lastVisit;
+    }
+
+    /**
+     * Date of the first appointment of any of the pets from the day the summary was last updated on.
+     */
+    public LocalDate getNextAppointment() {
+        return this.nextAppointment;
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Builds the owner summaries at startup when there are none yet, and rebuilds them every night (or on
+ * <code>petclinic.owner-summary.rebuild-cron</code>) to repair any drift.
+ */
+@Configuration
+@EnableScheduling
+class OwnerSummaryConfiguration {
+
+    private final OwnerSummaries summaries;
+
+    OwnerSummaryConfiguration(OwnerSummaries summaries) {
+        this.summaries = summaries;
+    }
+
+    @Bean
+    public ApplicationRunner ownerSummaryRunner() {
+        return args -> {
+            if (this.summaries.isEmpty()) {
+                this.summaries.rebuild();
+            }
+        };
+    }
+
+    @Scheduled(cron = "${petclinic.owner-summary.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        this.summaries.rebuild();
+    }
+
+}
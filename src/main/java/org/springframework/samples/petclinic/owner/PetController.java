@@ -16,6 +16,7 @@
 package org.springframework.samples.petclinic.owner;
 
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.ModelMap;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
@@ -36,11 +37,15 @@ class PetController {
 
     private static final String VIEWS_PETS_CREATE_OR_UPDATE_FORM = "pets/createOrUpdatePetForm";
     private final PetRepository pets;
-    private final OwnerRepository owners;
+    private final OwnerLoader owners;
+    private final PetLoader petLoader;
+    private final OwnerSummaries summaries;
 
-    public PetController(PetRepository pets, OwnerRepository owners) {
+    public PetController(PetRepository pets, OwnerLoader owners, PetLoader petLoader, OwnerSummaries summaries) {
         this.pets = pets;
         this.owners = owners;
+        this.petLoader = petLoader;
+        this.summaries = summaries;
     }
 
     @ModelAttribute("types")
@@ -50,7 +55,7 @@ class PetController {
 
     @ModelAttribute("owner")
     public Owner findOwner(@PathVariable("ownerId") int ownerId) {
-        return this.owners.findById(ownerId);
+        return this.owners.load(ownerId);
     }
 
     @InitBinder("owner")
@@ -72,6 +77,7 @@ class PetController {
     }
 
     @PostMapping("/pets/new")
+    @Transactional
     public String processCreationForm(Owner owner, @Valid Pet pet, BindingResult result, ModelMap model) {
         if (StringUtils.hasLength(pet.getName()) && pet.isNew() && owner.getPet(pet.getName(), true) != null){
             result.rejectValue("name", "duplicate", "already exists");
@@ -82,18 +88,20 @@ class PetController {
             return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
         } else {
             this.pets.save(pet);
+            this.summaries.refresh(owner.getId());
             return "redirect:/owners/{ownerId}";
         }
     }
 
     @GetMapping("/pets/{petId}/edit")
     public String initUpdateForm(@PathVariable("petId") int petId, ModelMap model) {
-        Pet pet = this.pets.findById(petId);
+        Pet pet = this.petLoader.load(petId);
         model.put("pet", pet);
         return VIEWS_PETS_CREATE_OR_UPDATE_FORM;
     }
 
     @PostMapping("/pets/{petId}/edit")
+    @Transactional
     public String processUpdateForm(@Valid Pet pet, BindingResult result, Owner owner, ModelMap model) {
         if (result.hasErrors()) {
             pet.setOwner(owner);
@@ -102,6 +110,7 @@ class PetController {
         } else {
             owner.addPet(pet);
             this.pets.save(pet);
+            this.summaries.refresh(owner.getId());
             return "redirect:/owners/{ownerId}";
         }
     }
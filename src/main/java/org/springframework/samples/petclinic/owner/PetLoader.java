@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import org.springframework.samples.petclinic.system.LoaderStats;
+import org.springframework.samples.petclinic.system.RequestLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped lookup of {@link Pet}s: each pet is queried at most once per request.
+ */
+@Component
+@RequestScope
+public class PetLoader {
+
+    private final RequestLoader<Integer, Pet> pets;
+
+    public PetLoader(PetRepository pets) {
+        this.pets = new RequestLoader<>(pets::findById, LoaderStats.current());
+    }
+
+    public Pet load(int petId) {
+        return this.pets.load(petId);
+    }
+
+    public void prime(Pet pet) {
+        if (!pet.isNew()) {
+            this.pets.prime(pet.getId(), pet);
+        }
+    }
+
+}
@@ -15,10 +15,14 @@
  */
 package org.springframework.samples.petclinic.owner;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -38,6 +42,7 @@ public interface PetRepository extends Repository<Pet, Integer> {
      */
     @Query("SELECT ptype FROM PetType ptype ORDER BY ptype.name")
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = "petTypes", key = "'all'")
     List<PetType> findPetTypes();
 
     /**
@@ -48,6 +53,47 @@ public interface PetRepository extends Repository<Pet, Integer> {
     @Transactional(readOnly = true)
     Pet findById(Integer id);
 
+    /**
+     * Retrieve a page of {@link PetSummary}s for the given owner, ordered by id and starting after the given id.
+     * Being a projection, this does not load the visits or appointments of the pets.
+     * @param ownerId the id of the owner
+     * @param after the id of the last pet of the previous page (0 for the first page)
+     * @param pageable the page size
+     * @return a List of {@link PetSummary}s (or an empty List if none found)
+     */
+    @Query("SELECT NEW org.springframework.samples.petclinic.owner.PetSummary(pet.id, pet.name, pet.birthDate, pet.type.name, pet.owner.id) "
+            + "FROM Pet pet WHERE pet.owner.id = :ownerId AND pet.id > :after ORDER BY pet.id")
+    @Transactional(readOnly = true)
+    List<PetSummary> findSummariesByOwnerId(@Param("ownerId") int ownerId, @Param("after") int after, Pageable pageable);
+
+    /**
+     * Retrieve the {@link PetSummary}s of all the given owners.
+     * @param ownerIds the ids of the owners
+     * @return a List of {@link PetSummary}s ordered by name
+     */
+    @Query("SELECT NEW org.springframework.samples.petclinic.owner.PetSummary(pet.id, pet.name, pet.birthDate, pet.type.name, pet.owner.id) "
+            + "FROM Pet pet WHERE pet.owner.id IN :ownerIds ORDER BY pet.name")
+    @Transactional(readOnly = true)
+    List<PetSummary> findSummariesByOwnerIdIn(@Param("ownerIds") Collection<Integer> ownerIds);
+
+    /**
+     * Retrieve the {@link PetSummary}s of the pets with the given ids, with a single query.
+     * @param ids the ids to search for
+     * @return the {@link PetSummary}s found, in no particular order
+     */
+    @Query("SELECT NEW org.springframework.samples.petclinic.owner.PetSummary(pet.id, pet.name, pet.birthDate, pet.type.name, pet.owner.id) "
+            + "FROM Pet pet WHERE pet.id IN :ids")
+    @Transactional(readOnly = true)
+    List<PetSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Check whether a {@link Pet} with the given id exists, without loading it.
+     * @param id the id to search for
+     * @return true if the {@link Pet} exists
+     */
+    @Transactional(readOnly = true)
+    boolean existsById(Integer id);
+
     /**
      * Save a {@link Pet} to the data store, either inserting or updating it.
      * @param pet the {@link Pet} to save
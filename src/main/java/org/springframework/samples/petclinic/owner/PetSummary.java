@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a {@link Pet}. Unlike the entity, loading it never pulls in the visits and appointments
+ * of the pet.
+ */
+public class PetSummary {
+
+    private final Integer id;
+
+    private final String name;
+
+    private final LocalDate birthDate;
+
+    private final String type;
+
+    private final Integer ownerId;
+
+    public PetSummary(Integer id, String name, LocalDate birthDate, String type, Integer ownerId) {
+        this.id = id;
+        this.name = name;
+        this.birthDate = birthDate;
+        this.type = type;
+        this.ownerId = ownerId;
+    }
+
+    public Integer getId() {
+        return this.id;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public LocalDate getBirthDate() {
+        return this.birthDate;
+    }
+
+    public String getType() {
+        return this.type;
+    }
+
+    public Integer getOwnerId() {
+        return this.ownerId;
+    }
+
+}
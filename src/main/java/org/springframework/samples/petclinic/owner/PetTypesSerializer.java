@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.owner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.samples.petclinic.system.CacheSerializer;
+
+/**
+ * Serializes the list of {@link PetType}s of the <code>petTypes</code> cache.
+ */
+public class PetTypesSerializer extends CacheSerializer<List<PetType>> {
+
+    public PetTypesSerializer() {
+        super(1);
+    }
+
+    @Override
+    protected void write(List<PetType> types, DataOutput out) throws IOException {
+        out.writeInt(types.size());
+        for (PetType type : types) {
+            writeInteger(out, type.getId());
+            writeString(out, type.getName());
+        }
+    }
+
+    @Override
+    protected List<PetType> read(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<PetType> types = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            PetType type = new PetType();
+            type.setId(readInteger(in));
+            type.setName(readString(in));
+            types.add(type);
+        }
+        return types;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.profile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A low-overhead flight recording of the last <code>petclinic.profile.continuous.max-age</code>, kept by the JVM in
+ * its repository on disk and dumped to <code>petclinic.profile.continuous.directory</code> when a request is slower than
+ * the latency threshold, at most once every <code>min-interval</code>.
+ */
+class ContinuousRecording implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'petclinic-'yyyyMMdd-HHmmss'.jfr'");
+
+    private final ProfileProperties.Continuous properties;
+
+    private final Recording recording;
+
+    private final ThreadPoolExecutor dumps = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1), runnable -> {
+            Thread thread = new Thread(runnable, "flight-recording-dump");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private long lastDump;
+
+    ContinuousRecording(ProfileProperties.Continuous properties) throws IOException, ParseException {
+        this.properties = properties;
+        this.recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        this.recording.setName("petclinic-continuous");
+        this.recording.setToDisk(true);
+        this.recording.setMaxAge(properties.getMaxAge());
+        this.recording.start();
+        this.lastDump = System.nanoTime() - properties.getMinInterval().toNanos();
+    }
+
+    /**
+     * Dump the recording in the background if the request took longer than the threshold.
+     */
+    void requestCompleted(String request, long nanos) {
+        if (nanos >= this.properties.getLatencyThreshold().toNanos() && acquireDump()) {
+            this.dumps.execute(() -> dump(request, nanos));
+        }
+    }
+
+    private synchronized boolean acquireDump() {
+        long now = System.nanoTime();
+        if (now - this.lastDump < this.properties.getMinInterval().toNanos()) {
+            return false;
+        }
+        this.lastDump = now;
+        return true;
+    }
+
+    /**
+     * Dump the recording kept so far, returning the file or {@code null} when it failed.
+     */
+    Path dump(String request, long nanos) {
+        try {
+            Path directory = Files.createDirectories(Paths.get(this.properties.getDirectory()));
+            Path file = directory.resolve(LocalDateTime.now().format(FILE_NAME));
+            this.recording.dump(file);
+            logger.info("Dumped the flight recording to {} after {}ms for {}", file,
+                TimeUnit.NANOSECONDS.toMillis(nanos), request);
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Failed to dump the flight recording", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        this.dumps.shutdownNow();
+        this.recording.close();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.profile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Hands the time of every request to the {@link ContinuousRecording}.
+ */
+class LatencyTrigger implements HandlerInterceptor {
+
+    private static final String START = LatencyTrigger.class.getName() + ".START";
+
+    private final ContinuousRecording recording;
+
+    LatencyTrigger(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object start = request.getAttribute(START);
+        if (start != null) {
+            this.recording.requestCompleted(request.getMethod() + " " + request.getRequestURI(),
+                System.nanoTime() - (Long) start);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.profile;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Flight recordings on demand with the {@link ProfileEndpoint}, and the {@link ContinuousRecording} dumped after slow
+ * requests when <code>petclinic.profile.continuous.enabled</code> is set. Both need a JVM with the
+ * <code>jdk.jfr</code> API, i.e. Java 11 or a Java 8 update from 262 onwards.
+ */
+@Configuration
+@ConditionalOnClass(name = "jdk.jfr.Recording")
+@EnableConfigurationProperties(ProfileProperties.class)
+class ProfileConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<ContinuousRecording> continuousRecording;
+
+    ProfileConfiguration(ObjectProvider<ContinuousRecording> continuousRecording) {
+        this.continuousRecording = continuousRecording;
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public ProfileEndpoint profileEndpoint(ProfileProperties properties) {
+        return new ProfileEndpoint(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty("petclinic.profile.continuous.enabled")
+    public ContinuousRecording continuousRecording(ProfileProperties properties) throws IOException, ParseException {
+        return new ContinuousRecording(properties.getContinuous());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        ContinuousRecording recording = this.continuousRecording.getIfAvailable();
+        if (recording != null) {
+            registry.addInterceptor(new LatencyTrigger(recording));
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.profile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * The <code>profile</code> actuator endpoint, under <code>/manage/profile</code>: records the application with Java
+ * Flight Recorder for <code>seconds</code> (at most <code>petclinic.profile.max-duration</code>) with the
+ * <code>default</code> or <code>profile</code> JFR <code>settings</code>, then sends the <code>.jfr</code> file, to open
+ * in Java Mission Control. One recording runs at a time, the other requests get a 429.
+ */
+@WebEndpoint(id = "profile")
+class ProfileEndpoint {
+
+    private final ProfileProperties properties;
+
+    private final Lock lock = new ReentrantLock();
+
+    ProfileEndpoint(ProfileProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> profile(@Nullable Integer seconds, @Nullable String settings)
+            throws IOException, InterruptedException {
+        Duration duration = seconds != null ? Duration.ofSeconds(seconds) : this.properties.getDuration();
+        if (duration.isNegative() || duration.isZero()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (duration.compareTo(this.properties.getMaxDuration()) > 0) {
+            duration = this.properties.getMaxDuration();
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "profile");
+        } catch (IOException | ParseException ex) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!this.lock.tryLock()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            return new WebEndpointResponse<>(new TemporaryFileResource(record(configuration, duration)));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static Path record(Configuration configuration, Duration duration)
+            throws IOException, InterruptedException {
+        Path file = Files.createTempFile("petclinic-", ".jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.setName("petclinic-profile");
+            recording.start();
+            Thread.sleep(duration.toMillis());
+            recording.stop();
+            recording.dump(file);
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return file;
+    }
+
+    /**
+     * A recording deleted once sent.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file.toFile());
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            File file = getFile();
+            return new FilterInputStream(new FileInputStream(file)) {
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    Files.deleteIfExists(file.toPath());
+                }
+
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // so that the file is sent through the input stream above rather than copied from the file system
+            return false;
+        }
+
+    }
+
+}
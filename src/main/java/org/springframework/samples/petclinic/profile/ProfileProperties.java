@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.profile;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Flight recording settings, configured under <code>petclinic.profile</code>.
+ */
+@ConfigurationProperties("petclinic.profile")
+public class ProfileProperties {
+
+    /**
+     * Length of a recording of the <code>profile</code> endpoint when the request does not give one.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Longest recording of the <code>profile</code> endpoint, which holds the request until it is done.
+     */
+    private Duration maxDuration = Duration.ofMinutes(5);
+
+    private final Continuous continuous = new Continuous();
+
+    public Duration getDuration() {
+        return this.duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getMaxDuration() {
+        return this.maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public Continuous getContinuous() {
+        return this.continuous;
+    }
+
+    public static class Continuous {
+
+        /**
+         * Whether to keep a low-overhead recording of the last minutes, dumped after a slow request.
+         */
+        private boolean enabled;
+
+        /**
+         * JFR settings of the continuous recording, <code>default</code> or <code>profile</code>.
+         */
+        private String settings = "default";
+
+        /**
+         * Length of the recording kept.
+         */
+        private Duration maxAge = Duration.ofMinutes(10);
+
+        /**
+         * Request time above which the recording is dumped.
+         */
+        private Duration latencyThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Shortest time between two dumps, so that a slow period leaves one recording rather than one per request.
+         */
+        private Duration minInterval = Duration.ofMinutes(5);
+
+        /**
+         * Directory of the dumped recordings.
+         */
+        private String directory = "profiles";
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getSettings() {
+            return this.settings;
+        }
+
+        public void setSettings(String settings) {
+            this.settings = settings;
+        }
+
+        public Duration getMaxAge() {
+            return this.maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public Duration getLatencyThreshold() {
+            return this.latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public Duration getMinInterval() {
+            return this.minInterval;
+        }
+
+        public void setMinInterval(Duration minInterval) {
+            this.minInterval = minInterval;
+        }
+
+        public String getDirectory() {
+            return this.directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+    }
+
+}
@@ -1,36 +1,246 @@
 package org.springframework.samples.petclinic.system;
 
-import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
+import org.ehcache.impl.serialization.IntegerSerializer;
+import org.ehcache.impl.serialization.StringSerializer;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerSerializer;
+import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.owner.PetTypesSerializer;
+import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.VetsSerializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
 
-import javax.cache.configuration.MutableConfiguration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 
 /**
- * Cache configuration intended for caches providing the JCache API. This configuration creates the used cache for the
- * application and enables statistics that become accessible via JMX.
+ * Cache configuration intended for caches providing the JCache API. This configuration creates the used caches for the
+ * application, bounded to <code>petclinic.caches.sizes.*</code> entries on the heap, then to
+ * <code>petclinic.caches.off-heap.*</code> and <code>petclinic.caches.disk.*</code> megabytes, and enables statistics
+ * that become accessible via JMX, as <code>petclinic.cache.*</code> metrics and through the <code>cachestats</code>
+ * endpoint.
+ * <p>
+ * The entries of the off-heap and disk tiers are stored as bytes, written by the {@link CacheSerializer}s of their
+ * values. The disk tiers are kept across restarts in <code>petclinic.caches.directory</code>, if set: an entry that no
+ * longer reads, written by a build with another format, is evicted and loaded again. The caches are transaction aware:
+ * the evictions of a transaction happen once it commits.
+ * <p>
+ * Unless <code>petclinic.cache-events.enabled</code> is false, the evictions are also written to the
+ * <code>cache_events</code> table in the transaction of the change, and the evictions of the other nodes sharing the
+ * database are read from it every <code>petclinic.cache-events.poll-interval</code>, to keep their caches coherent
+ * without a message broker.
  */
 @Configuration
 @EnableCaching
-class CacheConfiguration {
+@EnableConfigurationProperties(CacheSizeProperties.class)
+class CacheConfiguration extends CachingConfigurerSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfiguration.class);
+
+    /**
+     * The directory of the disk tiers if they are not persistent, deleted once the cache manager is closed.
+     */
+    private File temporaryDirectory;
+
+    /**
+     * The cache manager, named after the application, so that each application context has its own.
+     */
+    @Bean
+    public CacheManager jCacheCacheManager(CacheSizeProperties properties,
+            @Value("${spring.application.name:petclinic}") String name) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching
+            .getCachingProvider(EhcacheCachingProvider.class.getName());
+        boolean persistent = StringUtils.hasText(properties.getDirectory());
+        File directory = persistent ? new File(properties.getDirectory()) : temporaryDirectory();
+        CacheManager cm = provider.getCacheManager(URI.create(name), new DefaultConfiguration(
+            provider.getDefaultClassLoader(), new CacheManagerPersistenceConfiguration(directory)));
+        createCache(cm, "vets", String.class, vetsType(), new StringSerializer(), new VetsSerializer(), properties,
+            persistent);
+        createCache(cm, "petTypes", String.class, petTypesType(), new StringSerializer(), new PetTypesSerializer(),
+            properties, persistent);
+        createCache(cm, "owners", Integer.class, Owner.class, new IntegerSerializer(), new OwnerSerializer(),
+            properties, persistent);
+        return cm;
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new SimpleCacheErrorHandler() {
+
+            @Override
+            public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+                if (!(exception instanceof SerializerException)) {
+                    throw exception;
+                }
+                logger.warn("Evicting the unreadable entry {} of the {} cache: {}", key, cache.getName(),
+                    exception.getCause() != null ? exception.getCause().getMessage() : exception.getMessage());
+                cache.evict(key);
+            }
+
+        };
+    }
 
     @Bean
-    public JCacheManagerCustomizer petclinicCacheConfigurationCustomizer() {
-        return cm -> {
-            cm.createCache("vets", cacheConfiguration());
+    public JCacheCacheManager cacheManager(CacheManager jCacheCacheManager, ObjectProvider<CacheEvents> events) {
+        CacheEvents publisher = events.getIfAvailable();
+        return new JCacheCacheManager(jCacheCacheManager) {
+
+            @Override
+            protected Cache decorateCache(Cache cache) {
+                return publisher != null ? new CacheEventPublishingCache(cache, publisher)
+                        : new TransactionAwareCacheDecorator(cache);
+            }
+
         };
     }
 
+    @Bean
+    public CacheMonitor cacheMonitor(CacheManager cacheManager) {
+        return new CacheMonitor(cacheManager);
+    }
+
+    @Bean
+    public CacheMetrics cacheMetrics(CacheMonitor monitor) {
+        return new CacheMetrics(monitor);
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public CacheStatsEndpoint cacheStatsEndpoint(CacheMonitor monitor, JCacheCacheManager cacheManager) {
+        return new CacheStatsEndpoint(monitor, cacheManager);
+    }
+
     /**
-     * Create a simple configuration that enable statistics via the JCache programmatic configuration API.
+     * Create a cache with statistics enabled, holding at most the given number of entries on the heap, followed by
+     * its off-heap and disk tiers, if any.
      * <p>
      * Within the configuration object that is provided by the JCache API standard, there is only a very limited set of
      * configuration options. The really relevant configuration options (like the size limit) must be set via a
-     * configuration mechanism that is provided by the selected JCache implementation.
+     * configuration mechanism that is provided by the selected JCache implementation, here Ehcache's.
      */
-    private javax.cache.configuration.Configuration<Object, Object> cacheConfiguration() {
-        return new MutableConfiguration<>().setStatisticsEnabled(true);
+    private static <K, V> void createCache(CacheManager cm, String name, Class<K> keyType, Class<V> valueType,
+            Serializer<K> keySerializer, Serializer<V> valueSerializer, CacheSizeProperties properties,
+            boolean persistent) {
+        ResourcePoolsBuilder pools = ResourcePoolsBuilder.newResourcePoolsBuilder()
+            .heap(properties.getSize(name), EntryUnit.ENTRIES);
+        if (properties.getOffHeap(name) > 0) {
+            pools = pools.offheap(properties.getOffHeap(name), MemoryUnit.MB);
+        }
+        if (properties.getDisk(name) > 0) {
+            pools = pools.disk(properties.getDisk(name), MemoryUnit.MB, persistent);
+        }
+        cm.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(keyType, valueType, pools).withKeySerializer(keySerializer)
+            .withValueSerializer(valueSerializer)));
+        cm.enableStatistics(name, true);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @EnableConfigurationProperties(CacheEventsProperties.class)
+    @ConditionalOnProperty(name = "petclinic.cache-events.enabled", matchIfMissing = true)
+    static class CacheEventsConfiguration {
+
+        private CacheEventPoller poller;
+
+        @Bean
+        public CacheEvents cacheEvents(JdbcTemplate jdbc) {
+            return new CacheEvents(jdbc);
+        }
+
+        /**
+         * The poller of the events of the other nodes, keeping the highest id read next to the disk tiers if they are
+         * persistent.
+         */
+        @Bean
+        public CacheEventPoller cacheEventPoller(NamedParameterJdbcTemplate jdbc, CacheManager cacheManager,
+                CacheEvents events, CacheEventsProperties properties, CacheSizeProperties sizes) {
+            Path mark = StringUtils.hasText(sizes.getDirectory())
+                    ? Paths.get(sizes.getDirectory(), "cache-events.mark") : null;
+            this.poller = new CacheEventPoller(jdbc, cacheManager, events.getNode(), properties, mark);
+            return this.poller;
+        }
+
+        @Scheduled(initialDelayString = "${petclinic.cache-events.poll-interval:PT1S}",
+            fixedDelayString = "${petclinic.cache-events.poll-interval:PT1S}")
+        public void poll() {
+            this.poller.poll();
+        }
+
+        @Scheduled(initialDelay = 3600000, fixedDelay = 3600000)
+        public void purge() {
+            this.poller.purge();
+        }
+
+    }
+
+    @PreDestroy
+    public void deleteTemporaryDirectory() {
+        if (this.temporaryDirectory != null) {
+            FileSystemUtils.deleteRecursively(this.temporaryDirectory);
+        }
+    }
+
+    private File temporaryDirectory() {
+        try {
+            this.temporaryDirectory = Files.createTempDirectory("petclinic-caches").toFile();
+            return this.temporaryDirectory;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Collection<Vet>> vetsType() {
+        return (Class<Collection<Vet>>) (Class<?>) Collection.class;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<List<PetType>> petTypesType() {
+        return (Class<List<PetType>>) (Class<?>) List.class;
     }
 
 }
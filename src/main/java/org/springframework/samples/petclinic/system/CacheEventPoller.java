@@ -0,0 +1,271 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.Configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Applies the {@link CacheEvents} of the other nodes to the caches of this node. Each poll reads the events after the
+ * highest id read so far, a batch at a time, and evicts their keys from each cache at once.
+ * <p>
+ * The ids are taken when the events are written but become visible when their transaction commits, so an id skipped
+ * by a poll may still show up: the skipped ids are read again on the next polls, until
+ * <code>petclinic.cache-events.gap-timeout</code>. With disk tiers kept across restarts, the highest id read is
+ * saved next to them, to apply the events written while the node was down; the caches are cleared if it is missing,
+ * or if the events after it may have been purged since.
+ */
+class CacheEventPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEventPoller.class);
+
+    /**
+     * The most ids expected between two events, beyond which a jump of the ids, such as after a restart of MySQL, is
+     * not worth tracking.
+     */
+    private static final int MAX_GAP = 1000;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    private final CacheManager cacheManager;
+
+    private final String node;
+
+    private final CacheEventsProperties properties;
+
+    private final Path markFile;
+
+    private long mark;
+
+    /**
+     * The skipped ids, with the time after which they are no longer expected.
+     */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    /**
+     * Create a poller for the caches of the given node, saving the highest id read to the given file if not
+     * {@code null}.
+     */
+    CacheEventPoller(NamedParameterJdbcTemplate jdbc, CacheManager cacheManager, String node,
+            CacheEventsProperties properties, Path markFile) {
+        this.jdbc = jdbc;
+        this.cacheManager = cacheManager;
+        this.node = node;
+        this.properties = properties;
+        this.markFile = markFile;
+        Long saved = readMark();
+        if (saved != null && isCurrent(saved)) {
+            this.mark = saved;
+        } else {
+            this.mark = this.jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_events",
+                Collections.emptyMap(), Long.class);
+            if (markFile != null) {
+                logger.info("Clearing the caches kept on disk, which may have missed the changes of the other nodes");
+                cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+            }
+        }
+    }
+
+    /**
+     * Apply the events of the other nodes written since the last poll.
+     *
+     * @return the number of events applied
+     */
+    synchronized int poll() {
+        int applied = 0;
+        if (!this.gaps.isEmpty()) {
+            long now = System.nanoTime();
+            this.gaps.values().removeIf(deadline -> deadline - now < 0);
+        }
+        if (!this.gaps.isEmpty()) {
+            List<Event> late = this.jdbc.query("SELECT id, node, cache_name, cache_key FROM cache_events "
+                + "WHERE id IN (:ids)", new MapSqlParameterSource("ids", new ArrayList<>(this.gaps.keySet())),
+                this::event);
+            late.forEach(event -> this.gaps.remove(event.id));
+            applied += apply(late);
+        }
+        long start = this.mark;
+        List<Event> events;
+        do {
+            events = this.jdbc.query("SELECT id, node, cache_name, cache_key FROM cache_events WHERE id > :mark "
+                + "ORDER BY id LIMIT " + this.properties.getBatchSize(), new MapSqlParameterSource("mark", this.mark),
+                this::event);
+            for (Event event : events) {
+                if (event.id - this.mark <= MAX_GAP) {
+                    long deadline = System.nanoTime() + this.properties.getGapTimeout().toNanos();
+                    for (long id = this.mark + 1; id < event.id; id++) {
+                        this.gaps.put(id, deadline);
+                    }
+                }
+                this.mark = event.id;
+            }
+            applied += apply(events);
+        } while (events.size() == this.properties.getBatchSize());
+        if (this.mark != start) {
+            writeMark();
+        }
+        return applied;
+    }
+
+    /**
+     * Delete the events older than <code>petclinic.cache-events.retention</code>.
+     */
+    int purge() {
+        return this.jdbc.update("DELETE FROM cache_events WHERE created < :before", new MapSqlParameterSource(
+            "before", new Timestamp(System.currentTimeMillis() - this.properties.getRetention().toMillis())));
+    }
+
+    private int apply(List<Event> events) {
+        Map<String, Set<Object>> keys = new LinkedHashMap<>();
+        Set<String> cleared = new HashSet<>();
+        int applied = 0;
+        for (Event event : events) {
+            if (this.node.equals(event.node)) {
+                continue;
+            }
+            Cache<Object, Object> cache = this.cacheManager.getCache(event.cache);
+            Object key = cache != null && event.key != null ? key(cache, event.key) : null;
+            if (cache == null) {
+                continue;
+            } else if (key == null) {
+                cleared.add(event.cache);
+            } else {
+                keys.computeIfAbsent(event.cache, name -> new HashSet<>()).add(key);
+            }
+            applied++;
+        }
+        cleared.forEach(name -> this.cacheManager.getCache(name).clear());
+        keys.forEach((name, evicted) -> {
+            if (!cleared.contains(name)) {
+                this.cacheManager.getCache(name).removeAll(evicted);
+            }
+        });
+        if (applied > 0) {
+            logger.debug("Applied {} cache events of the other nodes, up to {}", applied, this.mark);
+        }
+        return applied;
+    }
+
+    /**
+     * Return the key of a cache written as a string, or {@code null} if the cache has keys of another type.
+     */
+    private static Object key(Cache<Object, Object> cache, String key) {
+        // a class literal cannot name the type arguments of the configuration
+        @SuppressWarnings("unchecked")
+        Configuration<Object, Object> configuration = cache.getConfiguration(Configuration.class);
+        Class<?> type = configuration.getKeyType();
+        try {
+            if (type == Integer.class) {
+                return Integer.valueOf(key);
+            }
+            if (type == Long.class) {
+                return Long.valueOf(key);
+            }
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        return type == String.class ? key : null;
+    }
+
+    private Event event(ResultSet resultSet, int row) throws SQLException {
+        return new Event(resultSet.getLong("id"), resultSet.getString("node"), resultSet.getString("cache_name"),
+            resultSet.getString("cache_key"));
+    }
+
+    private Long readMark() {
+        if (this.markFile == null || !Files.isRegularFile(this.markFile)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Files.readAllBytes(this.markFile), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException ex) {
+            logger.warn("Ignoring the cache event mark {}: {}", this.markFile, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Return whether the events after a saved mark are all still there: the first event kept follows the mark, or,
+     * with no event kept, the mark was saved within the retention of the events.
+     */
+    private boolean isCurrent(long saved) {
+        Map<String, Object> ids = this.jdbc.queryForMap(
+            "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM cache_events", Collections.emptyMap());
+        Number first = (Number) ids.get("first_id");
+        if (first == null) {
+            try {
+                long age = System.currentTimeMillis() - Files.getLastModifiedTime(this.markFile).toMillis();
+                return age < this.properties.getRetention().toMillis();
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+        // a mark beyond the last event was saved before the ids were reset
+        return first.longValue() <= saved + 1 && ((Number) ids.get("last_id")).longValue() >= saved;
+    }
+
+    private void writeMark() {
+        if (this.markFile == null) {
+            return;
+        }
+        try {
+            Files.write(this.markFile, Long.toString(this.mark).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            logger.warn("Could not save the cache event mark {}: {}", this.markFile, ex.getMessage());
+        }
+    }
+
+    private static class Event {
+
+        private final long id;
+
+        private final String node;
+
+        private final String cache;
+
+        private final String key;
+
+        Event(long id, String node, String cache, String key) {
+            this.id = id;
+            this.node = node;
+            this.cache = cache;
+            this.key = key;
+        }
+
+    }
+
+}
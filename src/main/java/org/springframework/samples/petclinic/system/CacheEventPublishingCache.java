@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+/**
+ * A transaction aware cache that also writes its evictions to the {@link CacheEvents}: the event is written at once,
+ * in the transaction of the change, while the entry is evicted from this node once the transaction commits.
+ */
+class CacheEventPublishingCache extends TransactionAwareCacheDecorator {
+
+    private final CacheEvents events;
+
+    CacheEventPublishingCache(Cache target, CacheEvents events) {
+        super(target);
+        this.events = events;
+    }
+
+    @Override
+    public void evict(Object key) {
+        this.events.evicted(getName(), key);
+        super.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        this.events.cleared(getName());
+        super.clear();
+    }
+
+}
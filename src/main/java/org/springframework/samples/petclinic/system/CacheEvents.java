@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Writes the evictions of the caches of this node to the <code>cache_events</code> table, joining the transaction of
+ * the change if there is one, for the {@link CacheEventPoller}s of the other nodes. An event names the cache and the
+ * evicted key, or no key when the whole cache is cleared, as for keys that do not fit a short string.
+ */
+class CacheEvents {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final JdbcTemplate jdbc;
+
+    private final String node = UUID.randomUUID().toString();
+
+    CacheEvents(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Return the id of this node, written with its events.
+     */
+    String getNode() {
+        return this.node;
+    }
+
+    void evicted(String cache, Object key) {
+        this.jdbc.update("INSERT INTO cache_events (node, cache_name, cache_key, created) VALUES (?, ?, ?, ?)",
+            this.node, cache, key(key), new Timestamp(System.currentTimeMillis()));
+    }
+
+    void cleared(String cache) {
+        evicted(cache, null);
+    }
+
+    private static String key(Object key) {
+        if (key instanceof Integer || key instanceof Long
+                || key instanceof String && ((String) key).length() <= MAX_KEY_LENGTH) {
+            return key.toString();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the cache events shared by the nodes of the application, configured under
+ * <code>petclinic.cache-events</code>.
+ */
+@ConfigurationProperties("petclinic.cache-events")
+public class CacheEventsProperties {
+
+    /**
+     * Whether to write the evictions of the caches to the <code>cache_events</code> table, and apply those of the
+     * other nodes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time between two reads of the events of the other nodes, the longest a node serves an evicted entry.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of events read and applied at once.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Time after which an id skipped by the events read is no longer expected, when the transaction that took it
+     * rolled back rather than committed late.
+     */
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Age after which the events are deleted.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPollInterval() {
+        return this.pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getGapTimeout() {
+        return this.gapTimeout;
+    }
+
+    public void setGapTimeout(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public Duration getRetention() {
+        return this.retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import javax.cache.management.CacheStatisticsMXBean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the {@link CacheStatistics} of every cache of the {@link CacheMonitor}, tagged with the name of the cache: the
+ * counters <code>petclinic.cache.hits</code>, <code>misses</code>, <code>puts</code>, <code>evictions</code> and
+ * <code>removals</code>, the timer <code>petclinic.cache.gets</code> from the average get time, and the gauges
+ * <code>petclinic.cache.entries</code>, <code>size</code> (the maximum entries on the heap), <code>heap</code>,
+ * <code>offheap</code> and <code>disk</code>.
+ */
+class CacheMetrics implements MeterBinder {
+
+    private final CacheMonitor monitor;
+
+    CacheMetrics(CacheMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String name : this.monitor.getNames()) {
+            CacheStatisticsMXBean statistics = this.monitor.getStatistics(name);
+            if (statistics != null) {
+                // the monitor keeps the MBean proxies, which the meters only reference weakly
+                counter(registry, "hits", name, statistics, CacheStatisticsMXBean::getCacheHits);
+                counter(registry, "misses", name, statistics, CacheStatisticsMXBean::getCacheMisses);
+                counter(registry, "puts", name, statistics, CacheStatisticsMXBean::getCachePuts);
+                counter(registry, "evictions", name, statistics, CacheStatisticsMXBean::getCacheEvictions);
+                counter(registry, "removals", name, statistics, CacheStatisticsMXBean::getCacheRemovals);
+                FunctionTimer.builder("petclinic.cache.gets", statistics, CacheStatisticsMXBean::getCacheGets,
+                        s -> s.getAverageGetTime() * s.getCacheGets(), TimeUnit.MICROSECONDS)
+                    .tag("cache", name).register(registry);
+            }
+            gauge(registry, "entries", null, name, monitor -> monitor.getEntries(name));
+            gauge(registry, "size", null, name, monitor -> monitor.getMaxEntries(name));
+            gauge(registry, "heap", "bytes", name, monitor -> monitor.getHeapBytes(name));
+            gauge(registry, "offheap", "bytes", name, monitor -> monitor.getOffHeapBytes(name));
+            gauge(registry, "disk", "bytes", name, monitor -> monitor.getDiskBytes(name));
+        }
+    }
+
+    private static void counter(MeterRegistry registry, String counter, String cache, CacheStatisticsMXBean statistics,
+            ToDoubleFunction<CacheStatisticsMXBean> count) {
+        FunctionCounter.builder("petclinic.cache." + counter, statistics, count).tag("cache", cache).register(registry);
+    }
+
+    private void gauge(MeterRegistry registry, String gauge, String baseUnit, String cache,
+            ToDoubleFunction<CacheMonitor> value) {
+        Gauge.builder("petclinic.cache." + gauge, this.monitor, value).baseUnit(baseUnit).tag("cache", cache)
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.sizeof.SizeOf;
+import org.terracotta.context.ContextManager;
+import org.terracotta.context.TreeNode;
+import org.terracotta.statistics.ValueStatistic;
+
+import static org.terracotta.context.query.Matchers.attributes;
+import static org.terracotta.context.query.Matchers.context;
+import static org.terracotta.context.query.Matchers.hasAttribute;
+import static org.terracotta.context.query.QueryBuilder.queryBuilder;
+
+/**
+ * Reads the {@link CacheStatistics} of the caches of the JCache cache manager: the counters of their
+ * <code>CacheStatistics</code> MBeans, which the cache manager registers for the caches with statistics enabled, and
+ * the number of entries and the occupied memory of their Ehcache tiers.
+ * <p>
+ * Reading the entries themselves would count as hits, so the heap size of those on the heap is extrapolated from the
+ * deep size of the entries put in the cache, one in {@value #SAMPLE_RATE}, measured by a cache entry listener after the
+ * put.
+ */
+class CacheMonitor {
+
+    private static final int SAMPLE_RATE = 16;
+
+    private final CacheManager cacheManager;
+
+    private final Map<String, EntrySizes> entrySizes = new ConcurrentHashMap<>();
+
+    /**
+     * The MBean proxies of the caches, by name.
+     */
+    private final Map<String, CacheStatisticsMXBean> statistics = new ConcurrentHashMap<>();
+
+    CacheMonitor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        for (String name : cacheManager.getCacheNames()) {
+            EntrySizes sizes = new EntrySizes();
+            cacheManager.getCache(name).registerCacheEntryListener(
+                new MutableCacheEntryListenerConfiguration<>(FactoryBuilder.factoryOf(sizes), null, false, false));
+            this.entrySizes.put(name, sizes);
+        }
+    }
+
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        this.cacheManager.getCacheNames().forEach(names::add);
+        return names;
+    }
+
+    public List<CacheStatistics> getCaches() {
+        List<CacheStatistics> caches = new ArrayList<>();
+        for (String name : getNames()) {
+            caches.add(getCache(name));
+        }
+        return caches;
+    }
+
+    /**
+     * Return the statistics of a cache, or {@code null} if there is no such cache.
+     */
+    public CacheStatistics getCache(String name) {
+        Cache<?, ?> cache = this.cacheManager.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        CacheStatisticsMXBean statistics = getStatistics(name);
+        long heapEntries = getHeapEntries(name);
+        long heapBytes = heapBytes(name, heapEntries);
+        if (statistics == null) {
+            return new CacheStatistics(name, 0, 0, 0, 0, 0, 0, getEntries(name), heapEntries, heapBytes,
+                getMaxEntries(name), getOffHeapBytes(name), getDiskBytes(name));
+        }
+        return new CacheStatistics(name, statistics.getCacheHits(), statistics.getCacheMisses(),
+            statistics.getCachePuts(), statistics.getCacheEvictions(), statistics.getCacheRemovals(),
+            statistics.getAverageGetTime(), getEntries(name), heapEntries, heapBytes, getMaxEntries(name),
+            getOffHeapBytes(name), getDiskBytes(name));
+    }
+
+    /**
+     * Return the statistics MBean of a cache, or {@code null} if its statistics are not enabled.
+     */
+    CacheStatisticsMXBean getStatistics(String name) {
+        return this.statistics.computeIfAbsent(name, this::lookupStatistics);
+    }
+
+    /**
+     * Return the number of entries of a cache: those of its last tier, which holds all of them.
+     */
+    long getEntries(String name) {
+        long entries = 0;
+        for (TreeNode node : tierStatistics(name, "mappings")) {
+            entries = Math.max(entries, value(node));
+        }
+        return entries;
+    }
+
+    /**
+     * Return the number of entries of the heap tier of a cache.
+     */
+    long getHeapEntries(String name) {
+        return tierValue(name, "mappings", "OnHeap");
+    }
+
+    /**
+     * Return the maximum number of entries on the heap, or -1 if the heap of the cache is not sized in entries.
+     */
+    long getMaxEntries(String name) {
+        SizedResourcePool heap = ehcache(name).getRuntimeConfiguration().getResourcePools()
+            .getPoolForResource(ResourceType.Core.HEAP);
+        return heap != null && heap.getUnit() == EntryUnit.ENTRIES ? heap.getSize() : -1;
+    }
+
+    /**
+     * Return the estimated heap size of the entries of a cache, or 0 until the first put is measured.
+     */
+    long getHeapBytes(String name) {
+        return heapBytes(name, getHeapEntries(name));
+    }
+
+    /**
+     * Return the bytes occupied by the entries of the off-heap tier of a cache, or 0 without one.
+     */
+    long getOffHeapBytes(String name) {
+        return tierValue(name, "occupiedMemory", "OffHeap");
+    }
+
+    /**
+     * Return the bytes occupied by the entries of the disk tier of a cache, or 0 without one.
+     */
+    long getDiskBytes(String name) {
+        return tierValue(name, "occupiedMemory", "Disk");
+    }
+
+    /**
+     * Change the maximum number of entries kept on the heap by a cache, evicting the extra entries if it shrinks. The
+     * entries evicted from the heap remain in the off-heap or disk tier, if any.
+     */
+    boolean resize(String name, long maxEntries) {
+        if (this.cacheManager.getCache(name) == null) {
+            return false;
+        }
+        ehcache(name).getRuntimeConfiguration().updateResourcePools(
+            ResourcePoolsBuilder.newResourcePoolsBuilder().heap(maxEntries, EntryUnit.ENTRIES).build());
+        return true;
+    }
+
+    private long heapBytes(String name, long entries) {
+        EntrySizes sizes = this.entrySizes.get(name);
+        return sizes != null ? sizes.averageBytes() * entries : 0;
+    }
+
+    private CacheStatisticsMXBean lookupStatistics(String cache) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            // Ehcache replaces the characters that are not allowed in an object name, such as those of its URI
+            ObjectName name = new ObjectName("javax.cache:type=CacheStatistics,CacheManager="
+                    + sanitize(this.cacheManager.getURI().toString()) + ",Cache=" + sanitize(cache));
+            return server.isRegistered(name) ? JMX.newMXBeanProxy(server, name, CacheStatisticsMXBean.class) : null;
+        } catch (MalformedObjectNameException ex) {
+            return null;
+        }
+    }
+
+    private long tierValue(String name, String statistic, String tier) {
+        for (TreeNode node : tierStatistics(name, statistic)) {
+            if (((Collection<?>) node.getContext().attributes().get("tags")).contains(tier)) {
+                return value(node);
+            }
+        }
+        return 0;
+    }
+
+    private static long value(TreeNode node) {
+        Object value = ((ValueStatistic<?>) node.getContext().attributes().get("this")).value();
+        return ((Number) value).longValue();
+    }
+
+    private Set<TreeNode> tierStatistics(String name, String statistic) {
+        return queryBuilder().descendants().filter(context(attributes(hasAttribute("name", statistic)))).build()
+            .execute(Collections.singleton(ContextManager.nodeFor(ehcache(name))));
+    }
+
+    private org.ehcache.Cache<?, ?> ehcache(String name) {
+        return this.cacheManager.getCache(name).unwrap(org.ehcache.Cache.class);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[,:=\n]", ".");
+    }
+
+    /**
+     * Measures the deep size of one in {@value #SAMPLE_RATE} entries put in a cache.
+     */
+    @SuppressWarnings("serial")
+    private static class EntrySizes implements CacheEntryCreatedListener<Object, Object>,
+            CacheEntryUpdatedListener<Object, Object>, Serializable {
+
+        private final transient SizeOf sizeOf = SizeOf.newInstance();
+
+        private final AtomicLong puts = new AtomicLong();
+
+        private final AtomicLong samples = new AtomicLong();
+
+        private final AtomicLong sampledBytes = new AtomicLong();
+
+        @Override
+        public void onCreated(Iterable<CacheEntryEvent<?, ?>> events) {
+            sample(events);
+        }
+
+        @Override
+        public void onUpdated(Iterable<CacheEntryEvent<?, ?>> events) {
+            sample(events);
+        }
+
+        long averageBytes() {
+            long samples = this.samples.get();
+            return samples > 0 ? this.sampledBytes.get() / samples : 0;
+        }
+
+        private void sample(Iterable<CacheEntryEvent<?, ?>> events) {
+            for (CacheEntryEvent<?, ?> event : events) {
+                if (this.puts.getAndIncrement() % SAMPLE_RATE == 0) {
+                    this.sampledBytes.addAndGet(this.sizeOf.deepSizeOf(event.getKey(), event.getValue()));
+                    this.samples.incrementAndGet();
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cache sizes, configured under <code>petclinic.caches</code>, e.g. <code>petclinic.caches.sizes.vets=50</code>: the
+ * entries kept on the heap by each cache, and the megabytes of its off-heap and disk tiers, if any.
+ */
+@ConfigurationProperties("petclinic.caches")
+public class CacheSizeProperties {
+
+    /**
+     * Maximum number of entries kept on the heap by each cache, by cache name.
+     */
+    private final Map<String, Long> sizes = new LinkedHashMap<>();
+
+    /**
+     * Maximum number of entries of the caches without a size.
+     */
+    private long defaultSize = 1000;
+
+    /**
+     * Megabytes of memory outside of the heap, out of reach of the garbage collector, by cache name.
+     */
+    private final Map<String, Long> offHeap = new LinkedHashMap<>();
+
+    /**
+     * Megabytes of disk, by cache name.
+     */
+    private final Map<String, Long> disk = new LinkedHashMap<>();
+
+    /**
+     * Directory of the disk tiers, kept across restarts. The disk tiers are dropped on shutdown if not set.
+     */
+    private String directory;
+
+    public Map<String, Long> getSizes() {
+        return this.sizes;
+    }
+
+    public long getDefaultSize() {
+        return this.defaultSize;
+    }
+
+    public void setDefaultSize(long defaultSize) {
+        this.defaultSize = defaultSize;
+    }
+
+    public Map<String, Long> getOffHeap() {
+        return this.offHeap;
+    }
+
+    public Map<String, Long> getDisk() {
+        return this.disk;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getSize(String cache) {
+        return this.sizes.getOrDefault(cache, this.defaultSize);
+    }
+
+    /**
+     * Return the megabytes of the off-heap tier of a cache, 0 for none.
+     */
+    public long getOffHeap(String cache) {
+        return this.offHeap.getOrDefault(cache, 0L);
+    }
+
+    /**
+     * Return the megabytes of the disk tier of a cache, 0 for none.
+     */
+    public long getDisk(String cache) {
+        return this.disk.getOrDefault(cache, 0L);
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+/**
+ * The statistics and the size of a cache, read by the {@link CacheMonitor}.
+ */
+public class CacheStatistics {
+
+    private final String name;
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long puts;
+
+    private final long evictions;
+
+    private final long removals;
+
+    private final float averageGetMicros;
+
+    private final long entries;
+
+    private final long heapEntries;
+
+    private final long heapBytes;
+
+    private final long maxEntries;
+
+    private final long offHeapBytes;
+
+    private final long diskBytes;
+
+    CacheStatistics(String name, long hits, long misses, long puts, long evictions, long removals,
+            float averageGetMicros, long entries, long heapEntries, long heapBytes, long maxEntries,
+            long offHeapBytes, long diskBytes) {
+        this.name = name;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.evictions = evictions;
+        this.removals = removals;
+        this.averageGetMicros = averageGetMicros;
+        this.entries = entries;
+        this.heapEntries = heapEntries;
+        this.heapBytes = heapBytes;
+        this.maxEntries = maxEntries;
+        this.offHeapBytes = offHeapBytes;
+        this.diskBytes = diskBytes;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Return the share of the gets that hit the cache, or {@code null} before the first get.
+     */
+    public Double getHitRatio() {
+        return this.hits + this.misses > 0 ? (double) this.hits / (this.hits + this.misses) : null;
+    }
+
+    public long getPuts() {
+        return this.puts;
+    }
+
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    public long getRemovals() {
+        return this.removals;
+    }
+
+    public float getAverageGetMicros() {
+        return this.averageGetMicros;
+    }
+
+    public long getEntries() {
+        return this.entries;
+    }
+
+    /**
+     * Return the number of entries on the heap, the others being only in the off-heap or disk tier.
+     */
+    public long getHeapEntries() {
+        return this.heapEntries;
+    }
+
+    /**
+     * Return the estimated heap size of the entries on the heap, from the average deep size of the entries put in the cache.
+     */
+    public long getHeapBytes() {
+        return this.heapBytes;
+    }
+
+    /**
+     * Return the maximum number of entries on the heap, or -1 if the cache is not sized in entries.
+     */
+    public long getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    /**
+     * Return the bytes occupied by the entries of the off-heap tier, 0 without one.
+     */
+    public long getOffHeapBytes() {
+        return this.offHeapBytes;
+    }
+
+    /**
+     * Return the bytes occupied by the entries of the disk tier, 0 without one.
+     */
+    public long getDiskBytes() {
+        return this.diskBytes;
+    }
+
+}
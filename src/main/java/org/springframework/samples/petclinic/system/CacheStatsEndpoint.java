@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * The <code>cachestats</code> actuator endpoint, under <code>/manage/cachestats</code>: the {@link CacheStatistics}
+ * of every cache, or of one with <code>/manage/cachestats/{name}</code>. A <code>DELETE</code> clears a cache, through
+ * the Spring cache manager so that the other nodes clear it too, and a <code>POST</code> with a <code>size</code>
+ * changes its maximum number of entries until the next restart, to tune <code>petclinic.caches.sizes</code> from the
+ * hit ratios. The page at <code>/manage/caches</code> drives it; the id of the endpoint leaves <code>caches</code> to
+ * the one of Spring Boot 2.1.
+ */
+@Endpoint(id = "cachestats")
+class CacheStatsEndpoint {
+
+    private final CacheMonitor monitor;
+
+    private final CacheManager cacheManager;
+
+    CacheStatsEndpoint(CacheMonitor monitor, CacheManager cacheManager) {
+        this.monitor = monitor;
+        this.cacheManager = cacheManager;
+    }
+
+    @ReadOperation
+    public List<CacheStatistics> caches() {
+        return this.monitor.getCaches();
+    }
+
+    @ReadOperation
+    public CacheStatistics cache(@Selector String name) {
+        return this.monitor.getCache(name);
+    }
+
+    @DeleteOperation
+    public void clear(@Selector String name) {
+        Cache cache = this.cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @WriteOperation
+    public CacheStatistics resize(@Selector String name, long size) {
+        if (size <= 0) {
+            throw new InvalidEndpointRequestException("The size of a cache must be positive: " + size, "Invalid size");
+        }
+        return this.monitor.resize(name, size) ? this.monitor.getCache(name) : null;
+    }
+
+}
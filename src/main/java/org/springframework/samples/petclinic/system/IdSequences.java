@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Access to the sequences of the entity ids (see {@link org.springframework.samples.petclinic.model.BaseEntity}),
+ * for code writing rows with JDBC. HSQLDB has real sequences, MySQL one row tables holding the next value.
+ */
+@Component
+public class IdSequences {
+
+    /**
+     * The number of ids Hibernate takes from a sequence at a time.
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbc;
+
+    private final TransactionTemplate transactions;
+
+    private volatile Boolean sequences;
+
+    public IdSequences(JdbcTemplate jdbc, PlatformTransactionManager transactionManager) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Take the next block of ids from the given sequence and return its first id. No id of the block, nor any lower
+     * id, will be handed out by the sequence afterwards.
+     */
+    public long next(String sequence) {
+        if (hasSequences()) {
+            return this.jdbc.queryForObject("CALL NEXT VALUE FOR " + sequence, Long.class);
+        }
+        return this.transactions.execute(status -> {
+            Long next = this.jdbc.queryForObject("SELECT next_val FROM " + sequence + " FOR UPDATE", Long.class);
+            this.jdbc.update("UPDATE " + sequence + " SET next_val = ?", next + ALLOCATION_SIZE);
+            return next;
+        });
+    }
+
+    /**
+     * Move the given sequence past the given id, typically the highest id inserted without it.
+     */
+    public void advance(String sequence, long id) {
+        if (hasSequences()) {
+            Long next = this.jdbc.queryForObject(
+                "SELECT next_value FROM information_schema.sequences WHERE sequence_name = ?", Long.class,
+                sequence.toUpperCase());
+            if (next <= id) {
+                this.jdbc.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (id + 1));
+            }
+        } else {
+            this.jdbc.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val <= ?", id + 1, id);
+        }
+    }
+
+    private boolean hasSequences() {
+        if (this.sequences == null) {
+            String database = this.jdbc.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            this.sequences = database != null && database.startsWith("HSQL");
+        }
+        return this.sequences;
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Per-request counters of the {@link RequestLoader}s: how many lookups were asked for, how many of them were served
+ * without a query because the same key had already been loaded, and how many queries were run.
+ */
+public class LoaderStats {
+
+    static final String ATTRIBUTE = LoaderStats.class.getName();
+
+    private int requested;
+
+    private int deduplicated;
+
+    private int queries;
+
+    /**
+     * Return the counters of the current request, or fresh counters outside of a request.
+     */
+    public static LoaderStats current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new LoaderStats();
+        }
+        LoaderStats stats = (LoaderStats) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (stats == null) {
+            stats = new LoaderStats();
+            attributes.setAttribute(ATTRIBUTE, stats, RequestAttributes.SCOPE_REQUEST);
+        }
+        return stats;
+    }
+
+    void requested() {
+        this.requested++;
+    }
+
+    void deduplicated() {
+        this.deduplicated++;
+    }
+
+    void queried() {
+        this.queries++;
+    }
+
+    public int getRequested() {
+        return this.requested;
+    }
+
+    public int getDeduplicated() {
+        return this.deduplicated;
+    }
+
+    public int getQueries() {
+        return this.queries;
+    }
+
+    @Override
+    public String toString() {
+        return "requested=" + this.requested + ", deduplicated=" + this.deduplicated + ", queries=" + this.queries;
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Exposes the {@link LoaderStats} of a request as the <code>X-Loader-Stats</code> response header (before the view is
+ * rendered, so that redirects carry it too) and logs them at debug level.
+ */
+class LoaderStatsInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Loader-Stats";
+
+    private static final Logger logger = LoggerFactory.getLogger(LoaderStatsInterceptor.class);
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        LoaderStats stats = (LoaderStats) request.getAttribute(LoaderStats.ATTRIBUTE);
+        if (stats != null) {
+            response.setHeader(HEADER, stats.toString());
+            logger.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+/**
+ * The masking of the sensitive values written to logs and capture files: digits become <code>0</code> and other
+ * letters <code>x</code>, keeping the length and the punctuation, so that a masked telephone still looks like one.
+ */
+public final class Masking {
+
+    private Masking() {
+    }
+
+    public static String mask(String value) {
+        StringBuilder masked = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            masked.append(Character.isDigit(c) ? '0' : Character.isLetter(c) ? 'x' : c);
+        }
+        return masked.toString();
+    }
+
+}
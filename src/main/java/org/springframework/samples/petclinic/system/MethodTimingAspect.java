@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.data.repository.Repository;
+import org.springframework.samples.petclinic.tracing.Span;
+import org.springframework.samples.petclinic.tracing.Tracer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times every request handler of the controllers as <code>petclinic.controller</code>, and every method of the Spring
+ * Data repositories as <code>petclinic.repository</code>, tagged with the class, the method and the outcome
+ * (<code>SUCCESS</code> or <code>ERROR</code>, with the exception).
+ * <p>
+ * The percentiles, histograms and SLO buckets of the timers are configured with the
+ * <code>management.metrics.distribution.*</code> properties. The repository method running on each thread is kept
+ * for the {@link SlowQueryLog}, and each method is a span of the request trace, if any.
+ */
+@Aspect
+@Component
+class MethodTimingAspect {
+
+    private static final ThreadLocal<String> repositoryMethod = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    MethodTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Pointcut("@annotation(org.springframework.web.bind.annotation.RequestMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.GetMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PostMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PutMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.PatchMapping)"
+            + " || @annotation(org.springframework.web.bind.annotation.DeleteMapping)")
+    void handlerMethod() {
+    }
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    void repositoryMethod() {
+    }
+
+    @Around("handlerMethod()")
+    public Object timeHandler(ProceedingJoinPoint pjp) throws Throwable {
+        return time("petclinic.controller", "controller", ClassUtils.getUserClass(pjp.getTarget()), pjp);
+    }
+
+    @Around("repositoryMethod()")
+    public Object timeRepository(ProceedingJoinPoint pjp) throws Throwable {
+        Class<?> type = repositoryInterface(pjp.getTarget().getClass());
+        String previous = repositoryMethod.get();
+        repositoryMethod.set(type.getSimpleName() + "." + pjp.getSignature().getName());
+        try {
+            return time("petclinic.repository", "repository", type, pjp);
+        } finally {
+            if (previous == null) {
+                repositoryMethod.remove();
+            } else {
+                repositoryMethod.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Return the repository method running on the current thread, e.g. <code>OwnerRepository.findById</code>, or
+     * {@code null}.
+     */
+    static String currentRepositoryMethod() {
+        return repositoryMethod.get();
+    }
+
+    private Object time(String name, String kind, Class<?> type, ProceedingJoinPoint pjp) throws Throwable {
+        Span span = Tracer.begin(kind, type.getSimpleName() + "." + pjp.getSignature().getName());
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return pjp.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            Tracer.end(span);
+            Timer.builder(name)
+                .tag("class", type.getSimpleName())
+                .tag("method", pjp.getSignature().getName())
+                .tag("outcome", "none".equals(exception) ? "SUCCESS" : "ERROR")
+                .tag("exception", exception)
+                .register(this.registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Return the repository interface implemented by a Spring Data proxy, e.g. <code>OwnerRepository</code> rather
+     * than the <code>CrudRepository</code> declaring <code>save</code>.
+     */
+    private static Class<?> repositoryInterface(Class<?> proxy) {
+        for (Class<?> type : proxy.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(type)) {
+                return type;
+            }
+        }
+        return proxy;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database work of the current thread between {@link #start()} and {@link #stop()}: how many JDBC statements were
+ * executed, how many rows were fetched, how many entities Hibernate loaded and how long was spent in JDBC calls.
+ * <p>
+ * Every handled request is measured, see {@link QueryStatsInterceptor}. Tests can pin the number of queries of some
+ * code with {@link #measure(Runnable)}.
+ */
+public class QueryStats {
+
+    private static final ThreadLocal<QueryStats> current = new ThreadLocal<>();
+
+    private int statements;
+
+    private long rows;
+
+    private int entities;
+
+    private long jdbcNanos;
+
+    /**
+     * Start measuring the current thread, with fresh counters.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        current.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop measuring the current thread.
+     */
+    public static void stop() {
+        current.remove();
+    }
+
+    /**
+     * Return the counters of the current thread, or {@code null} when it is not measured.
+     */
+    public static QueryStats current() {
+        return current.get();
+    }
+
+    /**
+     * Run the action and return its database work.
+     */
+    public static QueryStats measure(Runnable action) {
+        QueryStats previous = current.get();
+        QueryStats stats = start();
+        try {
+            action.run();
+            return stats;
+        } finally {
+            current.set(previous);
+        }
+    }
+
+    void executed(long nanos) {
+        this.statements++;
+        this.jdbcNanos += nanos;
+    }
+
+    void fetched(boolean row, long nanos) {
+        if (row) {
+            this.rows++;
+        }
+        this.jdbcNanos += nanos;
+    }
+
+    void loaded() {
+        this.entities++;
+    }
+
+    public int getStatements() {
+        return this.statements;
+    }
+
+    public long getRows() {
+        return this.rows;
+    }
+
+    public int getEntities() {
+        return this.entities;
+    }
+
+    public long getJdbcTime(TimeUnit unit) {
+        return unit.convert(this.jdbcNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "statements=" + this.statements + ", rows=" + this.rows + ", entities=" + this.entities + ", jdbc="
+                + TimeUnit.NANOSECONDS.toMicros(this.jdbcNanos) / 1000.0 + "ms";
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Serializable;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Collects the {@link QueryStats} of the requests: wraps the data source in a {@link QueryStatsDataSource}, counts the
+ * entities loaded by Hibernate and registers the {@link QueryStatsInterceptor}. The response header is enabled with
+ * <code>petclinic.query-stats.headers</code>, e.g. in development. The statements slower than
+ * <code>petclinic.slow-queries.threshold</code> go to the {@link SlowQueryLog}.
+ * <p>
+ * Tests that use a data source without the rest of the application, such as <code>@DataJpaTest</code>s, import this
+ * configuration to pin their numbers of queries.
+ */
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class QueryStatsConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    private final boolean headers;
+
+    QueryStatsConfiguration(ObjectProvider<MeterRegistry> registry,
+            @Value("${petclinic.query-stats.headers:false}") boolean headers) {
+        this.registry = registry;
+        this.headers = headers;
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueries) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof QueryStatsDataSource)) {
+                    return new QueryStatsDataSource((DataSource) bean, slowQueries.getIfAvailable());
+                }
+                return bean;
+            }
+
+        };
+    }
+
+    @Bean
+    public static SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties);
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    SlowQueriesEndpoint slowQueriesEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueriesEndpoint(slowQueryLog);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.interceptor", new EntityCounter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryStatsInterceptor(this.registry.getIfAvailable(), this.headers));
+    }
+
+    @SuppressWarnings("serial")
+    private static class EntityCounter extends EmptyInterceptor {
+
+        @Override
+        public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.loaded();
+            }
+            return false;
+        }
+
+    }
+
+}
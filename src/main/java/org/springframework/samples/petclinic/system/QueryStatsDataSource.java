@@ -0,0 +1,189 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.samples.petclinic.tracing.Span;
+import org.springframework.samples.petclinic.tracing.Tracer;
+
+/**
+ * Counts the statements, rows and JDBC time of the threads measured by {@link QueryStats}, by wrapping the
+ * connections, statements and result sets of the target data source in proxies, failed statements included. With a
+ * {@link SlowQueryLog}, the proxies also keep the SQL and the bound parameters of each statement, to record the slow
+ * ones. Each statement is a span of the request trace, if any.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource implements Closeable {
+
+    private final SlowQueryLog slowQueries;
+
+    public QueryStatsDataSource(DataSource target) {
+        this(target, null);
+    }
+
+    public QueryStatsDataSource(DataSource target, SlowQueryLog slowQueries) {
+        super(target);
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), null);
+    }
+
+    /**
+     * Close the target data source, which the container would otherwise not know about.
+     */
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable) {
+            ((Closeable) getTargetDataSource()).close();
+        }
+    }
+
+    private <T> T proxy(Class<T> type, T target, String sql) {
+        return type.cast(Proxy.newProxyInstance(QueryStatsDataSource.class.getClassLoader(), new Class<?>[] { type },
+            new Counting(target, sql)));
+    }
+
+    private class Counting implements InvocationHandler {
+
+        private final Object target;
+
+        private final String sql;
+
+        /**
+         * The parameters bound to a prepared statement by index, when slow queries are recorded.
+         */
+        private final SortedMap<Integer, Object> parameters;
+
+        Counting(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+            this.parameters = target instanceof PreparedStatement && slowQueries != null ? new TreeMap<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            QueryStats stats = QueryStats.current();
+            boolean execute = this.target instanceof Statement && method.getName().startsWith("execute");
+            Span span = execute ? Tracer.begin("jdbc", sql(args)) : null;
+            long start = System.nanoTime();
+            Throwable failure = null;
+            Object result;
+            try {
+                result = method.invoke(this.target, args);
+            } catch (InvocationTargetException ex) {
+                failure = ex.getTargetException();
+                throw failure;
+            } finally {
+                Tracer.end(span);
+                // the failed statements too, as timeouts and lock waits are the ones worth knowing about
+                if (execute) {
+                    executed(stats, args, System.nanoTime() - start, failure);
+                }
+            }
+            if (this.target instanceof ResultSet && method.getName().equals("next")) {
+                if (stats != null) {
+                    stats.fetched((Boolean) result, System.nanoTime() - start);
+                }
+            } else if (this.parameters != null) {
+                bind(method.getName(), args);
+            }
+            return wrap(method.getName(), args, result);
+        }
+
+        private void executed(QueryStats stats, Object[] args, long nanos, Throwable failure) {
+            if (stats != null) {
+                stats.executed(nanos);
+            }
+            if (slowQueries != null && slowQueries.isSlow(nanos)) {
+                slowQueries.record(getTargetDataSource(), sql(args), parameters(), nanos, failure);
+            }
+        }
+
+        private String sql(Object[] args) {
+            // a plain statement gets its SQL when executed, except for a batch
+            if (this.sql != null) {
+                return this.sql;
+            }
+            return args != null && args[0] instanceof String ? (String) args[0] : "(batch)";
+        }
+
+        private void bind(String name, Object[] args) {
+            if (name.equals("clearParameters")) {
+                this.parameters.clear();
+            } else if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                this.parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            }
+        }
+
+        private List<Object> parameters() {
+            if (this.parameters == null || this.parameters.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Object> values = new ArrayList<>(Collections.nCopies(this.parameters.lastKey(), null));
+            this.parameters.forEach((index, value) -> values.set(index - 1, value));
+            return values;
+        }
+
+        private Object wrap(String name, Object[] args, Object result) {
+            // the SQL of the statements prepared by a connection
+            String sql = name.startsWith("prepare") && args != null && args[0] instanceof String ? (String) args[0]
+                    : null;
+            // the most specific interface first, so that callers can cast to it
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, (CallableStatement) result, sql);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, (PreparedStatement) result, sql);
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, (Statement) result, sql);
+            }
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, (ResultSet) result, null);
+            }
+            return result;
+        }
+
+    }
+
+}
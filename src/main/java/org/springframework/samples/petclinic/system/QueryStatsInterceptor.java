@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Measures the {@link QueryStats} of each handled request. They are recorded as metrics tagged with the handler, e.g.
+ * <code>OwnerController.showOwner</code>, once the view is rendered, so that the lazy loads of the view count too.
+ * When enabled, the work of the handler alone is also exposed as the <code>X-Query-Stats</code> response header
+ * (before the view is rendered, so that redirects carry it too).
+ */
+class QueryStatsInterceptor implements HandlerInterceptor {
+
+    static final String HEADER = "X-Query-Stats";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsInterceptor.class);
+
+    private final MeterRegistry registry;
+
+    private final boolean header;
+
+    QueryStatsInterceptor(MeterRegistry registry, boolean header) {
+        this.registry = registry;
+        this.header = header;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            QueryStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+            ModelAndView modelAndView) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && this.header) {
+            response.setHeader(HEADER, stats.toString());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        QueryStats stats = QueryStats.current();
+        if (stats == null) {
+            return;
+        }
+        QueryStats.stop();
+        String name = name((HandlerMethod) handler);
+        logger.debug("{} {} ({}): {}", request.getMethod(), request.getRequestURI(), name, stats);
+        if (this.registry != null) {
+            DistributionSummary.builder("petclinic.request.statements").tag("handler", name)
+                .description("JDBC statements executed by a request").register(this.registry)
+                .record(stats.getStatements());
+            DistributionSummary.builder("petclinic.request.rows").tag("handler", name)
+                .description("Rows fetched by a request").register(this.registry).record(stats.getRows());
+            DistributionSummary.builder("petclinic.request.entities").tag("handler", name)
+                .description("Entities loaded by a request").register(this.registry).record(stats.getEntities());
+            Timer.builder("petclinic.request.jdbc").tag("handler", name)
+                .description("Time spent by a request in JDBC calls").register(this.registry)
+                .record(stats.getJdbcTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String name(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Read-your-writes consistency for {@link ReplicaRoutingDataSource}: once a request has written to the primary, its
+ * remaining reads go to the primary too, and so do the reads of the requests of the same client during the
+ * configured window (typically the page shown after a redirect), which is tracked with a cookie.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "PETCLINIC_PRIMARY_UNTIL";
+
+    private static final ThreadLocal<State> current = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Whether reads of the current request must go to the primary.
+     */
+    public static boolean isPinned() {
+        State state = current.get();
+        return state != null && state.pinned;
+    }
+
+    /**
+     * Record that the current request writes to the primary.
+     */
+    public static void written() {
+        State state = current.get();
+        if (state != null && !state.written) {
+            state.written = true;
+            state.pinned = true;
+            long until = System.currentTimeMillis() + state.window.toMillis();
+            Cookie cookie = new Cookie(COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, state.window.getSeconds()));
+            state.response.addCookie(cookie);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        State state = new State(this.window, response);
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie != null) {
+            try {
+                state.pinned = Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+            } catch (NumberFormatException ex) {
+                // ignore a cookie we did not write
+            }
+        }
+        current.set(state);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.remove();
+        }
+    }
+
+    private static class State {
+
+        private final Duration window;
+
+        private final HttpServletResponse response;
+
+        private boolean pinned;
+
+        private boolean written;
+
+        State(Duration window, HttpServletResponse response) {
+            this.window = window;
+            this.response = response;
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Splits reads and writes between the primary (<code>spring.datasource.*</code>) and the read replicas
+ * (<code>petclinic.datasource.replicas[n].*</code>) when at least one replica is configured.
+ */
+@Configuration
+@ConditionalOnProperty("petclinic.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+class ReplicaConfiguration {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, ReplicaProperties replicaProperties,
+            Environment environment) throws IOException {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Replica replica : replicaProperties.getReplicas()) {
+            DataSource dataSource = DataSourceBuilder.create()
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+            if (replicaProperties.isInitializeReplicas()) {
+                initialize(dataSource, properties);
+            }
+            replicas.add(dataSource);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getHealthCheckInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+            new ReadYourWritesFilter(replicaProperties.getReadYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 100);
+        return registration;
+    }
+
+    private void initialize(DataSource replica, DataSourceProperties properties) throws IOException {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        List<String> locations = new ArrayList<>();
+        if (properties.getSchema() != null) {
+            locations.addAll(properties.getSchema());
+        }
+        if (properties.getData() != null) {
+            locations.addAll(properties.getData());
+        }
+        for (String location : locations) {
+            populator.addScripts(resolver.getResources(location));
+        }
+        DatabasePopulatorUtils.execute(populator, replica);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read replicas, configured under <code>petclinic.datasource</code>.
+ */
+@ConfigurationProperties("petclinic.datasource")
+public class ReplicaProperties {
+
+    /**
+     * Replicas receiving the read-only transactions.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How often the replicas are checked.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    /**
+     * How long the reads of a client stay on the primary after it wrote.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Whether to run the schema and data scripts on the replicas, for local testing with in-memory databases.
+     */
+    private boolean initializeReplicas;
+
+    public List<Replica> getReplicas() {
+        return this.replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return this.healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return this.readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public boolean isInitializeReplicas() {
+        return this.initializeReplicas;
+    }
+
+    public void setInitializeReplicas(boolean initializeReplicas) {
+        this.initializeReplicas = initializeReplicas;
+    }
+
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        public String getUrl() {
+            return this.url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return this.username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return this.password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+    }
+
+}
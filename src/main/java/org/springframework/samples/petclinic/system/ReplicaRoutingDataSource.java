@@ -0,0 +1,230 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a pool of replicas and everything else to the primary.
+ * <p>
+ * Replicas are used round-robin. They are checked in the background with {@link Connection#isValid(int)}, a replica
+ * that fails a check or refuses a connection is skipped until it passes a check again, and reads fall back to the
+ * primary when no replica is healthy. Reads also go to the primary while {@link ReadYourWritesFilter} pins the
+ * request to it.
+ * <p>
+ * The transaction is only known to be read-only once it has started, so the connections handed out are lazy: the
+ * choice is made when the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+
+    private final DataSource lazy;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Duration healthCheckInterval;
+
+    private ScheduledExecutorService healthChecks;
+
+    /**
+     * @param primary the data source for writes
+     * @param replicas the data sources for read-only transactions
+     * @param healthCheckInterval how often the replicas are checked
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval) {
+        this.primary = primary;
+        for (DataSource replica : replicas) {
+            this.replicas.add(new Replica(this.replicas.size(), replica));
+        }
+        this.healthCheckInterval = healthCheckInterval;
+        this.lazy = new LazyConnectionDataSourceProxy(new Router());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkReplicas();
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = this.healthCheckInterval.toMillis();
+        this.healthChecks.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.lazy.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.lazy.getConnection(username, password);
+    }
+
+    /**
+     * Check every replica now, marking it up or down.
+     */
+    public void checkReplicas() {
+        for (Replica replica : this.replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.up();
+                } else {
+                    replica.down(null);
+                }
+            } catch (SQLException ex) {
+                replica.down(ex);
+            }
+        }
+    }
+
+    /**
+     * Return the number of replicas that passed their last check.
+     */
+    public int getHealthyReplicas() {
+        return (int) this.replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.healthChecks != null) {
+            this.healthChecks.shutdownNow();
+        }
+        close(this.primary);
+        for (Replica replica : this.replicas) {
+            close(replica.dataSource);
+        }
+    }
+
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesFilter.written();
+            }
+            return null;
+        }
+        if (ReadYourWritesFilter.isPinned()) {
+            return null;
+        }
+        int size = this.replicas.size();
+        int start = Math.floorMod(this.next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = this.replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable) {
+            ((Closeable) dataSource).close();
+        }
+    }
+
+    /**
+     * Hands out the physical connections.
+     */
+    private class Router extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Replica replica = route();
+            if (replica == null) {
+                return primary.getConnection();
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                replica.down(ex);
+                return primary.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Replica replica = route();
+            if (replica == null) {
+                return primary.getConnection(username, password);
+            }
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException ex) {
+                replica.down(ex);
+                return primary.getConnection(username, password);
+            }
+        }
+
+    }
+
+    private static class Replica {
+
+        private final int index;
+
+        private final DataSource dataSource;
+
+        private volatile boolean healthy = true;
+
+        Replica(int index, DataSource dataSource) {
+            this.index = index;
+            this.dataSource = dataSource;
+        }
+
+        void up() {
+            if (!this.healthy) {
+                logger.info("Replica {} is back up", this.index);
+            }
+            this.healthy = true;
+        }
+
+        void down(SQLException ex) {
+            if (this.healthy) {
+                logger.warn("Replica {} is down, reading from the primary instead", this.index, ex);
+            }
+            this.healthy = false;
+        }
+
+    }
+
+}
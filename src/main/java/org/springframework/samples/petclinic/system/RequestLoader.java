@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Request-scoped lookup of entities by key.
+ * <p>
+ * Every key is loaded at most once: later lookups of the same key, including keys that were not found, are served
+ * from memory.
+ * <p>
+ * Instances are meant to live as long as one request and are not thread-safe.
+ *
+ * @param <K> the key type
+ * @param <V> the entity type
+ */
+public class RequestLoader<K, V> {
+
+    private final Function<K, V> query;
+
+    private final LoaderStats stats;
+
+    private final Map<K, Optional<V>> loaded = new HashMap<>();
+
+    /**
+     * @param query the query for a single key
+     * @param stats the counters to update
+     */
+    public RequestLoader(Function<K, V> query, LoaderStats stats) {
+        this.query = query;
+        this.stats = stats;
+    }
+
+    /**
+     * Return the entity with the given key, or null if there is none.
+     */
+    public V load(K key) {
+        this.stats.requested();
+        Optional<V> value = this.loaded.get(key);
+        if (value != null) {
+            this.stats.deduplicated();
+            return value.orElse(null);
+        }
+        this.stats.queried();
+        value = Optional.ofNullable(this.query.apply(key));
+        this.loaded.put(key, value);
+        return value.orElse(null);
+    }
+
+    /**
+     * Make the given entity available under the given key without a query, typically because it was fetched as part
+     * of another entity.
+     */
+    public void prime(K key, V value) {
+        this.loaded.putIfAbsent(key, Optional.ofNullable(value));
+    }
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link ResourceUsageInterceptor} when the JVM measures the allocations and CPU time of each thread.
+ */
+@Configuration
+class ResourceUsageConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    ResourceUsageConfiguration(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        MeterRegistry meterRegistry = this.registry.getIfAvailable();
+        ThreadMXBean threads = ResourceUsageInterceptor.threadBean();
+        if (meterRegistry != null && threads != null) {
+            registry.addInterceptor(new ResourceUsageInterceptor(meterRegistry, threads));
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Measures the bytes allocated and the CPU time used by the thread of each handled request, from the handler to the
+ * rendered view, as the <code>petclinic.request.allocated</code> and <code>petclinic.request.cpu</code> metrics tagged
+ * with the handler, e.g. <code>OwnerController.showOwner</code>.
+ */
+class ResourceUsageInterceptor implements HandlerInterceptor {
+
+    private static final String START = ResourceUsageInterceptor.class.getName() + ".START";
+
+    private final MeterRegistry registry;
+
+    private final ThreadMXBean threads;
+
+    ResourceUsageInterceptor(MeterRegistry registry, ThreadMXBean threads) {
+        this.registry = registry;
+        this.threads = threads;
+    }
+
+    /**
+     * Return the thread bean of the JVM when it measures the allocated bytes and the CPU time of the current thread,
+     * as HotSpot does, or {@code null}.
+     */
+    static ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof ThreadMXBean && ((ThreadMXBean) threads).isThreadAllocatedMemoryEnabled()
+                && threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled()) {
+            return (ThreadMXBean) threads;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START, new long[] { allocatedBytes(), this.threads.getCurrentThreadCpuTime() });
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        long[] start = (long[]) request.getAttribute(START);
+        if (start == null) {
+            return;
+        }
+        long allocated = allocatedBytes() - start[0];
+        long cpu = this.threads.getCurrentThreadCpuTime() - start[1];
+        String name = QueryStatsInterceptor.name((HandlerMethod) handler);
+        DistributionSummary.builder("petclinic.request.allocated").tag("handler", name).baseUnit("bytes")
+            .description("Bytes allocated by the thread of a request").register(this.registry).record(allocated);
+        Timer.builder("petclinic.request.cpu").tag("handler", name)
+            .description("CPU time used by the thread of a request").register(this.registry)
+            .record(cpu, TimeUnit.NANOSECONDS);
+    }
+
+    private long allocatedBytes() {
+        return this.threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
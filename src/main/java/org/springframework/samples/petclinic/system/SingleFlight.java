@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load is in flight, other callers asking for the same key wait
+ * for it and share its result (or its exception) instead of starting their own.
+ * <p>
+ * Nothing is cached once the load completes, so a caller never sees a result older than the moment it made its call.
+ * Callers share the loaded object, which therefore must not be modified.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param name the value of the <code>name</code> tag of the metrics
+     */
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Return the value for the given key, running the loader unless a load of the same key is already in flight.
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = this.inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            this.coalesced.increment();
+            return await(running);
+        }
+        this.loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.inFlight.remove(key, call);
+        }
+    }
+
+    public long getLoads() {
+        return this.loads.sum();
+    }
+
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("petclinic.singleflight.loads", this.loads, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Loads that went to the database")
+            .register(registry);
+        FunctionCounter.builder("petclinic.singleflight.coalesced", this.coalesced, LongAdder::doubleValue)
+            .tag("name", this.name)
+            .description("Loads that shared the result of a load already in flight")
+            .register(registry);
+    }
+
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * The <code>slowqueries</code> actuator endpoint, under <code>/manage/slowqueries</code>: the latest slow queries with
+ * their plans. A <code>DELETE</code> clears them, e.g. before measuring a change.
+ */
+@Endpoint(id = "slowqueries")
+class SlowQueriesEndpoint {
+
+    private final SlowQueryLog log;
+
+    SlowQueriesEndpoint(SlowQueryLog log) {
+        this.log = log;
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return this.log.getQueries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        this.log.clear();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that ran longer than the slow-query threshold, with its redacted parameters, the repository method or
+ * class that ran it, the error it failed with, if any, and, once captured, its query plan.
+ */
+public class SlowQuery {
+
+    private final Instant time;
+
+    private final long millis;
+
+    private final String sql;
+
+    private final List<String> parameters;
+
+    private final String caller;
+
+    private final String error;
+
+    private volatile String plan;
+
+    SlowQuery(Instant time, long millis, String sql, List<String> parameters, String caller, String error) {
+        this.time = time;
+        this.millis = millis;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.caller = caller;
+        this.error = error;
+    }
+
+    public Instant getTime() {
+        return this.time;
+    }
+
+    public long getMillis() {
+        return this.millis;
+    }
+
+    public String getSql() {
+        return this.sql;
+    }
+
+    public List<String> getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * Return the repository method, e.g. <code>OwnerRepository.findByLastName</code>, or else the first application
+     * method on the stack, that ran the statement.
+     */
+    public String getCaller() {
+        return this.caller;
+    }
+
+    /**
+     * Return the exception the statement failed with and its message, or {@code null} if it succeeded.
+     */
+    public String getError() {
+        return this.error;
+    }
+
+    public boolean isFailed() {
+        return this.error != null;
+    }
+
+    /**
+     * Return the output of the database's <code>EXPLAIN</code>, or {@code null} when not captured (yet).
+     */
+    public String getPlan() {
+        return this.plan;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public String toString() {
+        return this.millis + "ms " + this.sql + " " + this.parameters + " from " + this.caller
+                + (this.error != null ? " failed with " + this.error : "");
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Logs the statements slower than <code>petclinic.slow-queries.threshold</code>, with their bound parameters redacted
+ * according to {@link SlowQueryProperties.Redaction}, the repository method that ran them and the error of the failed
+ * ones, such as timeouts and lock waits, and keeps the latest ones for the <code>slowqueries</code> endpoint.
+ * <p>
+ * The query plans of the slow <code>SELECT</code>s are captured in the background, on another connection, so that the
+ * slow request does not wait for them. When the database is too slow for the plans to keep up, some are dropped.
+ */
+public class SlowQueryLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final String APPLICATION_PACKAGE = "org.springframework.samples.petclinic.";
+
+    private final SlowQueryProperties properties;
+
+    private final Deque<SlowQuery> queries = new ArrayDeque<>();
+
+    private final ThreadPoolExecutor explains = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryLog(SlowQueryProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Return whether a statement that ran for the given time should be recorded.
+     */
+    boolean isSlow(long nanos) {
+        return this.properties.isEnabled() && nanos >= this.properties.getThreshold().toNanos();
+    }
+
+    /**
+     * Record a slow statement, with its parameters by index from 0 and the exception it failed with, if any, and
+     * explain it on the data source.
+     */
+    void record(DataSource dataSource, String sql, List<Object> parameters, long nanos, Throwable failure) {
+        SlowQuery query = new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(nanos), sql, redact(parameters),
+            caller(), failure != null ? failure.getClass().getSimpleName() + ": " + failure.getMessage() : null);
+        logger.warn("Slow query: {}", query);
+        synchronized (this.queries) {
+            while (this.queries.size() >= this.properties.getCapacity()) {
+                this.queries.removeLast();
+            }
+            this.queries.addFirst(query);
+        }
+        if (this.properties.isExplain() && isQuery(sql)) {
+            this.explains.execute(() -> query.setPlan(explain(dataSource, sql, parameters)));
+        }
+    }
+
+    /**
+     * Return the slow queries kept, the latest first.
+     */
+    public List<SlowQuery> getQueries() {
+        synchronized (this.queries) {
+            return new ArrayList<>(this.queries);
+        }
+    }
+
+    public void clear() {
+        synchronized (this.queries) {
+            this.queries.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.explains.shutdownNow();
+    }
+
+    private List<String> redact(List<Object> parameters) {
+        List<String> redacted = new ArrayList<>(parameters.size());
+        for (Object value : parameters) {
+            if (value == null) {
+                redacted.add("null");
+            } else if (this.properties.getRedaction() == SlowQueryProperties.Redaction.ALL) {
+                redacted.add(value.getClass().getSimpleName());
+            } else if (this.properties.getRedaction() == SlowQueryProperties.Redaction.MASK
+                    && value instanceof CharSequence) {
+                redacted.add(Masking.mask(value.toString()));
+            } else {
+                redacted.add(value.toString());
+            }
+        }
+        return redacted;
+    }
+
+    /**
+     * Return the repository method running on this thread, or else the first method of the application on the stack
+     * outside of the JDBC proxies, such as the <code>JdbcTemplate</code> callers.
+     */
+    private static String caller() {
+        String repositoryMethod = MethodTimingAspect.currentRepositoryMethod();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            String className = frame.getClassName();
+            if (className.startsWith(APPLICATION_PACKAGE) && !className.contains("$$")
+                    && !className.startsWith(QueryStatsDataSource.class.getName())
+                    && !className.equals(SlowQueryLog.class.getName())) {
+                return ClassUtils.getShortName(className) + "." + frame.getMethodName();
+            }
+        }
+        return "unknown";
+    }
+
+    private static boolean isQuery(String sql) {
+        String start = sql.trim().toLowerCase(Locale.ROOT);
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    /**
+     * Return the plan of the query, with the same parameters bound when the database takes them, as a line per row
+     * of the <code>EXPLAIN</code> output.
+     */
+    static String explain(DataSource dataSource, String sql, List<Object> parameters) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName();
+            String explain;
+            if (product.startsWith("HSQL")) {
+                explain = "EXPLAIN PLAN FOR ";
+            } else if (product.equals("MySQL") || product.equals("MariaDB")) {
+                explain = "EXPLAIN ";
+            } else {
+                return "No EXPLAIN on " + product;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(explain + sql)) {
+                // HSQLDB plans the statement with its placeholders, MySQL with the values
+                int count = Math.min(statement.getParameterMetaData().getParameterCount(), parameters.size());
+                for (int i = 0; i < count; i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet rows = statement.executeQuery()) {
+                    return format(rows);
+                }
+            }
+        } catch (SQLException ex) {
+            logger.debug("Failed to explain " + sql, ex);
+            return "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+
+    private static String format(ResultSet rows) throws SQLException {
+        ResultSetMetaData columns = rows.getMetaData();
+        StringBuilder plan = new StringBuilder();
+        while (rows.next()) {
+            if (columns.getColumnCount() == 1) {
+                plan.append(rows.getString(1));
+            } else {
+                for (int i = 1; i <= columns.getColumnCount(); i++) {
+                    plan.append(i > 1 ? ", " : "").append(columns.getColumnLabel(i)).append('=')
+                        .append(rows.getString(i));
+                }
+            }
+            plan.append('\n');
+        }
+        return plan.toString().trim();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Slow-query log settings, configured under <code>petclinic.slow-queries</code>.
+ */
+@ConfigurationProperties("petclinic.slow-queries")
+public class SlowQueryProperties {
+
+    /**
+     * How the bound parameters are shown in the log and the <code>slowqueries</code> endpoint.
+     */
+    public enum Redaction {
+
+        /**
+         * The values as bound.
+         */
+        NONE,
+
+        /**
+         * Numbers, dates and booleans as bound, strings with their digits replaced by 0 and their letters by x.
+         */
+        MASK,
+
+        /**
+         * Only the type of each value.
+         */
+        ALL
+
+    }
+
+    /**
+     * Whether to log the statements slower than the threshold.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Execution time above which a statement is logged.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Number of slow queries kept for the <code>slowqueries</code> endpoint, the oldest being dropped first.
+     */
+    private int capacity = 100;
+
+    /**
+     * How the bound parameters are shown: NONE as bound, MASK with the digits and letters of strings masked, or ALL
+     * as their type only. MASK by default.
+     */
+    private Redaction redaction = Redaction.MASK;
+
+    /**
+     * Whether to capture the query plan of the slow queries, on HSQLDB and MySQL.
+     */
+    private boolean explain = true;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return this.threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Redaction getRedaction() {
+        return this.redaction;
+    }
+
+    public void setRedaction(Redaction redaction) {
+        this.redaction = redaction;
+    }
+
+    public boolean isExplain() {
+        return this.explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
+}
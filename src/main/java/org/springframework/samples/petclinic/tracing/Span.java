@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+/**
+ * A timed part of a {@link Trace}: a controller or repository method, a JDBC statement or the rendering of a view,
+ * nested in the spans that were open when it began.
+ */
+public class Span {
+
+    private final String kind;
+
+    private final String name;
+
+    private final int depth;
+
+    private final long startNanos;
+
+    private long durationNanos = -1;
+
+    private String waterfall;
+
+    Span(String kind, String name, int depth, long startNanos) {
+        this.kind = kind;
+        this.name = name;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Return the kind of span: <code>controller</code>, <code>repository</code>, <code>jdbc</code> or
+     * <code>view</code>.
+     */
+    public String getKind() {
+        return this.kind;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Return the time from the start of the trace to the start of this span.
+     */
+    public double getOffsetMillis() {
+        return this.startNanos / 1e6;
+    }
+
+    /**
+     * Return the duration of the span, or -1 when it did not end before the trace.
+     */
+    public double getDurationMillis() {
+        return this.durationNanos < 0 ? -1 : this.durationNanos / 1e6;
+    }
+
+    /**
+     * Return the span as a bar over the duration of the trace, e.g. <code>"  ....####....."</code>.
+     */
+    public String getWaterfall() {
+        return this.waterfall;
+    }
+
+    long getStartNanos() {
+        return this.startNanos;
+    }
+
+    boolean isEnded() {
+        return this.durationNanos >= 0;
+    }
+
+    void end(long endNanos) {
+        this.durationNanos = endNanos - this.startNanos;
+    }
+
+    void drawWaterfall(long traceNanos, int width) {
+        int start = (int) (this.startNanos * width / Math.max(traceNanos, 1));
+        long end = isEnded() ? this.startNanos + this.durationNanos : traceNanos;
+        int length = Math.max(1, (int) (end * width / Math.max(traceNanos, 1)) - start);
+        StringBuilder bar = new StringBuilder(width);
+        for (int i = 0; i < width; i++) {
+            bar.append(i >= start && i < start + length ? '#' : '.');
+        }
+        this.waterfall = bar.toString();
+    }
+
+}
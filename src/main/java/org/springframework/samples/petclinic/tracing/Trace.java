@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The spans of one request, in the order they began. A trace holds at most a given number of spans, so that a page
+ * running thousands of statements does not hold them all; the others are only counted.
+ */
+public class Trace {
+
+    private static final int WATERFALL_WIDTH = 60;
+
+    private final String id;
+
+    private final String name;
+
+    private final Instant time = Instant.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final int maxSpans;
+
+    private final List<Span> spans = new ArrayList<>();
+
+    private final Deque<Span> open = new ArrayDeque<>();
+
+    private int droppedSpans;
+
+    private int status;
+
+    private long durationNanos;
+
+    Trace(String id, String name, int maxSpans) {
+        this.id = id;
+        this.name = name;
+        this.maxSpans = maxSpans;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Return the method and path of the request, e.g. <code>GET /owners/6</code>.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public Instant getTime() {
+        return this.time;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    public double getDurationMillis() {
+        return this.durationNanos / 1e6;
+    }
+
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(this.spans);
+    }
+
+    public int getDroppedSpans() {
+        return this.droppedSpans;
+    }
+
+    long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    Span begin(String kind, String name) {
+        if (this.spans.size() >= this.maxSpans) {
+            this.droppedSpans++;
+            return null;
+        }
+        Span span = new Span(kind, name, this.open.size(), System.nanoTime() - this.startNanos);
+        this.spans.add(span);
+        this.open.push(span);
+        return span;
+    }
+
+    void end(Span span) {
+        span.end(System.nanoTime() - this.startNanos);
+        // the spans left open by an exception end with their parent
+        Span top;
+        do {
+            top = this.open.poll();
+        } while (top != null && top != span);
+    }
+
+    void finish(int status) {
+        this.durationNanos = System.nanoTime() - this.startNanos;
+        this.status = status;
+        this.open.clear();
+        for (Span span : this.spans) {
+            span.drawWaterfall(this.durationNanos, WATERFALL_WIDTH);
+        }
+    }
+
+}
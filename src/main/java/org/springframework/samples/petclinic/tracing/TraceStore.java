@@ -0,0 +1,81 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * The recent traces kept: all the slow ones, and a sample of the others. The traces are ordered by duration, so that
+ * a full store drops the fastest rather than the oldest, and the ones older than the maximum age are dropped whatever
+ * their duration.
+ */
+public class TraceStore {
+
+    private final TracingProperties properties;
+
+    private final NavigableSet<Trace> traces = new TreeSet<>(Comparator.comparingLong(Trace::getDurationNanos)
+        .thenComparing(Trace::getTime).thenComparing(Trace::getId));
+
+    public TraceStore(TracingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Keep the finished trace if it is slow, or if it is picked by the sample rate.
+     */
+    void add(Trace trace) {
+        if (trace.getDurationNanos() < this.properties.getSlowThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() >= this.properties.getSampleRate()) {
+            return;
+        }
+        synchronized (this.traces) {
+            expire();
+            this.traces.add(trace);
+            while (this.traces.size() > this.properties.getCapacity()) {
+                this.traces.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * Return the given number of traces kept, the slowest first.
+     */
+    public List<Trace> getSlowest(int limit) {
+        synchronized (this.traces) {
+            expire();
+            return this.traces.descendingSet().stream().limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    public Trace get(String id) {
+        synchronized (this.traces) {
+            expire();
+            return this.traces.stream().filter(trace -> trace.getId().equals(id)).findFirst().orElse(null);
+        }
+    }
+
+    private void expire() {
+        Instant oldest = Instant.now().minus(this.properties.getMaxAge());
+        this.traces.removeIf(trace -> trace.getTime().isBefore(oldest));
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+/**
+ * Spans of the request traced on the current thread, if any. The controllers, repositories, JDBC statements and
+ * views call {@link #begin(String, String)} and {@link #end(Span)}, which do nothing outside of a traced request.
+ */
+public final class Tracer {
+
+    private static final ThreadLocal<Trace> current = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    /**
+     * Begin a span in the trace of the current thread, returning {@code null} when there is none.
+     */
+    public static Span begin(String kind, String name) {
+        Trace trace = current.get();
+        return trace != null ? trace.begin(kind, name) : null;
+    }
+
+    /**
+     * End a span returned by {@link #begin(String, String)}, which may be {@code null}.
+     */
+    public static void end(Span span) {
+        Trace trace = current.get();
+        if (trace != null && span != null) {
+            trace.end(span);
+        }
+    }
+
+    static void start(Trace trace) {
+        current.set(trace);
+    }
+
+    static void stop() {
+        current.remove();
+    }
+
+}
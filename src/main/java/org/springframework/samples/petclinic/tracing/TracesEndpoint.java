@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+
+/**
+ * The <code>traces</code> actuator endpoint: <code>/manage/traces</code> lists the slowest recent traces (20, or
+ * <code>limit</code>) with the waterfall of their spans, and <code>/manage/traces/{id}</code> shows one, e.g. from the
+ * <code>X-Trace-Id</code> header of a response.
+ */
+@Endpoint(id = "traces")
+class TracesEndpoint {
+
+    private final TraceStore store;
+
+    TracesEndpoint(TraceStore store) {
+        this.store = store;
+    }
+
+    @ReadOperation
+    public List<Trace> traces(@Nullable Integer limit) {
+        return this.store.getSlowest(limit != null ? limit : 20);
+    }
+
+    @ReadOperation
+    public Trace trace(@Selector String id) {
+        return this.store.get(id);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Traces the requests, unless <code>petclinic.tracing.enabled</code> is turned off. The spans of the controllers and
+ * repositories come from the method timers, and the ones of the JDBC statements from the query statistics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "petclinic.tracing.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(TracingProperties.class)
+class TracingConfiguration implements WebMvcConfigurer {
+
+    @Bean
+    public TraceStore traceStore(TracingProperties properties) {
+        return new TraceStore(properties);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TraceStore store, TracingProperties properties) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+            new TracingFilter(store, properties.getExcludedPaths(), properties.getMaxSpans()));
+        // after the capture and history filters, so that the trace covers the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnEnabledEndpoint
+    public TracesEndpoint tracesEndpoint(TraceStore store) {
+        return new TracesEndpoint(store);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TracingInterceptor());
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Traces each request, from the first filter to the rendered view, and hands the trace to the {@link TraceStore}. The
+ * id of the trace is sent as the <code>X-Trace-Id</code> response header, to find it in the <code>traces</code>
+ * endpoint.
+ */
+class TracingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-Trace-Id";
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final TraceStore store;
+
+    private final List<String> excludedPaths;
+
+    private final int maxSpans;
+
+    TracingFilter(TraceStore store, List<String> excludedPaths, int maxSpans) {
+        this.store = store;
+        this.excludedPaths = excludedPaths;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return this.excludedPaths.stream().anyMatch(pattern -> this.matcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Trace trace = new Trace(Long.toString(this.ids.incrementAndGet()),
+            request.getMethod() + " " + request.getRequestURI(), this.maxSpans);
+        response.setHeader(HEADER, trace.getId());
+        Tracer.start(trace);
+        int status = 500;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            Tracer.stop();
+            trace.finish(status);
+            this.store.add(trace);
+        }
+    }
+
+}
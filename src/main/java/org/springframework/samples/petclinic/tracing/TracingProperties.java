@@ -0,0 +1,123 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tracing settings, configured under <code>petclinic.tracing</code>.
+ */
+@ConfigurationProperties("petclinic.tracing")
+public class TracingProperties {
+
+    /**
+     * Whether to trace the requests.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Share of the requests kept when not slow, between 0 and 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Time above which a request is always kept.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Number of traces kept, the fastest being dropped first.
+     */
+    private int capacity = 200;
+
+    /**
+     * Time after which a trace is dropped, however slow.
+     */
+    private Duration maxAge = Duration.ofHours(1);
+
+    /**
+     * Number of spans kept in a trace, the later ones being only counted.
+     */
+    private int maxSpans = 500;
+
+    /**
+     * Ant-style paths of the requests that are not traced.
+     */
+    private List<String> excludedPaths = new ArrayList<>(
+        Arrays.asList("/resources/**", "/webjars/**", "/manage/**", "/favicon.ico"));
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return this.sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Duration getSlowThreshold() {
+        return this.slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public Duration getMaxAge() {
+        return this.maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public int getMaxSpans() {
+        return this.maxSpans;
+    }
+
+    public void setMaxSpans(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    public List<String> getExcludedPaths() {
+        return this.excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+}
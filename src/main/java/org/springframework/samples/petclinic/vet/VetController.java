@@ -51,9 +51,11 @@ class VetController {
 
     private static final String VIEWS_VET_CREATE_OR_UPDATE_FORM = "vets/createOrUpdateVetForm";
     private final VetRepository vets;
+    private final VetReads vetReads;
 
-    public VetController(VetRepository clinicService) {
+    public VetController(VetRepository clinicService, VetReads vetReads) {
         this.vets = clinicService;
+        this.vetReads = vetReads;
     }
     
     @ModelAttribute("specialties")
@@ -66,7 +68,7 @@ class VetController {
         // Here we are returning an object of type 'Vets' rather than a collection of Vet
         // objects so it is simpler for Object-Xml mapping
         Vets vets = new Vets();
-        vets.getVetList().addAll(this.vets.findAll());
+        vets.getVetList().addAll(this.vetReads.findAll());
         model.put("vets", vets);
         return "vets/vetList";
     }
@@ -76,7 +78,7 @@ class VetController {
         // Here we are returning an object of type 'Vets' rather than a collection of Vet
         // objects so it is simpler for JSon/Object mapping
         Vets vets = new Vets();
-        vets.getVetList().addAll(this.vets.findAll());
+        vets.getVetList().addAll(this.vetReads.findAll());
         return vets;
     }
     
@@ -94,6 +96,7 @@ class VetController {
     }
 
     @PostMapping("/vets/new")
+    @Transactional
     public String processCreationForm(@Valid Vet vet, BindingResult result) {
         if (result.hasErrors()) {
             return VIEWS_VET_CREATE_OR_UPDATE_FORM;
@@ -112,6 +115,7 @@ class VetController {
     }
 
     @PostMapping("/vets/{vetId}/edit")
+    @Transactional
     public String processUpdateVetForm(@Valid Vet vet, BindingResult result, @PathVariable("vetId") int vetId) {
         if (result.hasErrors()) {
             return VIEWS_VET_CREATE_OR_UPDATE_FORM;
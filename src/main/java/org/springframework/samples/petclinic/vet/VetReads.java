@@ -0,0 +1,53 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.util.Collection;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.samples.petclinic.system.SingleFlight;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only vet lookups. Concurrent requests for the vet list share a single database load, so the returned vets
+ * must not be modified. The vet list is cached until a vet is saved.
+ */
+@Component
+public class VetReads implements MeterBinder {
+
+    private static final String ALL = "all";
+
+    private final VetRepository vets;
+
+    private final SingleFlight<String, Collection<Vet>> flight = new SingleFlight<>("vets");
+
+    public VetReads(VetRepository vets) {
+        this.vets = vets;
+    }
+
+    @Cacheable(cacheNames = "vets", key = "'all'")
+    public Collection<Vet> findAll() {
+        return this.flight.load(ALL, this.vets::findAll);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.flight.bindTo(registry);
+    }
+
+}
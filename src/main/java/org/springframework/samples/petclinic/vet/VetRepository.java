@@ -18,7 +18,7 @@ package org.springframework.samples.petclinic.vet;
 import java.util.Collection;
 import java.util.List;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
@@ -85,6 +85,7 @@ public interface VetRepository extends Repository<Vet, Integer> {
      * @param owner
      *            the {@link Vet} to save
      */
+    @CacheEvict(cacheNames = "vets", allEntries = true)
     void save(Vet owner);
 
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.vet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.samples.petclinic.system.CacheSerializer;
+
+/**
+ * Serializes the vets of the <code>vets</code> cache, with their specialties.
+ */
+public class VetsSerializer extends CacheSerializer<Collection<Vet>> {
+
+    public VetsSerializer() {
+        super(1);
+    }
+
+    @Override
+    protected void write(Collection<Vet> vets, DataOutput out) throws IOException {
+        out.writeInt(vets.size());
+        for (Vet vet : vets) {
+            writeInteger(out, vet.getId());
+            writeString(out, vet.getFirstName());
+            writeString(out, vet.getLastName());
+            List<Specialty> specialties = vet.getSpecialties();
+            out.writeInt(specialties.size());
+            for (Specialty specialty : specialties) {
+                writeInteger(out, specialty.getId());
+                writeString(out, specialty.getName());
+            }
+        }
+    }
+
+    @Override
+    protected Collection<Vet> read(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<Vet> vets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Vet vet = new Vet();
+            vet.setId(readInteger(in));
+            vet.setFirstName(readString(in));
+            vet.setLastName(readString(in));
+            for (int specialties = in.readInt(); specialties > 0; specialties--) {
+                Specialty specialty = new Specialty();
+                specialty.setId(readInteger(in));
+                specialty.setName(readString(in));
+                vet.addSpecialty(specialty);
+            }
+            vets.add(vet);
+        }
+        return vets;
+    }
+
+}
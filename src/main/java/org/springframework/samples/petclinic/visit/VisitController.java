@@ -19,9 +19,11 @@ import java.util.Map;
 
 import javax.validation.Valid;
 
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
-import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetLoader;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -41,11 +43,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 class VisitController {
 
     private final VisitRepository visits;
-    private final PetRepository pets;
+    private final PetLoader pets;
+    private final OwnerSummaries summaries;
 
-    public VisitController(VisitRepository visits, PetRepository pets) {
+    public VisitController(VisitRepository visits, PetLoader pets, OwnerSummaries summaries) {
         this.visits = visits;
         this.pets = pets;
+        this.summaries = summaries;
     }
 
     @InitBinder
@@ -63,10 +67,11 @@ class VisitController {
      */
     @ModelAttribute("visit")
     public Visit loadPetWithVisit(@PathVariable("petId") int petId, Map<String, Object> model) {
-        Pet pet = this.pets.findById(petId);
+        Pet pet = this.pets.load(petId);
         model.put("pet", pet);
+        // not added to the pet, which would save it with the pet when the form is rejected
         Visit visit = new Visit();
-        pet.addVisit(visit);
+        visit.setPetId(pet.getId());
         return visit;
     }
 
@@ -78,11 +83,13 @@ class VisitController {
 
     // Spring MVC calls method loadPetWithVisit(...) before processNewVisitForm is called
     @PostMapping("/owners/{ownerId}/pets/{petId}/visits/new")
+    @Transactional
     public String processNewVisitForm(@Valid Visit visit, BindingResult result) {
         if (result.hasErrors()) {
             return "pets/createOrUpdateVisitForm";
         } else {
             this.visits.save(visit);
+            this.summaries.refreshByPet(visit.getPetId());
             return "redirect:/owners/{ownerId}";
         }
     }
@@ -15,10 +15,14 @@
  */
 package org.springframework.samples.petclinic.visit;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.samples.petclinic.model.BaseEntity;
 
 /**
@@ -42,5 +46,17 @@ public interface VisitRepository extends Repository<Visit, Integer> {
 
     List<Visit> findByPetId(Integer petId);
 
+    /**
+     * Retrieve a page of <code>Visit</code>s for the given pet, ordered by id and starting after the given id.
+     *
+     * @param petId the id of the pet
+     * @param after the id of the last visit of the previous page (0 for the first page)
+     * @param pageable the page size
+     */
+    @Query("SELECT visit FROM Visit visit WHERE visit.petId = :petId AND visit.id > :after ORDER BY visit.id")
+    List<Visit> findPageByPetId(@Param("petId") int petId, @Param("after") int after, Pageable pageable);
+
+    List<Visit> findByPetIdIn(Collection<Integer> petIds);
+
   
 }
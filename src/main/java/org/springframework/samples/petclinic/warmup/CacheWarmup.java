@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.samples.petclinic.owner.OwnerAccessLog;
+import org.springframework.samples.petclinic.owner.OwnerReads;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.vet.VetReads;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Loads the pet types, the vet list and the owners of the {@link OwnerAccessLog} into their caches, in parallel on
+ * <code>petclinic.warmup.threads</code> threads, within <code>petclinic.warmup.budget</code>. The time each cache took
+ * to warm up, from the start of the warm-up, is logged and recorded as the <code>petclinic.cache.warmup</code> timer,
+ * tagged with the cache.
+ */
+public class CacheWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmup.class);
+
+    private final PetRepository pets;
+
+    private final VetReads vets;
+
+    private final OwnerReads owners;
+
+    private final OwnerAccessLog accessLog;
+
+    private final WarmupProperties properties;
+
+    private final MeterRegistry registry;
+
+    /**
+     * The milliseconds each cache took, or -1 for the caches not warmed up within the budget, once the warm-up ran.
+     */
+    private volatile Map<String, Long> timings;
+
+    public CacheWarmup(PetRepository pets, VetReads vets, OwnerReads owners, OwnerAccessLog accessLog,
+            WarmupProperties properties, MeterRegistry registry) {
+        this.pets = pets;
+        this.vets = vets;
+        this.owners = owners;
+        this.accessLog = accessLog;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    /**
+     * Warm up the caches, returning the milliseconds each cache took, or -1 for those not warmed up within the budget.
+     */
+    public Map<String, Long> run() {
+        ExecutorService executor = Executors.newFixedThreadPool(this.properties.getThreads(),
+            new CustomizableThreadFactory("warmup-"));
+        long started = System.nanoTime();
+        Map<String, CompletableFuture<Long>> caches = new LinkedHashMap<>();
+        List<Integer> ownerIds = this.accessLog.getRecent();
+        try {
+            caches.put("petTypes", timed(started, CompletableFuture.runAsync(this.pets::findPetTypes, executor)));
+            caches.put("vets", timed(started, CompletableFuture.runAsync(this.vets::findAll, executor)));
+            List<CompletableFuture<Void>> owners = new ArrayList<>();
+            for (Integer id : ownerIds) {
+                // an owner deleted since it was shown must not leave the others cold
+                owners.add(CompletableFuture.runAsync(() -> this.owners.findById(id), executor).exceptionally(ex -> {
+                    logger.debug("Could not warm up owner {}, skipping it", id, ex);
+                    return null;
+                }));
+            }
+            caches.put("owners",
+                timed(started, CompletableFuture.allOf(owners.toArray(new CompletableFuture<?>[0]))));
+            CompletableFuture.allOf(caches.values().toArray(new CompletableFuture<?>[0]))
+                .get(this.properties.getBudget().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("Cache warm-up still running after {}, going on with cold caches", this.properties.getBudget());
+        } catch (ExecutionException ex) {
+            logger.warn("Warming up a cache failed, going on with it cold", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        caches.forEach((cache, future) -> {
+            long millis = future.isDone() && !future.isCompletedExceptionally() ? future.join() : -1;
+            timings.put(cache, millis);
+            if (millis >= 0 && this.registry != null) {
+                Timer.builder("petclinic.cache.warmup").tag("cache", cache).register(this.registry)
+                    .record(millis, TimeUnit.MILLISECONDS);
+            }
+        });
+        logger.info("Warmed up the caches with {} owners in {} ms, by cache: {}", ownerIds.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), timings);
+        this.timings = Collections.unmodifiableMap(timings);
+        return this.timings;
+    }
+
+    /**
+     * Return the milliseconds each cache took to warm up, or {@code null} until the warm-up ran.
+     */
+    public Map<String, Long> getTimings() {
+        return this.timings;
+    }
+
+    private static CompletableFuture<Long> timed(long started, CompletableFuture<?> load) {
+        return load.thenApply(result -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.warmup;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.samples.petclinic.owner.OwnerAccessLog;
+import org.springframework.samples.petclinic.owner.OwnerReads;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.vet.VetReads;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+/**
+ * Runs the {@link CacheWarmup} at startup, unless <code>petclinic.warmup.enabled</code> is false, with the
+ * {@link WarmupHealthIndicator} reporting when it is done. The {@link OwnerAccessLog} of the owners to warm up is
+ * saved every minute and on shutdown to <code>petclinic.warmup.access-log</code>, if set.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(name = "petclinic.warmup.enabled", matchIfMissing = true)
+class WarmupConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupConfiguration.class);
+
+    private final OwnerAccessLog accessLog;
+
+    WarmupConfiguration(WarmupProperties properties) {
+        this.accessLog = new OwnerAccessLog(properties.getOwners(),
+            StringUtils.hasText(properties.getAccessLog()) ? Paths.get(properties.getAccessLog()) : null);
+    }
+
+    @Bean
+    public OwnerAccessLog ownerAccessLog() {
+        return this.accessLog;
+    }
+
+    @Bean
+    public CacheWarmup cacheWarmup(PetRepository pets, VetReads vets, OwnerReads owners, WarmupProperties properties,
+            ObjectProvider<MeterRegistry> registry) {
+        return new CacheWarmup(pets, vets, owners, this.accessLog, properties, registry.getIfAvailable());
+    }
+
+    @Bean
+    public WarmupHealthIndicator warmupHealthIndicator(CacheWarmup warmup) {
+        return new WarmupHealthIndicator(warmup);
+    }
+
+    @Bean
+    public ApplicationRunner cacheWarmupRunner(CacheWarmup warmup) {
+        return args -> warmup.run();
+    }
+
+    @Scheduled(fixedRate = 60000, initialDelay = 60000)
+    @PreDestroy
+    public void saveAccessLog() {
+        try {
+            this.accessLog.save();
+        } catch (IOException ex) {
+            logger.warn("Could not save the owner access log: {}", ex.getMessage());
+        }
+    }
+
+}
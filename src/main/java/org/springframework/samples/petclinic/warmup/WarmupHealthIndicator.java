@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.warmup;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+/**
+ * Reports the application out of service until the {@link CacheWarmup} ran, so that a load balancer checking
+ * <code>/manage/health</code> only sends it requests once its caches are warm, then up with the timings of the caches.
+ */
+class WarmupHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmup warmup;
+
+    WarmupHealthIndicator(CacheWarmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        Map<String, Long> timings = this.warmup.getTimings();
+        if (timings == null) {
+            builder.outOfService().withDetail("warmup", "running");
+        } else {
+            builder.up().withDetail("timings", timings);
+        }
+    }
+
+}
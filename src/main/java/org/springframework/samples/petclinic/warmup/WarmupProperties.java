@@ -0,0 +1,93 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.warmup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cache warm-up settings, configured under <code>petclinic.warmup</code>.
+ */
+@ConfigurationProperties("petclinic.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether to warm up the caches at startup, before the application reports ready.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Time the warm-up may take, after which the application reports ready with the rest of the caches cold.
+     */
+    private Duration budget = Duration.ofSeconds(30);
+
+    /**
+     * Number of threads loading the caches, each with its own database connection.
+     */
+    private int threads = 4;
+
+    /**
+     * Number of owners shown most recently that are kept in the access log and warmed up.
+     */
+    private int owners = 200;
+
+    /**
+     * File of the owner access log, kept across restarts. The log is only kept in memory if not set.
+     */
+    private String accessLog;
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getBudget() {
+        return this.budget;
+    }
+
+    public void setBudget(Duration budget) {
+        this.budget = budget;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getOwners() {
+        return this.owners;
+    }
+
+    public void setOwners(int owners) {
+        this.owners = owners;
+    }
+
+    public String getAccessLog() {
+        return this.accessLog;
+    }
+
+    public void setAccessLog(String accessLog) {
+        this.accessLog = accessLog;
+    }
+
+}
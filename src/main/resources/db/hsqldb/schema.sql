@@ -6,17 +6,29 @@ DROP TABLE pets IF EXISTS;
 DROP TABLE types IF EXISTS;
 DROP TABLE owners IF EXISTS;
 DROP TABLE appointments IF EXISTS;
+DROP TABLE visits_archive IF EXISTS;
+DROP TABLE appointments_archive IF EXISTS;
+DROP TABLE import_checkpoints IF EXISTS;
+DROP TABLE owner_summary IF EXISTS;
+DROP TABLE cache_events IF EXISTS;
+DROP SEQUENCE vet_seq IF EXISTS;
+DROP SEQUENCE specialty_seq IF EXISTS;
+DROP SEQUENCE pet_type_seq IF EXISTS;
+DROP SEQUENCE owner_seq IF EXISTS;
+DROP SEQUENCE pet_seq IF EXISTS;
+DROP SEQUENCE visit_seq IF EXISTS;
+DROP SEQUENCE appointment_seq IF EXISTS;
 
 
 CREATE TABLE vets (
-  id         INTEGER IDENTITY PRIMARY KEY,
+  id         INTEGER PRIMARY KEY,
   first_name VARCHAR(30),
   last_name  VARCHAR(30)
 );
 CREATE INDEX vets_last_name ON vets (last_name);
 
 CREATE TABLE specialties (
-  id   INTEGER IDENTITY PRIMARY KEY,
+  id   INTEGER PRIMARY KEY,
   name VARCHAR(80)
 );
 CREATE INDEX specialties_name ON specialties (name);
@@ -29,13 +41,13 @@ ALTER TABLE vet_specialties ADD CONSTRAINT fk_vet_specialties_vets FOREIGN KEY (
 ALTER TABLE vet_specialties ADD CONSTRAINT fk_vet_specialties_specialties FOREIGN KEY (specialty_id) REFERENCES specialties (id);
 
 CREATE TABLE types (
-  id   INTEGER IDENTITY PRIMARY KEY,
+  id   INTEGER PRIMARY KEY,
   name VARCHAR(80)
 );
 CREATE INDEX types_name ON types (name);
 
 CREATE TABLE owners (
-  id         INTEGER IDENTITY PRIMARY KEY,
+  id         INTEGER PRIMARY KEY,
   first_name VARCHAR(30),
   last_name  VARCHAR_IGNORECASE(30),
   address    VARCHAR(255),
@@ -45,7 +57,7 @@ CREATE TABLE owners (
 CREATE INDEX owners_last_name ON owners (last_name);
 
 CREATE TABLE pets (
-  id         INTEGER IDENTITY PRIMARY KEY,
+  id         INTEGER PRIMARY KEY,
   name       VARCHAR(30),
   birth_date DATE,
   type_id    INTEGER NOT NULL,
@@ -56,13 +68,13 @@ ALTER TABLE pets ADD CONSTRAINT fk_pets_types FOREIGN KEY (type_id) REFERENCES t
 CREATE INDEX pets_name ON pets (name);
 
 CREATE TABLE visits (
-  id          INTEGER IDENTITY PRIMARY KEY,
+  id          INTEGER PRIMARY KEY,
   pet_id      INTEGER NOT NULL,
   visit_date  DATE,
   description VARCHAR(255)
 );
 CREATE TABLE appointments (
-  id          INTEGER IDENTITY PRIMARY KEY,
+  id          INTEGER PRIMARY KEY,
   pet_id      INTEGER NOT NULL,
   vet         VARCHAR(255),
   appointment_date  DATE,
@@ -73,3 +85,66 @@ ALTER TABLE visits ADD CONSTRAINT fk_visits_pets FOREIGN KEY (pet_id) REFERENCES
 CREATE INDEX visits_pet_id ON visits (pet_id);
 CREATE INDEX appointments_vet_id ON appointments (vet);
 CREATE INDEX appointments_timeslot ON appointments (timeslot);
+CREATE INDEX visits_visit_date ON visits (visit_date);
+CREATE INDEX appointments_appointment_date ON appointments (appointment_date);
+CREATE INDEX appointments_pet_id ON appointments (pet_id);
+
+-- Visits and past appointments moved out of the hot tables by the archiver
+CREATE TABLE visits_archive (
+  id          INTEGER PRIMARY KEY,
+  pet_id      INTEGER NOT NULL,
+  visit_date  DATE,
+  description VARCHAR(255)
+);
+CREATE INDEX visits_archive_pet_id ON visits_archive (pet_id);
+CREATE TABLE appointments_archive (
+  id          INTEGER PRIMARY KEY,
+  pet_id      INTEGER NOT NULL,
+  vet         VARCHAR(255),
+  appointment_date  DATE,
+  timeslot    VARCHAR(255),
+  description VARCHAR(255)
+);
+CREATE INDEX appointments_archive_pet_id ON appointments_archive (pet_id);
+
+-- Read model of the owner list, kept up to date by the write paths of owners, pets, visits and appointments
+CREATE TABLE owner_summary (
+  owner_id         INTEGER PRIMARY KEY,
+  first_name       VARCHAR(30),
+  last_name        VARCHAR_IGNORECASE(30),
+  address          VARCHAR(255),
+  city             VARCHAR(80),
+  telephone        VARCHAR(20),
+  pet_count        INTEGER NOT NULL,
+  pet_names        VARCHAR(1000),
+  last_visit       DATE,
+  next_appointment DATE
+);
+CREATE INDEX owner_summary_last_name ON owner_summary (last_name);
+
+-- Evictions of the caches, written in the transaction of the change and applied by the other nodes
+CREATE TABLE cache_events (
+  id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  node       VARCHAR(36) NOT NULL,
+  cache_name VARCHAR(30) NOT NULL,
+  cache_key  VARCHAR(100),
+  created    TIMESTAMP NOT NULL
+);
+CREATE INDEX cache_events_created ON cache_events (created);
+
+CREATE TABLE import_checkpoints (
+  job          VARCHAR(100) NOT NULL,
+  dataset      VARCHAR(20) NOT NULL,
+  records_done BIGINT NOT NULL,
+  id_offset    INTEGER NOT NULL,
+  completed    BOOLEAN NOT NULL,
+  PRIMARY KEY (job, dataset)
+);
+
+CREATE SEQUENCE vet_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE specialty_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE pet_type_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE owner_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE pet_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE visit_seq START WITH 100 INCREMENT BY 50;
+CREATE SEQUENCE appointment_seq START WITH 100 INCREMENT BY 50;
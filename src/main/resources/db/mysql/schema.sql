@@ -61,5 +61,109 @@ CREATE TABLE IF NOT EXISTS visits (
   pet_id INT(4) UNSIGNED NOT NULL,
   visit_date DATE,
   description VARCHAR(255),
-  FOREIGN KEY (pet_id) REFERENCES pets(id)
+  FOREIGN KEY (pet_id) REFERENCES pets(id),
+  INDEX(visit_date)
 ) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS appointments (
+  id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  pet_id INT(4) UNSIGNED NOT NULL,
+  vet VARCHAR(255),
+  appointment_date DATE,
+  timeslot VARCHAR(255),
+  description VARCHAR(255),
+  FOREIGN KEY (pet_id) REFERENCES pets(id),
+  INDEX(vet),
+  INDEX(timeslot),
+  INDEX(appointment_date)
+) engine=InnoDB;
+
+-- Visits and past appointments moved out of the hot tables by the archiver
+CREATE TABLE IF NOT EXISTS visits_archive (
+  id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  pet_id INT(4) UNSIGNED NOT NULL,
+  visit_date DATE,
+  description VARCHAR(255),
+  INDEX(pet_id)
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS appointments_archive (
+  id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  pet_id INT(4) UNSIGNED NOT NULL,
+  vet VARCHAR(255),
+  appointment_date DATE,
+  timeslot VARCHAR(255),
+  description VARCHAR(255),
+  INDEX(pet_id)
+) engine=InnoDB;
+
+-- Read model of the owner list, kept up to date by the write paths of owners, pets, visits and appointments
+CREATE TABLE IF NOT EXISTS owner_summary (
+  owner_id INT(4) UNSIGNED NOT NULL PRIMARY KEY,
+  first_name VARCHAR(30),
+  last_name VARCHAR(30),
+  address VARCHAR(255),
+  city VARCHAR(80),
+  telephone VARCHAR(20),
+  pet_count INT(4) UNSIGNED NOT NULL,
+  pet_names VARCHAR(1000),
+  last_visit DATE,
+  next_appointment DATE,
+  INDEX(last_name)
+) engine=InnoDB;
+
+-- Evictions of the caches, written in the transaction of the change and applied by the other nodes
+CREATE TABLE IF NOT EXISTS cache_events (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  node VARCHAR(36) NOT NULL,
+  cache_name VARCHAR(30) NOT NULL,
+  cache_key VARCHAR(100),
+  created TIMESTAMP NOT NULL,
+  INDEX(created)
+) engine=InnoDB;
+
+CREATE TABLE IF NOT EXISTS import_checkpoints (
+  job VARCHAR(100) NOT NULL,
+  dataset VARCHAR(20) NOT NULL,
+  records_done BIGINT NOT NULL,
+  id_offset INT(4) UNSIGNED NOT NULL,
+  completed BOOLEAN NOT NULL,
+  PRIMARY KEY (job, dataset)
+) engine=InnoDB;
+
+-- One row tables standing in for the sequences of the entity ids, which are allocated 50 at a time
+CREATE TABLE IF NOT EXISTS vet_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO vet_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM vets
+  WHERE NOT EXISTS (SELECT * FROM vet_seq);
+CREATE TABLE IF NOT EXISTS specialty_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO specialty_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM specialties
+  WHERE NOT EXISTS (SELECT * FROM specialty_seq);
+CREATE TABLE IF NOT EXISTS pet_type_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO pet_type_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM types
+  WHERE NOT EXISTS (SELECT * FROM pet_type_seq);
+CREATE TABLE IF NOT EXISTS owner_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO owner_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM owners
+  WHERE NOT EXISTS (SELECT * FROM owner_seq);
+CREATE TABLE IF NOT EXISTS pet_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO pet_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM pets
+  WHERE NOT EXISTS (SELECT * FROM pet_seq);
+CREATE TABLE IF NOT EXISTS visit_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO visit_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM visits
+  WHERE NOT EXISTS (SELECT * FROM visit_seq);
+CREATE TABLE IF NOT EXISTS appointment_seq (
+  next_val BIGINT NOT NULL
+) engine=InnoDB;
+INSERT INTO appointment_seq SELECT GREATEST(100, COALESCE(MAX(id), 0) + 1) FROM appointments
+  WHERE NOT EXISTS (SELECT * FROM appointment_seq);
@@ -16,13 +16,27 @@
 
 package org.springframework.samples.petclinic;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest
@@ -31,9 +45,32 @@ public class PetclinicIntegrationTests {
     @Autowired
     private VetRepository vets;
 
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
     @Test
     public void testFindAll() throws Exception {
         vets.findAll();
         vets.findAll(); // served from cache
     }
+
+    @Test
+    @Transactional
+    public void testBookingATakenTimeslotIsRejected() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        String date = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.TUESDAY)).toString();
+        mockMvc.perform(post("/owners/1/pets/1/appointments/new").param("date", date).param("timeslot", "09:00 AM")
+            .param("vet", "Carter").param("description", "checkup"))
+            .andExpect(status().is3xxRedirection());
+        mockMvc.perform(post("/owners/2/pets/2/appointments/new").param("date", date).param("timeslot", "09:00 AM")
+            .param("vet", "Carter").param("description", "checkup"))
+            .andExpect(status().isOk())
+            .andExpect(model().attributeHasFieldErrors("appointment", "timeslot"));
+
+        assertThat(this.jdbc.queryForObject("SELECT COUNT(*) FROM appointments WHERE vet = 'Carter' "
+            + "AND appointment_date = ? AND timeslot = '09:00 AM'", Integer.class, date)).isEqualTo(1);
+    }
 }
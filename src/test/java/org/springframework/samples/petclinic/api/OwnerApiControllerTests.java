@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetSummary;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link OwnerApiController}
+ */
+@RunWith(SpringRunner.class)
+@WebMvcTest(OwnerApiController.class)
+public class OwnerApiControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OwnerRepository owners;
+
+    @MockBean
+    private PetRepository pets;
+
+    @Before
+    public void setup() {
+        given(this.owners.findPageByLastName("", 0, PageRequest.of(0, 2)))
+            .willReturn(Lists.newArrayList(owner(1, "Franklin"), owner(2, "Davis")));
+        given(this.owners.findPageByLastName("", 1, PageRequest.of(0, 2)))
+            .willReturn(Lists.newArrayList(owner(2, "Davis")));
+        given(this.owners.findByIdIn(anyCollection()))
+            .willReturn(Lists.newArrayList(owner(2, "Davis"), owner(1, "Franklin")));
+        given(this.pets.findSummariesByOwnerIdIn(Lists.newArrayList(1)))
+            .willReturn(Lists.newArrayList(new PetSummary(1, "Leo", LocalDate.of(2010, 9, 7), "cat", 1)));
+    }
+
+    private Owner owner(int id, String lastName) {
+        Owner owner = new Owner();
+        owner.setId(id);
+        owner.setFirstName("George");
+        owner.setLastName(lastName);
+        owner.setAddress("110 W. Liberty St.");
+        owner.setCity("Madison");
+        owner.setTelephone("6085551023");
+        return owner;
+    }
+
+    @Test
+    public void testListOwnersFirstPage() throws Exception {
+        mockMvc.perform(get("/api/owners").param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].lastName").value("Franklin"))
+            .andExpect(jsonPath("$.data[0].pets").doesNotExist())
+            .andExpect(jsonPath("$.next").value(Cursor.encode(1)));
+        verify(this.pets, never()).findSummariesByOwnerIdIn(anyCollection());
+    }
+
+    @Test
+    public void testListOwnersLastPage() throws Exception {
+        mockMvc.perform(get("/api/owners").param("size", "1").param("cursor", Cursor.encode(1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].lastName").value("Davis"))
+            .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    public void testListOwnersSparseFieldsWithPets() throws Exception {
+        mockMvc.perform(get("/api/owners").param("size", "1").param("fields", "lastName,pets")
+            .accept(ApiVersion.V1_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].id").value(1))
+            .andExpect(jsonPath("$.data[0].lastName").value("Franklin"))
+            .andExpect(jsonPath("$.data[0].telephone").doesNotExist())
+            .andExpect(jsonPath("$.data[0].pets[0].name").value("Leo"))
+            .andExpect(jsonPath("$.data[0].pets[0].visits").doesNotExist());
+    }
+
+    @Test
+    public void testListOwnersUnknownField() throws Exception {
+        mockMvc.perform(get("/api/owners").param("fields", "password"))
+            .andExpect(status().isBadRequest());
+        verify(this.owners, never()).findPageByLastName(any(), eq(0), any());
+    }
+
+    @Test
+    public void testListOwnersInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/owners").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetOwnersByIdsReportsMissing() throws Exception {
+        mockMvc.perform(get("/api/owners").param("ids", "1,42,2,1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].lastName").value("Franklin"))
+            .andExpect(jsonPath("$.data[1].lastName").value("Davis"))
+            .andExpect(jsonPath("$.missing", hasSize(1)))
+            .andExpect(jsonPath("$.missing[0]").value(42));
+        verify(this.owners, times(1)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    public void testGetOwnersByIdsIsChunked() throws Exception {
+        String ids = IntStream.rangeClosed(1, 1200).mapToObj(Integer::toString).collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/owners").param("ids", ids))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.missing", hasSize(1198)));
+        verify(this.owners, times(3)).findByIdIn(anyCollection());
+    }
+
+    @Test
+    public void testGetOwnersByInvalidIds() throws Exception {
+        mockMvc.perform(get("/api/owners").param("ids", "1,two"))
+            .andExpect(status().isBadRequest());
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.samples.petclinic.api;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.samples.petclinic.appointment.AppointmentRepository;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetSummary;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.samples.petclinic.visit.VisitRepository;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Test class for {@link PetApiController}
+ */
+@RunWith(SpringRunner.class)
+@WebMvcTest(PetApiController.class)
+public class PetApiControllerTests {
+
+    private static final int TEST_OWNER_ID = 6;
+    private static final int TEST_PET_ID = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OwnerRepository owners;
+
+    @MockBean
+    private PetRepository pets;
+
+    @MockBean
+    private VisitRepository visits;
+
+    @MockBean
+    private AppointmentRepository appointments;
+
+    @Before
+    public void setup() {
+        given(this.owners.existsById(TEST_OWNER_ID)).willReturn(true);
+        given(this.pets.existsById(TEST_PET_ID)).willReturn(true);
+        given(this.pets.findSummariesByOwnerId(TEST_OWNER_ID, 0, PageRequest.of(0, CursorPage.DEFAULT_SIZE + 1)))
+            .willReturn(Lists.newArrayList(
+                new PetSummary(TEST_PET_ID, "Samantha", LocalDate.of(2012, 9, 4), "cat", TEST_OWNER_ID),
+                new PetSummary(8, "Max", LocalDate.of(2012, 9, 4), "cat", TEST_OWNER_ID)));
+        Visit visit = new Visit();
+        visit.setId(1);
+        visit.setPetId(TEST_PET_ID);
+        visit.setDescription("rabies shot");
+        given(this.visits.findByPetIdIn(Lists.newArrayList(TEST_PET_ID, 8))).willReturn(Lists.newArrayList(visit));
+        given(this.pets.findSummariesByIdIn(anyCollection())).willReturn(Lists.newArrayList(
+            new PetSummary(TEST_PET_ID, "Samantha", LocalDate.of(2012, 9, 4), "cat", TEST_OWNER_ID)));
+        given(this.visits.findByPetIdIn(Lists.newArrayList(TEST_PET_ID))).willReturn(Lists.newArrayList(visit));
+        given(this.visits.findPageByPetId(TEST_PET_ID, 0, PageRequest.of(0, CursorPage.DEFAULT_SIZE + 1)))
+            .willReturn(Lists.newArrayList(visit));
+    }
+
+    @Test
+    public void testListPetsDoesNotLoadHistory() throws Exception {
+        mockMvc.perform(get("/api/owners/{ownerId}/pets", TEST_OWNER_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].type").value("cat"))
+            .andExpect(jsonPath("$.data[0].visits").doesNotExist());
+        verify(this.visits, never()).findByPetIdIn(anyCollection());
+        verify(this.appointments, never()).findByPetIdIn(anyCollection());
+    }
+
+    @Test
+    public void testListPetsWithVisits() throws Exception {
+        mockMvc.perform(get("/api/owners/{ownerId}/pets", TEST_OWNER_ID).param("fields", "name,visits"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].visits[0].description").value("rabies shot"))
+            .andExpect(jsonPath("$.data[1].visits", hasSize(0)))
+            .andExpect(jsonPath("$.data[0].birthDate").doesNotExist());
+        verify(this.appointments, never()).findByPetIdIn(anyCollection());
+    }
+
+    @Test
+    public void testListPetsOwnerNotFound() throws Exception {
+        mockMvc.perform(get("/api/owners/{ownerId}/pets", 42))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testListVisits() throws Exception {
+        mockMvc.perform(get("/api/pets/{petId}/visits", TEST_PET_ID))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].petId").value(TEST_PET_ID))
+            .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    public void testListAppointmentsPetNotFound() throws Exception {
+        mockMvc.perform(get("/api/pets/{petId}/appointments", 42))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetPetsByIds() throws Exception {
+        mockMvc.perform(get("/api/pets").param("ids", "7,99").param("fields", "name,visits"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].name").value("Samantha"))
+            .andExpect(jsonPath("$.data[0].visits[0].description").value("rabies shot"))
+            .andExpect(jsonPath("$.missing[0]").value(99));
+        verify(this.appointments, never()).findByPetIdIn(anyCollection());
+    }
+
+}
@@ -20,9 +20,13 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetLoader;
 import org.springframework.samples.petclinic.owner.PetRepository;
 import org.springframework.samples.petclinic.vet.Vet;
+import org.springframework.samples.petclinic.vet.VetReads;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,6 +38,7 @@ import org.springframework.test.web.servlet.MockMvc;
  */
 @RunWith(SpringRunner.class)
 @WebMvcTest(AppointmentController.class)
+@Import({PetLoader.class, VetReads.class})
 public class AppointmentControllerTests {
 
     private static final int TEST_PET_ID = 1;
@@ -45,6 +50,9 @@ public class AppointmentControllerTests {
     @MockBean
     private AppointmentRepository appointments;
 
+    @MockBean
+    private OwnerSummaries summaries;
+
     @MockBean
     private PetRepository pets;
     
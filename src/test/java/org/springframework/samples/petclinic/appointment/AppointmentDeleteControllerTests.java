@@ -1,6 +1,7 @@
 package org.springframework.samples.petclinic.appointment;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -20,6 +21,7 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.PetRepository;
 import org.springframework.samples.petclinic.vet.Vet;
@@ -45,13 +47,19 @@ public class AppointmentDeleteControllerTests {
     @MockBean
     private AppointmentRepository appointments;
 
+    @MockBean
+    private OwnerSummaries summaries;
+
     @Test
     public void testDeleteAppointmentExists() throws Exception {
-        Optional<Appointment> opt = Optional.of(new Appointment());
+        Appointment appointment = new Appointment();
+        appointment.setPetId(TEST_PET_ID);
+        Optional<Appointment> opt = Optional.of(appointment);
         given(this.appointments.findById(TEST_APPOINTMENT_ID)).willReturn(opt);
         mockMvc.perform(get("/owners/*/appointments/{appointmentId}/delete", TEST_PET_ID))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(view().name("redirect:/owners/{ownerId}"));
+        then(this.summaries).should().refreshByPet(TEST_PET_ID);
     }
 
     @Test
@@ -0,0 +1,116 @@
+package org.springframework.samples.petclinic.archive;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.visit.Visit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link Archiver} and {@link ArchivedHistory}
+ */
+@RunWith(SpringRunner.class)
+@JdbcTest
+@Import({ Archiver.class, ArchivedHistory.class, ArchiveConfiguration.class })
+@TestPropertySource(properties = { "petclinic.archive.batch-size=1", "petclinic.archive.pause=0" })
+public class ArchiverTests {
+
+    @TestConfiguration
+    static class CacheTestConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("owners");
+        }
+
+    }
+
+    @Autowired
+    private Archiver archiver;
+
+    @Autowired
+    private ArchivedHistory history;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void movesOldVisitsInBatches() {
+        int moved = this.archiver.archiveVisits(LocalDate.of(2013, 1, 3));
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(this.jdbc.queryForList("SELECT id FROM visits ORDER BY id", Integer.class)).containsExactly(3, 4);
+        assertThat(this.jdbc.queryForList("SELECT id FROM visits_archive ORDER BY id", Integer.class))
+            .containsExactly(1, 2);
+        assertThat(this.archiver.archiveVisits(LocalDate.of(2013, 1, 3))).isZero();
+    }
+
+    @Test
+    public void evictsOnlyTheOwnersOfTheMovedRows() {
+        Cache owners = this.cacheManager.getCache("owners");
+        owners.put(1, "George Franklin");
+        owners.put(6, "Jean Coleman");
+
+        this.archiver.archiveVisits(LocalDate.of(2013, 1, 3));
+
+        assertThat(owners.get(1)).isNotNull();
+        assertThat(owners.get(6)).isNull();
+    }
+
+    @Test
+    public void movesPastAppointments() {
+        LocalDate today = LocalDate.now();
+        insertAppointment(1, today.minusDays(7));
+        insertAppointment(2, today);
+        insertAppointment(3, today.plusDays(7));
+
+        int moved = this.archiver.archive();
+
+        assertThat(moved).isEqualTo(5);
+        assertThat(this.jdbc.queryForList("SELECT id FROM appointments ORDER BY id", Integer.class))
+            .containsExactly(2, 3);
+        assertThat(this.jdbc.queryForObject("SELECT COUNT(*) FROM visits", Integer.class)).isZero();
+    }
+
+    @Test
+    public void readsArchivedHistory() {
+        insertAppointment(1, LocalDate.of(2012, 5, 1));
+        this.archiver.archiveVisits(LocalDate.of(2013, 1, 4));
+        this.archiver.archiveAppointments(LocalDate.of(2013, 1, 1));
+
+        Map<Integer, List<Visit>> visits = this.history.findVisits(Arrays.asList(7, 8));
+        Map<Integer, List<Appointment>> appointments = this.history.findAppointments(Arrays.asList(7, 8));
+
+        assertThat(visits.get(7)).extracting(Visit::getId).containsExactly(1);
+        assertThat(visits.get(8)).extracting(Visit::getId).containsExactly(3, 2);
+        assertThat(visits.get(8).get(0).getDescription()).isEqualTo("neutered");
+        assertThat(appointments.get(7)).extracting(Appointment::getDate).containsExactly(LocalDate.of(2012, 5, 1));
+        assertThat(appointments.get(7).get(0).getVet()).isEqualTo("James Carter");
+    }
+
+    private void insertAppointment(int id, LocalDate date) {
+        this.jdbc.update("INSERT INTO appointments VALUES (?, 7, 'James Carter', ?, '09:00', 'checkup')", id,
+            java.sql.Date.valueOf(date));
+    }
+
+}
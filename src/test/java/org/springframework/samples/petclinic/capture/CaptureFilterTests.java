@@ -0,0 +1,86 @@
+package org.springframework.samples.petclinic.capture;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.samples.petclinic.system.Masking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link CaptureFilter}
+ */
+public class CaptureFilterTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    private CaptureFilter filter;
+
+    @Before
+    public void setup() throws Exception {
+        this.file = this.folder.newFile("capture.log");
+        this.filter = new CaptureFilter(this.file.toPath(), Collections.singleton("telephone"),
+            Arrays.asList("/resources/**"));
+    }
+
+    @After
+    public void close() {
+        this.filter.destroy();
+    }
+
+    @Test
+    public void testCaptureRedactsParameters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/owners/new");
+        request.addParameter("lastName", "Franklin");
+        request.addParameter("telephone", "6085551023");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(302);
+        this.filter.doFilter(request, response, new MockFilterChain());
+
+        List<String> lines = Files.readAllLines(this.file.toPath(), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        CapturedRequest captured = CapturedRequest.parse(lines.get(0));
+        assertThat(captured.getStatus()).isEqualTo(302);
+        assertThat(captured.getMethod()).isEqualTo("POST");
+        assertThat(captured.getPath()).isEqualTo("/owners/new");
+        assertThat(captured.getParameters()).isEqualTo("lastName=Franklin&telephone=0000000000");
+        assertThat(lines.get(0)).doesNotContain("6085551023");
+    }
+
+    @Test
+    public void testCaptureAppendsAndSkipsExcludedPaths() throws Exception {
+        this.filter.doFilter(new MockHttpServletRequest("GET", "/owners/1"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        this.filter.doFilter(new MockHttpServletRequest("GET", "/resources/css/petclinic.css"),
+            new MockHttpServletResponse(), new MockFilterChain());
+        this.filter.doFilter(new MockHttpServletRequest("GET", "/vets.html"), new MockHttpServletResponse(),
+            new MockFilterChain());
+
+        List<String> lines = Files.readAllLines(this.file.toPath(), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(CapturedRequest.parse(lines.get(0)).getPath()).isEqualTo("/owners/1");
+        assertThat(CapturedRequest.parse(lines.get(0)).getParameters()).isEmpty();
+        assertThat(CapturedRequest.parse(lines.get(1)).getPath()).isEqualTo("/vets.html");
+    }
+
+    @Test
+    public void testMask() {
+        assertThat(Masking.mask("+1 (608) 555-1023 ext. 7")).isEqualTo("+0 (000) 000-0000 xxx. 0");
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.springframework.samples.petclinic.datagen;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.system.IdSequences;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link DataGenerator}
+ */
+@RunWith(SpringRunner.class)
+@JdbcTest
+@Import({ DataGenerator.class, IdSequences.class, DataGenConfiguration.class })
+@TestPropertySource(properties = "petclinic.datagen.batch-size=64")
+public class DataGeneratorTests {
+
+    @Autowired
+    private DataGenerator generator;
+
+    @Autowired
+    private IdSequences sequences;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void generatesOwnersWithTheirPetsVisitsAndAppointments() {
+        // Moving the sequences commits on HSQLDB, so rows of other tests may remain
+        int ownersBefore = maxId("owners");
+        int petsBefore = maxId("pets");
+        int visitsBefore = maxId("visits");
+        int appointmentsBefore = maxId("appointments");
+
+        long rows = this.generator.generate(500);
+
+        int owners = count("owners WHERE id > ?", ownersBefore);
+        int pets = count("pets WHERE id > ?", petsBefore);
+        int visits = count("visits WHERE id > ?", visitsBefore);
+        int appointments = count("appointments WHERE id > ?", appointmentsBefore);
+        assertThat(owners).isEqualTo(500);
+        assertThat(rows).isEqualTo(owners + pets + visits + appointments);
+        assertThat(pets).isBetween(700, 1000);
+        assertThat(visits).isBetween(pets, pets * 3);
+        assertThat(appointments).isBetween(pets / 5, pets * 2 / 5);
+        assertThat(count("pets WHERE owner_id NOT IN (SELECT id FROM owners)")).isZero();
+        assertThat(count("visits WHERE id > ? AND (visit_date > CURRENT_DATE OR visit_date < ?)", visitsBefore,
+            Date.valueOf(LocalDate.now().minusYears(3)))).isZero();
+        List<Date> dates = this.jdbc.queryForList("SELECT appointment_date FROM appointments WHERE id > ?",
+            Date.class, appointmentsBefore);
+        assertThat(dates).allSatisfy(date -> {
+            assertThat(date.toLocalDate()).isAfter(LocalDate.now());
+            assertThat(date.toLocalDate().getDayOfWeek()).isNotIn(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        });
+        assertThat(count("appointments WHERE vet NOT IN (SELECT last_name FROM vets)")).isZero();
+        assertThat(this.sequences.next("owner_seq")).isGreaterThan(maxId("owners"));
+    }
+
+    @Test
+    public void sameSeedGeneratesTheSameData() {
+        this.generator.generate(200);
+        int second = maxId("owners") + 1;
+        this.generator.generate(200);
+
+        String query = "SELECT first_name, last_name, address, city, telephone FROM owners WHERE id BETWEEN ? AND ? "
+            + "ORDER BY id";
+        List<Map<String, Object>> firstRun = this.jdbc.queryForList(query, second - 200, second - 1);
+        List<Map<String, Object>> secondRun = this.jdbc.queryForList(query, second, second + 199);
+        assertThat(firstRun).hasSize(200).isEqualTo(secondRun);
+    }
+
+    @Test
+    public void vetsAreNeverBookedTwiceForASlot() {
+        int appointmentsBefore = maxId("appointments");
+        try {
+            // more appointments than the vets have slots in the coming months
+            this.generator.generate(25_000);
+
+            assertThat(count("(SELECT vet, appointment_date, timeslot FROM appointments "
+                + "GROUP BY vet, appointment_date, timeslot HAVING COUNT(*) > 1)")).isZero();
+            assertThat(count("(SELECT pet_id, appointment_date, timeslot FROM appointments "
+                + "GROUP BY pet_id, appointment_date, timeslot HAVING COUNT(*) > 1)")).isZero();
+            assertThat(count("appointments WHERE appointment_date > CURRENT_DATE"))
+                .isGreaterThan(count("vets") * 60 * 18 * 9 / 10);
+        } finally {
+            // the generated rows are committed, free the slots for the other tests
+            this.jdbc.update("DELETE FROM appointments WHERE id > ?", appointmentsBefore);
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+        }
+    }
+
+    @Test
+    public void surnamesHaveALongTail() {
+        Names names = new Names();
+        Random random = new Random(7);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(names.surname(random), 1, Integer::sum);
+        }
+        assertThat(counts.get("Smith")).isGreaterThan(counts.get("Johnson")).isGreaterThan(counts.get("Jones"));
+        assertThat(counts.get("Smith")).isBetween(800, 2000);
+        assertThat(counts.size()).isGreaterThan(30_000);
+        assertThat(Names.surname(Names.SURNAME_RANKS - 1).length()).isLessThanOrEqualTo(30);
+    }
+
+    private int maxId(String table) {
+        Integer max = this.jdbc.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        return max == null ? 0 : max;
+    }
+
+    private int count(String from, Object... args) {
+        return this.jdbc.queryForObject("SELECT COUNT(*) FROM " + from, Integer.class, args);
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.springframework.samples.petclinic.export;
+
+import java.io.OutputStream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link ExportController}
+ */
+@RunWith(SpringRunner.class)
+@WebMvcTest(ExportController.class)
+public class ExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private Exporter exporter;
+
+    @Test
+    public void testExport() throws Exception {
+        this.mockMvc.perform(get("/export/visits").param("format", "csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/gzip"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"visits.csv.gz\""));
+        verify(this.exporter).export(eq(ExportDataset.VISITS), eq(ExportFormat.CSV), any(OutputStream.class));
+    }
+
+    @Test
+    public void testExportUnknownDataset() throws Exception {
+        this.mockMvc.perform(get("/export/invoices")).andExpect(status().isNotFound());
+        verify(this.exporter, never()).export(any(), any(), any(OutputStream.class));
+    }
+
+}
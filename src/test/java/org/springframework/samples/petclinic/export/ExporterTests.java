@@ -0,0 +1,107 @@
+package org.springframework.samples.petclinic.export;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.archive.ArchiveProperties;
+import org.springframework.samples.petclinic.archive.Archiver;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link Exporter}
+ */
+@RunWith(SpringRunner.class)
+@JdbcTest
+@Import({ Exporter.class, ExportConfiguration.class, Archiver.class })
+public class ExporterTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private Exporter exporter;
+
+    @Autowired
+    private Archiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    public void exportsNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = this.exporter.export(ExportDataset.OWNERS, ExportFormat.NDJSON, out);
+
+        List<String> lines = lines(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(rows).isEqualTo(10);
+        assertThat(lines).hasSize(10);
+        Map<?, ?> first = new ObjectMapper().readValue(lines.get(0), Map.class);
+        assertThat(first.get("id")).isEqualTo(1);
+        assertThat(first.get("firstName")).isEqualTo("George");
+        assertThat(first.get("telephone")).isEqualTo("6085551023");
+    }
+
+    @Test
+    public void exportsCsvFile() throws IOException {
+        this.jdbc.update("UPDATE pets SET name = ? WHERE id = 1", "Leo, \"the cat\"");
+        Path file = this.exporter.export(ExportDataset.PETS, ExportFormat.CSV, this.folder.getRoot().toPath());
+
+        assertThat(file.getFileName().toString()).isEqualTo("pets.csv.gz");
+        assertThat(Files.list(this.folder.getRoot().toPath())).containsExactly(file);
+        List<String> lines = lines(Files.newInputStream(file));
+        assertThat(lines).hasSize(14);
+        assertThat(lines.get(0)).isEqualTo("id,ownerId,name,birthDate,type");
+        assertThat(lines.get(1)).isEqualTo("1,1,\"Leo, \"\"the cat\"\"\",2010-09-07,cat");
+    }
+
+    @Test
+    public void exportsArchivedVisits() throws IOException {
+        this.jdbc.update("INSERT INTO visits VALUES (100, 7, ?, 'checkup')",
+            LocalDate.now());
+        assertThat(this.archiver.archiveVisits(LocalDate.now().minusDays(1))).isEqualTo(4);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = this.exporter.export(ExportDataset.VISITS, ExportFormat.CSV, out);
+
+        List<String> lines = lines(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(rows).isEqualTo(5);
+        assertThat(lines.get(1)).isEqualTo("1,7,2013-01-01,rabies shot");
+        assertThat(lines.get(5)).startsWith("100,7,").endsWith(",checkup");
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(ArchiveProperties.class)
+    static class ArchiveTestConfiguration {
+    }
+
+    private static List<String> lines(InputStream gzipped) throws IOException {
+        try (InputStream in = new GZIPInputStream(gzipped)) {
+            return Arrays.asList(StreamUtils.copyToString(in, StandardCharsets.UTF_8).split("\n"));
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.springframework.samples.petclinic.history;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link LatencyHistogram}
+ */
+public class LatencyHistogramTests {
+
+    @Test
+    public void testBucketsHoldTheirValues() {
+        for (long micros : new long[] { 0, 1, 7, 8, 15, 16, 17, 18, 1000, 123456, 60000000 }) {
+            int index = LatencyHistogram.index(micros);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(micros);
+            assertThat(index == 0 || LatencyHistogram.upperBound(index - 1) < micros).isTrue();
+            // within an eighth of the value
+            assertThat(LatencyHistogram.upperBound(index) - micros).isLessThanOrEqualTo(micros / 8);
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getPercentile(0.99)).isZero();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000, i > 98);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getErrors()).isEqualTo(2);
+        assertThat(histogram.getMax()).isEqualTo(100000);
+        assertThat(histogram.getPercentile(0.5)).isBetween(50000L, 50000L + 50000 / 8);
+        assertThat(histogram.getPercentile(0.99)).isBetween(99000L, 100000L);
+        assertThat(histogram.getPercentile(1)).isEqualTo(100000);
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.springframework.samples.petclinic.history;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link MetricsHistory} and {@link HistorySampler}
+ */
+public class MetricsHistoryTests {
+
+    @Test
+    public void testRingBufferKeepsTheLatestMinutes() {
+        MetricsHistory history = new MetricsHistory(2);
+        for (int minute = 1; minute <= 3; minute++) {
+            double[] values = new double[MetricsHistory.SERIES.size()];
+            values[0] = minute;
+            values[1] = Double.NaN;
+            history.add(minute * 60000, values);
+        }
+
+        Map<String, Object> map = history.toMap();
+        assertThat(map.get("times")).isEqualTo(Arrays.asList(120000L, 180000L));
+        @SuppressWarnings("unchecked")
+        Map<String, List<Double>> series = (Map<String, List<Double>>) map.get("series");
+        assertThat(series.keySet()).containsExactlyElementsOf(MetricsHistory.SERIES);
+        assertThat(series.get("requests")).containsExactly(2.0, 3.0);
+        assertThat(series.get("errors")).containsExactly(null, null);
+    }
+
+    @Test
+    public void testSampleOfAMinute() throws Exception {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Timer gc = registry.timer("jvm.gc.pause", "action", "end of minor GC");
+        gc.record(5, TimeUnit.MILLISECONDS);
+        RequestHistoryFilter filter = new RequestHistoryFilter(Collections.singletonList("/manage/**"));
+        HistorySampler sampler = new HistorySampler(registry, filter, new MetricsHistory(10));
+
+        gc.record(20, TimeUnit.MILLISECONDS);
+        registry.counter("cache.gets", "cache", "vets", "result", "hit").increment(3);
+        registry.counter("cache.gets", "cache", "vets", "result", "miss").increment();
+        MockHttpServletResponse error = new MockHttpServletResponse();
+        error.setStatus(500);
+        filter.doFilter(new MockHttpServletRequest("GET", "/owners/1"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/oups"), error, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/manage/history"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        double[] sample = sampler.takeSample();
+
+        assertThat(sample[MetricsHistory.SERIES.indexOf("requests")]).isEqualTo(2);
+        assertThat(sample[MetricsHistory.SERIES.indexOf("errors")]).isEqualTo(1);
+        assertThat(sample[MetricsHistory.SERIES.indexOf("cache.hit-ratio")]).isEqualTo(0.75);
+        // the pause before the sampler started is not counted
+        assertThat(sample[MetricsHistory.SERIES.indexOf("gc.pauses")]).isEqualTo(1);
+        assertThat(sample[MetricsHistory.SERIES.indexOf("gc.pause-time")]).isEqualTo(20);
+        // no connection pool in this registry
+        assertThat(sample[MetricsHistory.SERIES.indexOf("db.active")]).isNaN();
+
+        sample = sampler.takeSample();
+        assertThat(sample[MetricsHistory.SERIES.indexOf("requests")]).isZero();
+        assertThat(sample[MetricsHistory.SERIES.indexOf("cache.hit-ratio")]).isNaN();
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.springframework.samples.petclinic.importer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.Owner;
+import org.springframework.samples.petclinic.owner.OwnerRepository;
+import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.system.IdSequences;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link Importer}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import({ Importer.class, ImportCheckpoints.class, IdSequences.class, ImportConfiguration.class })
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class ImporterTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private Importer importer;
+
+    @Autowired
+    private ImportProperties properties;
+
+    @Autowired
+    private OwnerRepository owners;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @After
+    public void restoreProperties() {
+        this.properties.setCommitInterval(new ImportProperties().getCommitInterval());
+    }
+
+    @Test
+    public void importsOwnersPetsAndVisits() throws IOException {
+        Path directory = this.folder.getRoot().toPath();
+        write(directory, "owners.csv",
+            "id,firstName,lastName,address,city,telephone",
+            "1,Ada,Importer,\"12 Main St, Apt 4\",Madison,6085550001",
+            "2,Bob,Importer,3 Side St,Madison,not-a-phone",
+            "3,Cid,Importer,4 Side St,Madison,6085550003");
+        write(directory, "pets.ndjson",
+            "{\"id\": 1, \"ownerId\": 1, \"name\": \"Rex\", \"birthDate\": \"2015-03-01\", \"type\": \"Dog\"}",
+            "{\"id\": 2, \"ownerId\": 2, \"name\": \"Tom\", \"birthDate\": \"2016-04-02\", \"type\": \"cat\"}",
+            "{\"id\": 3, \"ownerId\": 3, \"name\": \"Zed\", \"birthDate\": \"2016-04-02\", \"type\": \"dragon\"}",
+            "{\"id\": 4, \"ownerId\": 3, \"name\": \"Kit\", \"birthDate\": \"2017-05-03\", \"type\": \"cat\"}");
+        write(directory, "visits.csv",
+            "petId,date,description",
+            "1,2018-01-01,rabies shot",
+            "4,2018-02-01,",
+            "3,2018-03-01,neutered");
+
+        ImportReport report = this.importer.run(directory, "clinic");
+
+        assertThat(report.getDataset("owners").getImported()).isEqualTo(2);
+        assertThat(report.getDataset("owners").getRejected()).isEqualTo(1);
+        assertThat(report.getDataset("pets").getImported()).isEqualTo(2);
+        assertThat(report.getDataset("pets").getRejected()).isEqualTo(2);
+        assertThat(report.getDataset("visits").getImported()).isEqualTo(1);
+        assertThat(report.getDataset("visits").getRejected()).isEqualTo(2);
+
+        Collection<Owner> imported = this.owners.findByLastName("Importer");
+        assertThat(imported).extracting(Owner::getFirstName).containsExactlyInAnyOrder("Ada", "Cid");
+        Owner ada = imported.stream().filter(owner -> owner.getFirstName().equals("Ada")).findFirst().get();
+        assertThat(ada.getAddress()).isEqualTo("12 Main St, Apt 4");
+        Pet rex = ada.getPet("Rex");
+        assertThat(rex.getType().getName()).isEqualTo("dog");
+        assertThat(rex.getVisits()).extracting("description").containsExactly("rabies shot");
+
+        Owner created = new Owner();
+        created.setFirstName("New");
+        created.setLastName("Owner");
+        created.setAddress("1 New St");
+        created.setCity("Madison");
+        created.setTelephone("6085550009");
+        this.owners.save(created);
+        assertThat(created.getId()).isGreaterThan(ada.getId());
+    }
+
+    @Test
+    public void resumesAfterTheLastCheckpoint() throws IOException {
+        this.properties.setCommitInterval(2);
+        Path directory = this.folder.getRoot().toPath();
+        write(directory, "owners.csv",
+            "id,firstName,lastName,address,city,telephone",
+            "1,Ann,Resumed,1 Main St,Madison,6085550001",
+            "2,Ben,Resumed,2 Main St,Madison,6085550002",
+            "3,Cat,Resumed,3 Main St,Madison,6085550003",
+            "4,Dan,Resumed,\"4 Main St");
+
+        assertThatThrownBy(() -> this.importer.run(directory, "resumed")).isInstanceOf(RuntimeException.class);
+        assertThat(count("Resumed")).isEqualTo(2);
+
+        write(directory, "owners.csv",
+            "id,firstName,lastName,address,city,telephone",
+            "1,Ann,Resumed,1 Main St,Madison,6085550001",
+            "2,Ben,Resumed,2 Main St,Madison,6085550002",
+            "3,Cat,Resumed,3 Main St,Madison,6085550003",
+            "4,Dan,Resumed,4 Main St,Madison,6085550004");
+        ImportReport report = this.importer.run(directory, "resumed");
+
+        assertThat(report.getDataset("owners").getSkipped()).isEqualTo(2);
+        assertThat(report.getDataset("owners").getImported()).isEqualTo(2);
+        assertThat(count("Resumed")).isEqualTo(4);
+
+        report = this.importer.run(directory, "resumed");
+        assertThat(report.getDataset("owners").getRead()).isZero();
+        assertThat(count("Resumed")).isEqualTo(4);
+    }
+
+    private int count(String lastName) {
+        return this.jdbc.queryForObject("SELECT COUNT(*) FROM owners WHERE last_name = ?", Integer.class, lastName);
+    }
+
+    private static void write(Path directory, String name, String... lines) throws IOException {
+        Files.write(directory.resolve(name), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
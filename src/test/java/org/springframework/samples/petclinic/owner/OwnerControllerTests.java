@@ -1,14 +1,23 @@
 package org.springframework.samples.petclinic.owner;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import java.time.LocalDate;
+import java.util.Collections;
+
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,10 +25,13 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.archive.ArchivedHistory;
 import org.springframework.samples.petclinic.owner.Owner;
 import org.springframework.samples.petclinic.owner.OwnerController;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.samples.petclinic.visit.Visit;
 import org.springframework.test.web.servlet.MockMvc;
 
 /**
@@ -29,6 +41,7 @@ import org.springframework.test.web.servlet.MockMvc;
  */
 @RunWith(SpringRunner.class)
 @WebMvcTest(OwnerController.class)
+@Import(OwnerReads.class)
 public class OwnerControllerTests {
 
     private static final int TEST_OWNER_ID = 1;
@@ -39,6 +52,12 @@ public class OwnerControllerTests {
     @MockBean
     private OwnerRepository owners;
 
+    @MockBean
+    private OwnerSummaries summaries;
+
+    @MockBean
+    private ArchivedHistory history;
+
     private Owner george;
 
     @Before
@@ -63,6 +82,10 @@ public class OwnerControllerTests {
 
     @Test
     public void testProcessCreationFormSuccess() throws Exception {
+        willAnswer(invocation -> {
+            invocation.<Owner>getArgument(0).setId(2);
+            return null;
+        }).given(this.owners).save(any(Owner.class));
         mockMvc.perform(post("/owners/new")
             .param("firstName", "Joe")
             .param("lastName", "Bloggs")
@@ -70,7 +93,9 @@ public class OwnerControllerTests {
             .param("city", "London")
             .param("telephone", "01316761638")
         )
-            .andExpect(status().is3xxRedirection());
+            .andExpect(status().is3xxRedirection())
+            .andExpect(view().name("redirect:/owners/2"));
+        then(this.summaries).should().refresh(2);
     }
 
     @Test
@@ -97,7 +122,7 @@ public class OwnerControllerTests {
 
     @Test
     public void testProcessFindFormSuccess() throws Exception {
-        given(this.owners.findByLastName("")).willReturn(Lists.newArrayList(george, new Owner()));
+        given(this.summaries.findByLastName("")).willReturn(Lists.newArrayList(summary(george), summary(new Owner())));
         mockMvc.perform(get("/owners"))
             .andExpect(status().isOk())
             .andExpect(view().name("owners/ownersList"));
@@ -105,7 +130,7 @@ public class OwnerControllerTests {
 
     @Test
     public void testProcessFindFormByLastName() throws Exception {
-        given(this.owners.findByLastName(george.getLastName())).willReturn(Lists.newArrayList(george));
+        given(this.summaries.findByLastName(george.getLastName())).willReturn(Lists.newArrayList(summary(george)));
         mockMvc.perform(get("/owners")
             .param("lastName", "Franklin")
         )
@@ -148,6 +173,7 @@ public class OwnerControllerTests {
         )
             .andExpect(status().is3xxRedirection())
             .andExpect(view().name("redirect:/owners/{ownerId}"));
+        then(this.summaries).should().refresh(TEST_OWNER_ID);
     }
 
     @Test
@@ -173,7 +199,34 @@ public class OwnerControllerTests {
             .andExpect(model().attribute("owner", hasProperty("address", is("110 W. Liberty St."))))
             .andExpect(model().attribute("owner", hasProperty("city", is("Madison"))))
             .andExpect(model().attribute("owner", hasProperty("telephone", is("6085551023"))))
+            .andExpect(model().attributeDoesNotExist("archivedVisits"))
             .andExpect(view().name("owners/ownerDetails"));
     }
 
+    @Test
+    public void testShowOwnerWithFullHistory() throws Exception {
+        Pet max = new Pet();
+        max.setName("Max");
+        george.addPet(max);
+        max.setId(8);
+        Visit visit = new Visit();
+        visit.setId(4);
+        visit.setPetId(8);
+        visit.setDate(LocalDate.of(2010, 3, 4));
+        visit.setDescription("spayed");
+        given(this.history.findVisits(Collections.singletonList(8)))
+            .willReturn(Collections.singletonMap(8, Collections.singletonList(visit)));
+
+        mockMvc.perform(get("/owners/{ownerId}", TEST_OWNER_ID).param("history", "full"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("archivedVisits", hasKey(8)))
+            .andExpect(content().string(containsString("2010-03-04")))
+            .andExpect(content().string(containsString("spayed")));
+    }
+
+    private static OwnerSummary summary(Owner owner) {
+        return new OwnerSummary(owner.getId(), owner.getFirstName(), owner.getLastName(), owner.getAddress(),
+            owner.getCity(), owner.getTelephone(), 0, "", null, null);
+    }
+
 }
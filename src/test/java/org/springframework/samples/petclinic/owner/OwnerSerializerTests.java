@@ -0,0 +1,143 @@
+package org.springframework.samples.petclinic.owner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.ehcache.Cache;
+import org.ehcache.PersistentCacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.IntegerSerializer;
+import org.ehcache.spi.serialization.Serializer;
+import org.ehcache.spi.serialization.SerializerException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.samples.petclinic.appointment.Appointment;
+import org.springframework.samples.petclinic.system.CacheSerializer;
+import org.springframework.samples.petclinic.visit.Visit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link OwnerSerializer}, and the disk tier it is written to
+ */
+public class OwnerSerializerTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() {
+        OwnerSerializer serializer = new OwnerSerializer();
+        Owner owner = serializer.read(serializer.serialize(owner()));
+
+        assertThat(owner.getId()).isEqualTo(6);
+        assertThat(owner.getLastName()).isEqualTo("Davis");
+        assertThat(owner.getTelephone()).isEqualTo("6085553198");
+        assertThat(owner.getPets()).hasSize(1);
+        Pet pet = owner.getPet("Max");
+        assertThat(pet.getOwner()).isSameAs(owner);
+        assertThat(pet.getType().getName()).isEqualTo("dog");
+        assertThat(pet.getBirthDate()).isEqualTo(LocalDate.of(2012, 9, 4));
+        assertThat(pet.getVisits()).extracting(Visit::getDescription).containsExactly("rabies shot");
+        assertThat(pet.getVisits().get(0).getPetId()).isEqualTo(8);
+        assertThat(pet.getAppointments()).extracting(Appointment::getVet).containsExactly("Linda Douglas");
+        assertThat(serializer.equals(owner, serializer.serialize(owner()))).isTrue();
+    }
+
+    @Test
+    public void testOwnersSurviveRestart() throws Exception {
+        try (PersistentCacheManager cacheManager = cacheManager(new OwnerSerializer())) {
+            cacheManager.getCache("owners", Integer.class, Owner.class).put(6, owner());
+        }
+        try (PersistentCacheManager cacheManager = cacheManager(new OwnerSerializer())) {
+            Owner owner = cacheManager.getCache("owners", Integer.class, Owner.class).get(6);
+            assertThat(owner.getPet("Max").getVisits()).hasSize(1);
+        }
+    }
+
+    @Test
+    public void testOwnersOfAnotherFormatFailToRead() throws Exception {
+        try (PersistentCacheManager cacheManager = cacheManager(new OwnerSerializer())) {
+            cacheManager.getCache("owners", Integer.class, Owner.class).put(6, owner());
+        }
+        try (PersistentCacheManager cacheManager = cacheManager(new NextOwnerSerializer())) {
+            Cache<Integer, Owner> owners = cacheManager.getCache("owners", Integer.class, Owner.class);
+            // the cache error handler of the application evicts them, and loads the owner again
+            assertThatThrownBy(() -> owners.get(6)).isInstanceOf(SerializerException.class);
+            owners.remove(6);
+            assertThat(owners.get(6)).isNull();
+        }
+    }
+
+    private PersistentCacheManager cacheManager(Serializer<Owner> serializer) throws IOException {
+        return CacheManagerBuilder.newCacheManagerBuilder()
+            .with(CacheManagerBuilder.persistence(this.folder.getRoot()))
+            .withCache("owners", CacheConfigurationBuilder.newCacheConfigurationBuilder(Integer.class, Owner.class,
+                ResourcePoolsBuilder.newResourcePoolsBuilder().heap(10, EntryUnit.ENTRIES).disk(1, MemoryUnit.MB,
+                    true)).withKeySerializer(new IntegerSerializer()).withValueSerializer(serializer))
+            .build(true);
+    }
+
+    private static Owner owner() {
+        Owner owner = new Owner();
+        owner.setId(6);
+        owner.setFirstName("Harold");
+        owner.setLastName("Davis");
+        owner.setAddress("105 N. Lake St.");
+        owner.setCity("Monona");
+        owner.setTelephone("6085553198");
+        PetType dog = new PetType();
+        dog.setId(2);
+        dog.setName("dog");
+        Pet pet = new Pet();
+        pet.setId(8);
+        pet.setName("Max");
+        pet.setBirthDate(LocalDate.of(2012, 9, 4));
+        pet.setType(dog);
+        Visit visit = new Visit();
+        visit.setId(1);
+        visit.setDate(LocalDate.of(2013, 1, 1));
+        visit.setDescription("rabies shot");
+        pet.addVisit(visit);
+        Appointment appointment = new Appointment();
+        appointment.setId(1);
+        appointment.setVet("Linda Douglas");
+        appointment.setTimeslot("09:00");
+        pet.addAppointment(appointment);
+        owner.getPetsInternal().add(pet);
+        pet.setOwner(owner);
+        return owner;
+    }
+
+    /**
+     * The serializer of a later build, which changed the format of the owners.
+     */
+    private static class NextOwnerSerializer extends CacheSerializer<Owner> {
+
+        private final OwnerSerializer current = new OwnerSerializer();
+
+        NextOwnerSerializer() {
+            super(2);
+        }
+
+        @Override
+        protected void write(Owner owner, DataOutput out) throws IOException {
+            out.write(this.current.serialize(owner).array(), 1, this.current.serialize(owner).remaining() - 1);
+        }
+
+        @Override
+        protected Owner read(DataInput in) throws IOException {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.springframework.samples.petclinic.owner;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link OwnerSummaries}
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@Import(OwnerSummaries.class)
+public class OwnerSummariesTests {
+
+    @TestConfiguration
+    static class CacheTestConfiguration {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("owners");
+        }
+
+    }
+
+    @Autowired
+    private OwnerSummaries summaries;
+
+    @Autowired
+    private OwnerRepository owners;
+
+    @Autowired
+    private PetRepository pets;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void rebuildsAllSummaries() {
+        this.jdbc.update("INSERT INTO owner_summary (owner_id, last_name, pet_count) VALUES (999, 'Gone', 0)");
+
+        assertThat(this.summaries.rebuild()).isEqualTo(10);
+
+        assertThat(this.summaries.findByLastName("Gone")).isEmpty();
+        List<OwnerSummary> colemans = this.summaries.findByLastName("coleman");
+        assertThat(colemans).hasSize(1);
+        OwnerSummary jean = colemans.get(0);
+        assertThat(jean.getId()).isEqualTo(6);
+        assertThat(jean.getFirstName()).isEqualTo("Jean");
+        assertThat(jean.getCity()).isEqualTo("Monona");
+        assertThat(jean.getPetCount()).isEqualTo(2);
+        assertThat(jean.getPetNames()).isEqualTo("Max, Samantha");
+        assertThat(jean.getLastVisit()).isEqualTo(LocalDate.of(2013, 1, 4));
+        assertThat(jean.getNextAppointment()).isNull();
+        assertThat(this.summaries.findByLastName("Davis")).extracting(OwnerSummary::getId).containsExactly(2, 4);
+    }
+
+    @Test
+    public void rebuildEvictsOnlyTheOwnersWhoseSummaryChanged() {
+        this.summaries.rebuild();
+        Cache cache = this.cacheManager.getCache("owners");
+        for (int id = 1; id <= 3; id++) {
+            cache.put(id, this.owners.findById(id));
+        }
+        this.jdbc.update("UPDATE owner_summary SET pet_count = 5 WHERE owner_id = 2");
+
+        this.summaries.rebuild();
+
+        assertThat(cache.get(1)).isNotNull();
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.get(3)).isNotNull();
+        assertThat(this.summaries.findByLastName("Davis").get(0).getPetCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void refreshSeesUnflushedChangesOfTheTransaction() {
+        Owner owner = this.owners.findById(6);
+        Pet pet = new Pet();
+        pet.setName("Bailey");
+        pet.setBirthDate(LocalDate.of(2015, 3, 1));
+        pet.setType(this.pets.findPetTypes().get(0));
+        owner.addPet(pet);
+        this.pets.save(pet);
+
+        this.summaries.refresh(6);
+
+        OwnerSummary jean = this.summaries.findByLastName("Coleman").get(0);
+        assertThat(jean.getPetCount()).isEqualTo(3);
+        assertThat(jean.getPetNames()).isEqualTo("Bailey, Max, Samantha");
+    }
+
+    @Test
+    public void refreshesTheOwnerOfAPet() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        this.jdbc.update("INSERT INTO appointments VALUES (1, 7, 'James Carter', ?, '09:00', 'checkup')",
+            Date.valueOf(tomorrow));
+        this.jdbc.update("INSERT INTO appointments VALUES (2, 8, 'James Carter', ?, '10:00', 'checkup')",
+            Date.valueOf(tomorrow.plusDays(1)));
+        this.jdbc.update("INSERT INTO appointments VALUES (3, 8, 'James Carter', ?, '10:00', 'checkup')",
+            Date.valueOf(LocalDate.now().minusDays(1)));
+
+        this.summaries.refreshByPet(8);
+
+        assertThat(this.summaries.findByLastName("Coleman").get(0).getNextAppointment()).isEqualTo(tomorrow);
+    }
+
+}
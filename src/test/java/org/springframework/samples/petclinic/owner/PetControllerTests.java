@@ -1,6 +1,7 @@
 package org.springframework.samples.petclinic.owner;
 
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
@@ -34,7 +35,7 @@ import org.springframework.test.web.servlet.MockMvc;
 @RunWith(SpringRunner.class)
 @WebMvcTest(value = PetController.class,
         includeFilters = @ComponentScan.Filter(
-                value = PetTypeFormatter.class,
+                value = {PetTypeFormatter.class, OwnerLoader.class, PetLoader.class},
                 type = FilterType.ASSIGNABLE_TYPE))
 public class PetControllerTests {
 
@@ -47,6 +48,9 @@ public class PetControllerTests {
     @MockBean
     private PetRepository pets;
 
+    @MockBean
+    private OwnerSummaries summaries;
+
     @MockBean
     private OwnerRepository owners;
 
@@ -86,6 +90,7 @@ public class PetControllerTests {
                 .param("birthDate", "2015-02-12"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(view().name("redirect:/owners/{ownerId}"));
+        then(this.summaries).should().refresh(TEST_OWNER_ID);
     }
 
     @Test
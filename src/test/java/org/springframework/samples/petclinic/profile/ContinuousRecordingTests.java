@@ -0,0 +1,56 @@
+package org.springframework.samples.petclinic.profile;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link ContinuousRecording}
+ */
+public class ContinuousRecordingTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ContinuousRecording recording;
+
+    private File directory;
+
+    @Before
+    public void setup() throws Exception {
+        this.directory = new File(this.folder.getRoot(), "profiles");
+        ProfileProperties.Continuous properties = new ProfileProperties().getContinuous();
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        properties.setMinInterval(Duration.ofHours(1));
+        properties.setDirectory(this.directory.getPath());
+        this.recording = new ContinuousRecording(properties);
+    }
+
+    @After
+    public void close() {
+        this.recording.close();
+    }
+
+    @Test
+    public void testSlowRequestDumpsOnce() throws Exception {
+        this.recording.requestCompleted("GET /owners", Duration.ofMillis(99).toNanos());
+        assertThat(this.directory).doesNotExist();
+
+        this.recording.requestCompleted("GET /owners", Duration.ofMillis(100).toNanos());
+        this.recording.requestCompleted("GET /owners", Duration.ofSeconds(1).toNanos());
+        // the dump runs in the background
+        for (int i = 0; i < 50 && (this.directory.list() == null || this.directory.list().length == 0); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(this.directory.list()).hasSize(1);
+        assertThat(this.directory.listFiles()[0].getName()).startsWith("petclinic-").endsWith(".jfr");
+    }
+
+}
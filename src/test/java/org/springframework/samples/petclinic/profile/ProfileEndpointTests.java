@@ -0,0 +1,41 @@
+package org.springframework.samples.petclinic.profile;
+
+import java.io.File;
+import java.io.InputStream;
+
+import org.junit.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link ProfileEndpoint}
+ */
+public class ProfileEndpointTests {
+
+    private final ProfileEndpoint endpoint = new ProfileEndpoint(new ProfileProperties());
+
+    @Test
+    public void testRecordingIsSentThenDeleted() throws Exception {
+        WebEndpointResponse<Resource> response = this.endpoint.profile(1, "default");
+
+        assertThat(response.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        File file = response.getBody().getFile();
+        byte[] recording;
+        try (InputStream content = response.getBody().getInputStream()) {
+            recording = StreamUtils.copyToByteArray(content);
+        }
+        // the magic number of the JFR format
+        assertThat(new String(recording, 0, 3, "US-ASCII")).isEqualTo("FLR");
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        assertThat(this.endpoint.profile(0, null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+        assertThat(this.endpoint.profile(1, "unknown").getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+}
@@ -19,18 +19,25 @@ package org.springframework.samples.petclinic.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.samples.petclinic.owner.Owner;
 import org.springframework.samples.petclinic.owner.OwnerRepository;
 import org.springframework.samples.petclinic.owner.Pet;
 import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.owner.PetSummary;
 import org.springframework.samples.petclinic.owner.PetType;
+import org.springframework.samples.petclinic.system.QueryStats;
+import org.springframework.samples.petclinic.system.QueryStatsConfiguration;
 import org.springframework.samples.petclinic.vet.Vet;
 import org.springframework.samples.petclinic.vet.VetRepository;
 import org.springframework.samples.petclinic.visit.Visit;
@@ -62,6 +69,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest(includeFilters = @ComponentScan.Filter(Service.class))
+@Import(QueryStatsConfiguration.class)
 public class ClinicServiceTests {
 
     @Autowired
@@ -94,6 +102,34 @@ public class ClinicServiceTests {
         assertThat(owner.getPets().get(0).getType().getName()).isEqualTo("cat");
     }
 
+    @Test
+    public void shouldFindOwnerWithPetsInBoundedQueries() {
+        QueryStats stats = QueryStats.measure(() -> {
+            Owner owner = this.owners.findById(6);
+            assertThat(owner.getPets()).hasSize(2);
+            owner.getPets().forEach(pet -> pet.getVisits().size());
+        });
+        // the owner, its pets, then the visits and the appointments of each pet
+        assertThat(stats.getStatements()).isLessThanOrEqualTo(6);
+        assertThat(stats.getEntities()).isEqualTo(8);
+    }
+
+    @Test
+    public void shouldFindOwnerPagesAfterCursor() {
+        List<Owner> page = this.owners.findPageByLastName("", 0, PageRequest.of(0, 3));
+        assertThat(page).extracting(Owner::getId).containsExactly(1, 2, 3);
+
+        page = this.owners.findPageByLastName("Davis", 2, PageRequest.of(0, 3));
+        assertThat(page).extracting(Owner::getId).containsExactly(4);
+    }
+
+    @Test
+    public void shouldFindOwnersByIds() {
+        List<Owner> found = this.owners.findByIdIn(Arrays.asList(1, 3, 99));
+        assertThat(found).extracting(Owner::getLastName).containsExactlyInAnyOrder("Franklin", "Rodriquez");
+        assertThat(this.pets.findSummariesByIdIn(Arrays.asList(7, 8))).hasSize(2);
+    }
+
     @Test
     @Transactional
     public void shouldInsertOwner() {
@@ -136,6 +172,14 @@ public class ClinicServiceTests {
 
     }
 
+    @Test
+    public void shouldFindPetSummariesByOwner() {
+        List<PetSummary> pets = this.pets.findSummariesByOwnerId(6, 0, PageRequest.of(0, 10));
+        assertThat(pets).extracting(PetSummary::getName).containsExactly("Samantha", "Max");
+        assertThat(pets.get(0).getType()).isEqualTo("cat");
+        assertThat(pets.get(0).getOwnerId()).isEqualTo(6);
+    }
+
     @Test
     public void shouldFindAllPetTypes() {
         Collection<PetType> petTypes = this.pets.findPetTypes();
@@ -185,6 +229,11 @@ public class ClinicServiceTests {
 
     @Test
     public void shouldFindVets() {
+        QueryStats stats = QueryStats.measure(() -> this.vets.findAll());
+        // the vets and their specialties, in a single join
+        assertThat(stats.getStatements()).isEqualTo(1);
+        assertThat(stats.getEntities()).isEqualTo(9);
+
         Collection<Vet> vets = this.vets.findAll();
 
         Vet vet = EntityUtils.getById(vets, Vet.class, 3);
@@ -0,0 +1,166 @@
+package org.springframework.samples.petclinic.system;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.samples.petclinic.PetClinicApplication;
+import org.springframework.samples.petclinic.owner.OwnerReads;
+import org.springframework.samples.petclinic.vet.VetReads;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link CacheEvents} and {@link CacheEventPoller}, with a second node of the application sharing the
+ * in-memory database of the test context
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CacheEventsTests {
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CacheEventPoller poller;
+
+    @Before
+    public void startOtherNode() {
+        if (otherNode == null) {
+            // the database of the test context is already initialized, and the endpoints registered in JMX; the
+            // devtools would shut the shared in-memory database down when the node is closed
+            otherNode = new SpringApplicationBuilder(PetClinicApplication.class).web(WebApplicationType.NONE)
+                .properties("spring.application.name=petclinic-other", "spring.datasource.initialization-mode=never",
+                    "spring.jmx.enabled=false", "petclinic.warmup.enabled=false",
+                    "petclinic.cache-events.poll-interval=PT1H",
+                    "spring.autoconfigure.exclude="
+                            + "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+                .run();
+        }
+    }
+
+    @AfterClass
+    public static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+            otherNode = null;
+        }
+    }
+
+    @Test
+    public void testOwnerEditEvictsTheOwnerOnTheOtherNode() throws Exception {
+        Cache<Object, Object> owners = otherNode.getBean(CacheManager.class).getCache("owners");
+        otherNode.getBean(OwnerReads.class).findById(1);
+        otherNode.getBean(OwnerReads.class).findById(2);
+        otherNode.getBean(CacheEventPoller.class).poll();
+        this.poller.poll();
+        assertThat(owners.containsKey(1)).isTrue();
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(post("/owners/{ownerId}/edit", 1).param("firstName", "George").param("lastName", "Franklin")
+            .param("address", "110 W. Liberty St.").param("city", "Madison").param("telephone", "6085551023"))
+            .andExpect(status().is3xxRedirection());
+        assertThat(this.jdbc.queryForObject("SELECT cache_key FROM cache_events WHERE cache_name = 'owners' "
+            + "ORDER BY id DESC LIMIT 1", String.class)).isEqualTo("1");
+
+        assertThat(otherNode.getBean(CacheEventPoller.class).poll()).isGreaterThanOrEqualTo(1);
+        assertThat(owners.containsKey(1)).isFalse();
+        assertThat(owners.containsKey(2)).isTrue();
+        // the events of a node are already applied to its own caches
+        assertThat(this.poller.poll()).isZero();
+    }
+
+    @Test
+    public void testVetEditClearsTheVetsOnTheOtherNode() throws Exception {
+        Cache<Object, Object> vets = otherNode.getBean(CacheManager.class).getCache("vets");
+        otherNode.getBean(VetReads.class).findAll();
+        otherNode.getBean(CacheEventPoller.class).poll();
+        assertThat(vets.containsKey("all")).isTrue();
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(post("/vets/{vetId}/edit", 1).param("firstName", "James").param("lastName", "Carter"))
+            .andExpect(status().is3xxRedirection());
+
+        otherNode.getBean(CacheEventPoller.class).poll();
+        assertThat(vets.containsKey("all")).isFalse();
+    }
+
+    @Test
+    public void testEventsRolledBackAreNotApplied() {
+        CacheEventPoller poller = otherNode.getBean(CacheEventPoller.class);
+        poller.poll();
+        Cache<Object, Object> owners = otherNode.getBean(CacheManager.class).getCache("owners");
+        otherNode.getBean(OwnerReads.class).findById(3);
+
+        // an id taken by a transaction that rolled back, then an event committed after it
+        long skipped = this.jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_events", Long.class) + 1;
+        this.jdbc.update("INSERT INTO cache_events (id, node, cache_name, cache_key, created) "
+            + "VALUES (?, 'test', 'owners', '3', CURRENT_TIMESTAMP)", skipped + 1);
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(owners.containsKey(3)).isFalse();
+
+        // the skipped id is read again, in case its transaction committed late
+        otherNode.getBean(OwnerReads.class).findById(3);
+        this.jdbc.update("INSERT INTO cache_events (id, node, cache_name, cache_key, created) "
+            + "VALUES (?, 'test', 'owners', '3', CURRENT_TIMESTAMP)", skipped);
+        assertThat(poller.poll()).isEqualTo(1);
+        assertThat(owners.containsKey(3)).isFalse();
+        assertThat(poller.poll()).isZero();
+    }
+
+    @Test
+    public void testMarkBeforeThePurgedEventsClearsTheCaches() throws Exception {
+        Cache<Object, Object> owners = otherNode.getBean(CacheManager.class).getCache("owners");
+        this.jdbc.update("INSERT INTO cache_events (node, cache_name, cache_key, created) "
+            + "VALUES ('test', 'owners', '5', CURRENT_TIMESTAMP)");
+        long first = this.jdbc.queryForObject("SELECT MIN(id) FROM cache_events", Long.class);
+        long last = this.jdbc.queryForObject("SELECT MAX(id) FROM cache_events", Long.class);
+        Path markFile = this.folder.getRoot().toPath().resolve("cache-events.mark");
+
+        otherNode.getBean(OwnerReads.class).findById(4);
+        Files.write(markFile, Long.toString(last).getBytes(StandardCharsets.UTF_8));
+        newPoller(markFile);
+        assertThat(owners.containsKey(4)).isTrue();
+
+        // the events between the mark and the first one kept were purged, and may have evicted the owner
+        Files.write(markFile, Long.toString(first - 2).getBytes(StandardCharsets.UTF_8));
+        newPoller(markFile);
+        assertThat(owners.containsKey(4)).isFalse();
+    }
+
+    private void newPoller(Path markFile) {
+        new CacheEventPoller(otherNode.getBean(NamedParameterJdbcTemplate.class),
+            otherNode.getBean(CacheManager.class), "test", new CacheEventsProperties(), markFile);
+    }
+
+}
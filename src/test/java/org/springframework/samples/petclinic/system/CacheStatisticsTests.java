@@ -0,0 +1,138 @@
+package org.springframework.samples.petclinic.system;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.samples.petclinic.owner.OwnerReads;
+import org.springframework.samples.petclinic.vet.VetRepository;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/**
+ * Test class for {@link CacheMonitor}, {@link CacheMetrics} and {@link CacheStatsEndpoint}, and the tiers of
+ * {@link CacheConfiguration}
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CacheStatisticsTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheMonitor monitor;
+
+    @Autowired
+    private VetRepository vets;
+
+    @Autowired
+    private OwnerReads owners;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CacheEventPoller poller;
+
+    @Test
+    public void testStatisticsAndMetrics() throws Exception {
+        Cache<Object, Object> cache = this.cacheManager.getCache("vets");
+        cache.clear();
+        CacheStatistics before = this.monitor.getCache("vets");
+        assertThat(cache.get("all")).isNull();
+        cache.put("all", this.vets.findAll());
+        assertThat(cache.get("all")).isNotNull();
+
+        CacheStatistics after = this.monitor.getCache("vets");
+        assertThat(after.getHits()).isEqualTo(before.getHits() + 1);
+        assertThat(after.getMisses()).isEqualTo(before.getMisses() + 1);
+        assertThat(after.getPuts()).isEqualTo(before.getPuts() + 1);
+        assertThat(after.getEntries()).isEqualTo(1);
+        assertThat(after.getMaxEntries()).isEqualTo(1000);
+        // counting the entries does not count as hits
+        assertThat(this.monitor.getCache("vets").getHits()).isEqualTo(after.getHits());
+        // the six vets of the sample data with their specialties, measured after the put
+        for (int i = 0; i < 50 && this.monitor.getHeapBytes("vets") == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(this.monitor.getHeapBytes("vets")).isGreaterThan(1000);
+
+        FunctionCounter hits = this.registry.find("petclinic.cache.hits").tag("cache", "vets").functionCounter();
+        assertThat(hits).isNotNull();
+        assertThat(hits.count()).isEqualTo(after.getHits());
+        assertThat(this.registry.find("petclinic.cache.entries").tag("cache", "vets").gauge().value()).isEqualTo(1);
+        assertThat(this.registry.find("petclinic.cache.size").tag("cache", "vets").gauge().value()).isEqualTo(1000);
+        assertThat(this.registry.find("petclinic.cache.heap").tag("cache", "vets").gauge().value()).isPositive();
+    }
+
+    @Test
+    public void testTiers() {
+        // the pending events of the other nodes would evict some of the owners while they are counted
+        this.poller.poll();
+        for (int id = 1; id <= 10; id++) {
+            this.owners.findById(id);
+        }
+        assertThat(this.owners.findById(1).getLastName()).isEqualTo("Franklin");
+
+        // the puts go to the disk tier, the authority, and the gets bring them to the heap
+        CacheStatistics owners = this.monitor.getCache("owners");
+        assertThat(owners.getEntries()).isGreaterThanOrEqualTo(10);
+        assertThat(owners.getHeapEntries()).isBetween(1L, owners.getEntries());
+        assertThat(owners.getDiskBytes()).isPositive();
+        assertThat(this.registry.find("petclinic.cache.disk").tag("cache", "owners").gauge().value()).isPositive();
+        assertThat(this.monitor.getCache("vets").getDiskBytes()).isZero();
+    }
+
+    @Test
+    public void testEndpointClearsAndResizes() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        this.cacheManager.getCache("vets").put("all", this.vets.findAll());
+        mockMvc.perform(get("/manage/cachestats")).andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.name == 'vets')].entries").value(1))
+            .andExpect(jsonPath("$[?(@.name == 'vets')].maxEntries").value(1000));
+
+        try {
+            mockMvc.perform(post("/manage/cachestats/vets").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"size\": 10}")).andExpect(status().isOk()).andExpect(jsonPath("$.maxEntries").value(10));
+            mockMvc.perform(post("/manage/cachestats/vets").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"size\": 0}")).andExpect(status().isBadRequest());
+        } finally {
+            this.monitor.resize("vets", 1000);
+        }
+
+        String cleared = "SELECT COUNT(*) FROM cache_events WHERE cache_name = 'vets' AND cache_key IS NULL";
+        int events = this.jdbc.queryForObject(cleared, Integer.class);
+        mockMvc.perform(delete("/manage/cachestats/vets")).andExpect(status().isNoContent());
+        // the other nodes clear it too
+        assertThat(this.jdbc.queryForObject(cleared, Integer.class)).isEqualTo(events + 1);
+        mockMvc.perform(get("/manage/cachestats/vets")).andExpect(status().isOk())
+            .andExpect(jsonPath("$.entries").value(0));
+        mockMvc.perform(get("/manage/cachestats/owls")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/manage/caches")).andExpect(status().isOk()).andExpect(view().name("system/caches"));
+    }
+
+}
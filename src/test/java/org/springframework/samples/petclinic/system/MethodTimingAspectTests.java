@@ -0,0 +1,62 @@
+package org.springframework.samples.petclinic.system;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link MethodTimingAspect}
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class MethodTimingAspectTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void testControllerAndRepositoryTimers() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(get("/owners/find")).andExpect(status().isOk());
+        mockMvc.perform(get("/owners").param("lastName", "Davis")).andExpect(status().isOk());
+
+        Timer handler = this.registry.find("petclinic.controller").tag("class", "OwnerController")
+            .tag("method", "processFindForm").tag("outcome", "SUCCESS").timer();
+        assertThat(handler).isNotNull();
+        assertThat(handler.count()).isEqualTo(1);
+        // the SLO buckets of application.properties
+        assertThat(Arrays.stream(handler.takeSnapshot().histogramCounts()).map(CountAtBucket::bucket)
+            .map(bucket -> (long) bucket / 1000000).toArray())
+            .contains(50L, 100L, 250L, 500L, 1000L);
+        assertThat(this.registry.find("petclinic.controller").tag("method", "initFindForm").timer()).isNotNull();
+    }
+
+    @Test
+    public void testRepositoryTimersNameTheRepository() {
+        this.context.getBean(org.springframework.samples.petclinic.owner.OwnerRepository.class).findById(1);
+
+        Timer repository = this.registry.find("petclinic.repository").tag("class", "OwnerRepository")
+            .tag("method", "findById").tag("outcome", "SUCCESS").timer();
+        assertThat(repository).isNotNull();
+        assertThat(repository.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.springframework.samples.petclinic.system;
+
+import java.lang.reflect.Method;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the {@link QueryStats} of the requests
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class QueryStatsTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    public void testShowOwnerQueries() throws Exception {
+        // the registry is shared with the other tests of the application context, which show the same owner
+        DistributionSummary.Builder statements = DistributionSummary.builder("petclinic.request.statements")
+            .tag("handler", "OwnerController.showOwner");
+        long requests = statements.register(this.registry).count();
+        double total = statements.register(this.registry).totalAmount();
+        // a cached owner needs no query at all
+        this.cacheManager.getCache("owners").evict(6);
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(get("/owners/{ownerId}", 6)).andExpect(status().isOk());
+
+        assertThat(statements.register(this.registry).count()).isEqualTo(requests + 1);
+        // the owner, its two pets, then the visits and the appointments of each pet
+        assertThat(statements.register(this.registry).totalAmount() - total).isEqualTo(6);
+        assertThat(this.registry.find("petclinic.request.jdbc").tag("handler", "OwnerController.showOwner").timer())
+            .isNotNull();
+    }
+
+    @Test
+    public void testHeader() throws Exception {
+        QueryStatsInterceptor interceptor = new QueryStatsInterceptor(new SimpleMeterRegistry(), true);
+        Method method = QueryStatsTests.class.getMethod("testHeader");
+        HandlerMethod handler = new HandlerMethod(this, method);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/owners/6");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        QueryStats.current().executed(1000000);
+        QueryStats.current().fetched(true, 0);
+        interceptor.postHandle(request, response, handler, null);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(response.getHeader(QueryStatsInterceptor.HEADER))
+            .isEqualTo("statements=1, rows=1, entities=0, jdbc=1.0ms");
+        assertThat(QueryStats.current()).isNull();
+    }
+
+}
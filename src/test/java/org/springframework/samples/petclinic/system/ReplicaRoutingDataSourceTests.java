@@ -0,0 +1,170 @@
+package org.springframework.samples.petclinic.system;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link ReplicaRoutingDataSource}, with two embedded HSQLDB databases standing in for the primary and
+ * the replica.
+ */
+public class ReplicaRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    private ReplicaRoutingDataSource routing;
+
+    private JdbcTemplate jdbc;
+
+    private TransactionTemplate reads;
+
+    private TransactionTemplate writes;
+
+    @Before
+    public void setup() {
+        this.primary = node("primary");
+        this.replica = node("replica");
+        this.routing = new ReplicaRoutingDataSource(this.primary, Collections.singletonList(this.replica),
+            Duration.ofHours(1));
+        this.routing.afterPropertiesSet();
+        this.jdbc = new JdbcTemplate(this.routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(this.routing);
+        this.reads = new TransactionTemplate(transactionManager);
+        this.reads.setReadOnly(true);
+        this.writes = new TransactionTemplate(transactionManager);
+    }
+
+    @After
+    public void close() throws IOException {
+        this.routing.close();
+        this.primary.shutdown();
+        this.replica.shutdown();
+    }
+
+    @Test
+    public void readOnlyTransactionsGoToTheReplica() {
+        assertThat(read()).isEqualTo("replica");
+        assertThat(write()).isEqualTo("primary");
+        assertThat(this.jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    public void replicasAreUsedRoundRobin() throws IOException {
+        EmbeddedDatabase second = node("second");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(this.primary,
+            Arrays.asList(this.replica, second), Duration.ofHours(1));
+        TransactionTemplate reads = new TransactionTemplate(
+            new DataSourceTransactionManager(routing));
+        reads.setReadOnly(true);
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        try {
+            String first = reads.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+            String next = reads.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+            assertThat(Arrays.asList(first, next)).containsExactlyInAnyOrder("replica", "second");
+        } finally {
+            routing.close();
+            second.shutdown();
+        }
+    }
+
+    @Test
+    public void readsFallBackToThePrimaryWhenTheReplicaIsDown() throws IOException {
+        DataSource unreachable = new DriverManagerDataSource("jdbc:hsqldb:hsql://localhost:1/replica", "sa", "");
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(this.primary,
+            Collections.singletonList(unreachable), Duration.ofHours(1));
+        TransactionTemplate reads = new TransactionTemplate(
+            new DataSourceTransactionManager(routing));
+        reads.setReadOnly(true);
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        try {
+            assertThat(routing.getHealthyReplicas()).isEqualTo(1);
+            String name = reads.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+            assertThat(name).isEqualTo("primary");
+            assertThat(routing.getHealthyReplicas()).isZero();
+            routing.checkReplicas();
+            assertThat(routing.getHealthyReplicas()).isZero();
+        } finally {
+            routing.close();
+        }
+    }
+
+    @Test
+    public void requestReadsItsOwnWrites() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain(new HttpServlet() {
+
+            @Override
+            protected void service(HttpServletRequest req,
+                    HttpServletResponse res) {
+                assertThat(read()).isEqualTo("replica");
+                assertThat(write()).isEqualTo("primary");
+                assertThat(read()).isEqualTo("primary");
+            }
+
+        }));
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(cookie);
+        filter.doFilter(next, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+
+            @Override
+            protected void service(HttpServletRequest req,
+                    HttpServletResponse res) {
+                assertThat(read()).isEqualTo("primary");
+            }
+
+        }));
+        assertThat(read()).isEqualTo("replica");
+    }
+
+    private String read() {
+        return this.reads.execute(status -> this.jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String write() {
+        return this.writes.execute(status -> {
+            this.jdbc.update("UPDATE node SET name = name");
+            return this.jdbc.queryForObject("SELECT name FROM node", String.class);
+        });
+    }
+
+    private static EmbeddedDatabase node(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.HSQL)
+            .setName(name)
+            .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return database;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link RequestLoader}
+ */
+public class RequestLoaderTests {
+
+    private final List<Integer> queries = new ArrayList<>();
+
+    private LoaderStats stats;
+
+    private RequestLoader<Integer, String> loader;
+
+    @Before
+    public void setup() {
+        this.stats = LoaderStats.current();
+        this.loader = new RequestLoader<>(this::query, this.stats);
+    }
+
+    @Test
+    public void loadQueriesEachKeyOnce() {
+        assertThat(this.loader.load(1)).isEqualTo("v1");
+        assertThat(this.loader.load(1)).isEqualTo("v1");
+        assertThat(this.loader.load(99)).isNull();
+        assertThat(this.loader.load(99)).isNull();
+        assertThat(this.queries).containsExactly(1, 99);
+        assertThat(this.stats.getRequested()).isEqualTo(4);
+        assertThat(this.stats.getDeduplicated()).isEqualTo(2);
+        assertThat(this.stats.getQueries()).isEqualTo(2);
+    }
+
+    @Test
+    public void primedKeysNeedNoQuery() {
+        this.loader.prime(2, "v2");
+        assertThat(this.loader.load(2)).isEqualTo("v2");
+        assertThat(this.queries).isEmpty();
+        assertThat(this.stats.getDeduplicated()).isEqualTo(1);
+    }
+
+    private String query(Integer key) {
+        this.queries.add(key);
+        return key < 10 ? "v" + key : null;
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.springframework.samples.petclinic.system;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link ResourceUsageInterceptor}
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class ResourceUsageInterceptorTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void testShowOwnerAllocationsAndCpu() throws Exception {
+        // the registry is shared with the other tests of the application context
+        DistributionSummary.Builder allocated = DistributionSummary.builder("petclinic.request.allocated")
+            .tag("handler", "OwnerController.showOwner");
+        Timer.Builder cpu = Timer.builder("petclinic.request.cpu").tag("handler", "OwnerController.showOwner");
+        long requests = allocated.register(this.registry).count();
+        double bytes = allocated.register(this.registry).totalAmount();
+        double nanos = cpu.register(this.registry).totalTime(TimeUnit.NANOSECONDS);
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(get("/owners/{ownerId}", 6)).andExpect(status().isOk());
+        mockMvc.perform(get("/resources/css/petclinic.css"));
+
+        assertThat(allocated.register(this.registry).count()).isEqualTo(requests + 1);
+        // the owner page renders its template, which cannot be done without allocating
+        assertThat(allocated.register(this.registry).totalAmount()).isGreaterThan(bytes + 1024);
+        assertThat(cpu.register(this.registry).totalTime(TimeUnit.NANOSECONDS)).isGreaterThan(nanos);
+        // only the handler methods are measured
+        assertThat(this.registry.find("petclinic.request.allocated").summaries()).allSatisfy(
+            summary -> assertThat(summary.getId().getTag("handler")).contains("Controller."));
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.springframework.samples.petclinic.system;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link SingleFlight}
+ */
+public class SingleFlightTests {
+
+    private final SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+
+    @Test
+    public void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch waiting = new CountDownLatch(callers - 1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<String> leader = executor.submit(() -> this.flight.load(1, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "owner";
+            }));
+            while (this.flight.getLoads() == 0) {
+                Thread.yield();
+            }
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < callers; i++) {
+                followers.add(executor.submit(() -> {
+                    waiting.countDown();
+                    return this.flight.load(1, () -> {
+                        loads.incrementAndGet();
+                        return "other";
+                    });
+                }));
+            }
+            waiting.await(5, TimeUnit.SECONDS);
+            while (this.flight.getCoalesced() < callers - 1) {
+                Thread.yield();
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("owner");
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("owner");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(this.flight.getLoads()).isEqualTo(1);
+        assertThat(this.flight.getCoalesced()).isEqualTo(callers - 1);
+    }
+
+    @Test
+    public void completedLoadsAreNotReused() {
+        assertThat(this.flight.load(1, () -> "first")).isEqualTo("first");
+        assertThat(this.flight.load(1, () -> "second")).isEqualTo("second");
+        assertThat(this.flight.getLoads()).isEqualTo(2);
+        assertThat(this.flight.getCoalesced()).isZero();
+    }
+
+    @Test
+    public void failuresAreNotRemembered() {
+        assertThatThrownBy(() -> this.flight.load(1, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(this.flight.load(1, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    public void countersAreExposedAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        this.flight.bindTo(registry);
+        this.flight.load(1, () -> "owner");
+        assertThat(registry.get("petclinic.singleflight.loads").tag("name", "test").functionCounter().count())
+            .isEqualTo(1.0);
+        assertThat(registry.get("petclinic.singleflight.coalesced").tag("name", "test").functionCounter().count())
+            .isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
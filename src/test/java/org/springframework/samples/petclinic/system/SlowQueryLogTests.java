@@ -0,0 +1,106 @@
+package org.springframework.samples.petclinic.system;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link SlowQueryLog}
+ */
+@RunWith(SpringRunner.class)
+@JdbcTest
+@Import(QueryStatsConfiguration.class)
+@TestPropertySource(properties = "petclinic.slow-queries.threshold=0")
+public class SlowQueryLogTests {
+
+    @Autowired
+    private SlowQueryLog log;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Before
+    public void clear() {
+        this.log.clear();
+    }
+
+    @Test
+    public void testSlowQueryWithRedactedParametersAndPlan() throws Exception {
+        this.jdbc.queryForList("SELECT id FROM owners WHERE telephone = ? AND id > ?", Integer.class, "6085551023", 0);
+
+        List<SlowQuery> queries = this.log.getQueries();
+        assertThat(queries).hasSize(1);
+        SlowQuery query = queries.get(0);
+        assertThat(query.getSql()).isEqualTo("SELECT id FROM owners WHERE telephone = ? AND id > ?");
+        assertThat(query.getParameters()).containsExactly("0000000000", "0");
+        assertThat(query.getCaller()).isEqualTo("SlowQueryLogTests.testSlowQueryWithRedactedParametersAndPlan");
+        // the plan is captured in the background
+        for (int i = 0; i < 50 && query.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(query.getPlan()).contains("OWNERS");
+    }
+
+    @Test
+    public void testFailedStatementIsCountedAndLogged() {
+        QueryStats stats = QueryStats.measure(() -> assertThatThrownBy(
+            () -> this.jdbc.update("INSERT INTO types (id, name) VALUES (?, ?)", 1, "cat"))
+                .isInstanceOf(DataAccessException.class));
+
+        assertThat(stats.getStatements()).isEqualTo(1);
+        List<SlowQuery> queries = this.log.getQueries();
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0).isFailed()).isTrue();
+        assertThat(queries.get(0).getError()).startsWith("SQLIntegrityConstraintViolationException");
+        assertThat(queries.get(0).toString()).contains(" failed with SQLIntegrityConstraintViolationException");
+    }
+
+    @Test
+    public void testExplainBindsTheParameters() {
+        DataSource target = ((QueryStatsDataSource) this.dataSource).getTargetDataSource();
+        String plan = SlowQueryLog.explain(target, "SELECT id FROM pets WHERE owner_id = ?", Arrays.asList(1));
+
+        assertThat(plan).contains("PETS").doesNotContain("EXPLAIN failed");
+        assertThat(SlowQueryLog.explain(target, "SELECT id FROM missing", Collections.emptyList()))
+            .startsWith("EXPLAIN failed");
+    }
+
+    @Test
+    public void testCapacityAndThreshold() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setCapacity(2);
+        properties.setExplain(false);
+        properties.setRedaction(SlowQueryProperties.Redaction.ALL);
+        SlowQueryLog log = new SlowQueryLog(properties);
+        for (int i = 1; i <= 3; i++) {
+            log.record(this.dataSource, "SELECT " + i, Arrays.asList("George", i, null), 0, null);
+        }
+
+        assertThat(log.getQueries()).extracting(SlowQuery::getSql).containsExactly("SELECT 3", "SELECT 2");
+        assertThat(log.getQueries().get(0).getParameters()).containsExactly("String", "Integer", "null");
+        assertThat(log.isSlow(Duration.ofMillis(199).toNanos())).isFalse();
+        assertThat(log.isSlow(Duration.ofMillis(200).toNanos())).isTrue();
+        log.close();
+    }
+
+}
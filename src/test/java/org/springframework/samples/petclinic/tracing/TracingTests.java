@@ -0,0 +1,120 @@
+package org.springframework.samples.petclinic.tracing;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for the request traces
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class TracingTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Test
+    public void testShowOwnerTrace() throws Exception {
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(1);
+        TraceStore store = new TraceStore(properties);
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context)
+            .addFilters(new TracingFilter(store, properties.getExcludedPaths(), properties.getMaxSpans())).build();
+        mockMvc.perform(get("/owners/{ownerId}", 6)).andExpect(status().isOk())
+            .andExpect(header().exists(TracingFilter.HEADER));
+
+        List<Trace> traces = store.getSlowest(10);
+        assertThat(traces).hasSize(1);
+        Trace trace = traces.get(0);
+        assertThat(trace.getName()).isEqualTo("GET /owners/6");
+        assertThat(trace.getStatus()).isEqualTo(200);
+        List<Span> spans = trace.getSpans();
+        assertThat(spans.get(0).getName()).isEqualTo("OwnerController.showOwner");
+        assertThat(spans.get(0).getDepth()).isZero();
+        assertThat(spans).anySatisfy(span -> {
+            assertThat(span.getName()).isEqualTo("OwnerRepository.findById");
+            assertThat(span.getDepth()).isEqualTo(1);
+        });
+        assertThat(spans).anySatisfy(span -> {
+            assertThat(span.getKind()).isEqualTo("jdbc");
+            assertThat(span.getName()).startsWith("select");
+            assertThat(span.getDepth()).isGreaterThanOrEqualTo(2);
+        });
+        Span view = spans.get(spans.size() - 1);
+        assertThat(view.getKind()).isEqualTo("view");
+        assertThat(view.getName()).isEqualTo("owners/ownerDetails");
+        assertThat(view.getDepth()).isZero();
+        assertThat(spans).allSatisfy(span -> {
+            assertThat(span.getDurationMillis()).isGreaterThanOrEqualTo(0);
+            assertThat(span.getWaterfall()).hasSize(60).contains("#");
+        });
+        assertThat(store.get(trace.getId())).isSameAs(trace);
+    }
+
+    @Test
+    public void testSamplingAndSpanLimit() {
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ofHours(1));
+        TraceStore store = new TraceStore(properties);
+        Trace trace = new Trace("1", "GET /owners", 2);
+        Tracer.start(trace);
+        try {
+            Span controller = Tracer.begin("controller", "OwnerController.processFindForm");
+            Tracer.end(Tracer.begin("jdbc", "select 1"));
+            Tracer.end(Tracer.begin("jdbc", "select 2"));
+            Tracer.end(controller);
+        } finally {
+            Tracer.stop();
+        }
+        trace.finish(200);
+        store.add(trace);
+
+        assertThat(trace.getSpans()).extracting(Span::getName).containsExactly("OwnerController.processFindForm",
+            "select 1");
+        assertThat(trace.getDroppedSpans()).isEqualTo(1);
+        assertThat(store.getSlowest(10)).isEmpty();
+        assertThat(Tracer.begin("jdbc", "select 3")).isNull();
+    }
+
+    @Test
+    public void testSlowTracesOutliveFastOnes() throws Exception {
+        TracingProperties properties = new TracingProperties();
+        properties.setSampleRate(1);
+        properties.setCapacity(5);
+        TraceStore store = new TraceStore(properties);
+        Trace slow = new Trace("slow", "GET /owners", 10);
+        Thread.sleep(20);
+        slow.finish(200);
+        store.add(slow);
+        for (int i = 0; i < 20; i++) {
+            Trace fast = new Trace(String.valueOf(i), "GET /owners/1", 10);
+            fast.finish(200);
+            store.add(fast);
+        }
+
+        List<Trace> traces = store.getSlowest(10);
+        assertThat(traces).hasSize(5);
+        assertThat(traces.get(0)).isSameAs(slow);
+        assertThat(store.get("slow")).isSameAs(slow);
+
+        properties.setMaxAge(Duration.ofMillis(1));
+        Thread.sleep(10);
+        assertThat(store.getSlowest(10)).isEmpty();
+    }
+
+}
@@ -13,7 +13,10 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.samples.petclinic.owner.OwnerSummaries;
 import org.springframework.samples.petclinic.owner.Pet;
+import org.springframework.samples.petclinic.owner.PetLoader;
 import org.springframework.samples.petclinic.owner.PetRepository;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -25,6 +28,7 @@ import org.springframework.test.web.servlet.MockMvc;
  */
 @RunWith(SpringRunner.class)
 @WebMvcTest(VisitController.class)
+@Import(PetLoader.class)
 public class VisitControllerTests {
 
     private static final int TEST_PET_ID = 1;
@@ -35,6 +39,9 @@ public class VisitControllerTests {
     @MockBean
     private VisitRepository visits;
 
+    @MockBean
+    private OwnerSummaries summaries;
+
     @MockBean
     private PetRepository pets;
 
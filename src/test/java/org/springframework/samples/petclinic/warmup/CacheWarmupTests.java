@@ -0,0 +1,127 @@
+package org.springframework.samples.petclinic.warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.samples.petclinic.owner.OwnerAccessLog;
+import org.springframework.samples.petclinic.owner.OwnerReads;
+import org.springframework.samples.petclinic.owner.PetRepository;
+import org.springframework.samples.petclinic.vet.VetReads;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for {@link CacheWarmup}, {@link WarmupHealthIndicator} and the {@link OwnerAccessLog}
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CacheWarmupTests {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private CacheWarmup warmup;
+
+    @Autowired
+    private WarmupHealthIndicator health;
+
+    @Autowired
+    private OwnerAccessLog accessLog;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PetRepository pets;
+
+    @Autowired
+    private VetReads vets;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void testReadyOnceWarmedUp() {
+        // the warm-up ran at startup
+        Health health = this.health.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(((Map<?, ?>) health.getDetails().get("timings")).keySet()).containsExactly("petTypes", "vets", "owners");
+        assertThat(this.registry.find("petclinic.cache.warmup").tag("cache", "vets").timer()).isNotNull();
+        assertThat(new WarmupHealthIndicator(new CacheWarmup(null, null, null, null, null, null)).health()
+            .getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+
+    @Test
+    public void testWarmsUpTheOwnersShownRecently() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(this.context).build();
+        mockMvc.perform(get("/owners/{ownerId}", 3)).andExpect(status().isOk());
+        mockMvc.perform(get("/owners/{ownerId}", 4)).andExpect(status().isOk());
+        assertThat(this.accessLog.getRecent()).startsWith(4, 3);
+        Cache<Object, Object> owners = this.cacheManager.getCache("owners");
+        owners.clear();
+
+        Map<String, Long> timings = this.warmup.run();
+
+        assertThat(timings.get("owners")).isNotNegative();
+        assertThat(owners.containsKey(3)).isTrue();
+        assertThat(owners.containsKey(4)).isTrue();
+    }
+
+    @Test
+    public void testSkipsTheOwnersThatNoLongerLoad() {
+        OwnerReads reads = mock(OwnerReads.class);
+        given(reads.findById(7)).willThrow(new EmptyResultDataAccessException(1));
+        OwnerAccessLog log = new OwnerAccessLog(3, null);
+        log.record(7);
+        log.record(8);
+        CacheWarmup warmup = new CacheWarmup(this.pets, this.vets, reads, log, new WarmupProperties(), null);
+
+        Map<String, Long> timings = warmup.run();
+
+        assertThat(timings.values()).allSatisfy(millis -> assertThat(millis).isNotNegative());
+        verify(reads).findById(8);
+    }
+
+    @Test
+    public void testAccessLogSurvivesRestart() throws Exception {
+        Path file = this.folder.getRoot().toPath().resolve("owners.txt");
+        OwnerAccessLog log = new OwnerAccessLog(3, file);
+        for (int ownerId : new int[] { 1, 2, 3, 1, 4 }) {
+            log.record(ownerId);
+        }
+        log.save();
+
+        assertThat(Files.readAllLines(file)).containsExactly("4", "1", "3");
+        assertThat(new OwnerAccessLog(3, file).getRecent()).isEqualTo(Arrays.asList(4, 1, 3));
+        assertThat(new OwnerAccessLog(2, file).getRecent()).isEqualTo(Arrays.asList(4, 1));
+    }
+
+}